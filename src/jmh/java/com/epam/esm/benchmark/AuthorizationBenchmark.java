@@ -0,0 +1,112 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.model.Role;
+import com.epam.esm.security.AccessControl;
+import com.epam.esm.security.AccessControlInterceptor;
+import com.epam.esm.security.UserDetailsImpl;
+import com.epam.esm.security.UserSecurityUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Authorizes one call of a controller method, either evaluating the SpEL of
+ * @PreAuthorize the way the pre-invocation voter does (a new evaluation context
+ * with a bean resolver per call) or testing the compiled @AccessControl rule.
+ * Both sides exclude the proxy itself and ownership is answered from memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationBenchmark {
+
+    private static final String AUTHORITY_EXPRESSION = "hasAuthority('tags:write')";
+    private static final String OWNER_EXPRESSION =
+            "hasAuthority('orders:write') and @userSecurityUtil.authenticateOrderId(authentication, #orderId) " +
+                    "and @userSecurityUtil.authenticateUserId(authentication, #id)";
+
+    @Param({"authority", "owner"})
+    private String rule;
+
+    private final Endpoints endpoints = new Endpoints();
+    private DefaultMethodSecurityExpressionHandler expressionHandler;
+    private Expression expression;
+    private AccessControlInterceptor interceptor;
+    private Authentication authentication;
+    private Method method;
+    private Object[] arguments;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        var userSecurityUtil = new UserSecurityUtil((orderId, userId) -> true);
+        var roleType = "owner".equals(rule) ? Role.RoleType.USER : Role.RoleType.ADMIN;
+        var details = new UserDetailsImpl(1, "login", "", new ArrayList<>(roleType.getAuthorities()), true);
+        authentication = new UsernamePasswordAuthenticationToken(details, "", details.getAuthorities());
+
+        if ("owner".equals(rule)) {
+            method = Endpoints.class.getMethod("deleteOrder", int.class, int.class);
+            arguments = new Object[]{1, 5};
+        } else {
+            method = Endpoints.class.getMethod("addTag");
+            arguments = new Object[0];
+        }
+
+        var context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("userSecurityUtil", userSecurityUtil);
+        context.refresh();
+        expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(context);
+        expression = expressionHandler.getExpressionParser()
+                .parseExpression("owner".equals(rule) ? OWNER_EXPRESSION : AUTHORITY_EXPRESSION);
+
+        interceptor = new AccessControlInterceptor(userSecurityUtil);
+        interceptor.register(method);
+    }
+
+    @Benchmark
+    public boolean spel() {
+        var invocation = new SimpleMethodInvocation(endpoints, method, arguments);
+        var context = expressionHandler.createEvaluationContext(authentication, invocation);
+        return ExpressionUtils.evaluateAsBoolean(expression, context);
+    }
+
+    @Benchmark
+    public Method compiled() {
+        interceptor.check(method, arguments, authentication);
+        return method;
+    }
+
+    public static class Endpoints {
+
+        @AccessControl(allOf = Role.Permission.TAGS_WRITE)
+        public void addTag() {
+        }
+
+        @AccessControl(allOf = Role.Permission.ORDERS_WRITE, user = "id", order = "orderId")
+        public void deleteOrder(@PathVariable("id") int id, @PathVariable("orderId") int orderId) {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Order;
+import com.epam.esm.model.OrderLine;
+import com.epam.esm.model.Role;
+import com.epam.esm.model.Tag;
+import com.epam.esm.model.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Inserts certificates with their tags and orders with their lines in one
+ * transaction, the way GiftCertificateServiceImpl and OrderServiceImpl write them,
+ * once with identity columns and once with the pooled sequence table.
+ * Reports latency of a bulk insert and the number of JDBC statements it prepares.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int TAGS_PER_CERTIFICATE = 3;
+    private static final int LINES_PER_ORDER = 3;
+
+    @Param({"identity", "pooled"})
+    private String idGeneration;
+
+    @Param({"100"})
+    private int certificates;
+
+    @Param({"100"})
+    private int orders;
+
+    private SessionFactory sessionFactory;
+    private User user;
+    private int batch;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Statements {
+
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var configuration = new Configuration()
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:bench-" + idGeneration
+                        + ";MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS GiftShop")
+                .setProperty("hibernate.connection.driver_class", "org.h2.Driver")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.hbm2ddl.auto", "create")
+                .setProperty("hibernate.integration.envers.enabled", "false")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true")
+                .setProperty("hibernate.generate_statistics", "true")
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Tag.class)
+                .addAnnotatedClass(GiftCertificate.class)
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(OrderLine.class);
+        if ("identity".equals(idGeneration)) {
+            configuration.addResource("META-INF/identity-ids.xml");
+        }
+        sessionFactory = configuration.buildSessionFactory();
+
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            var role = new Role();
+            role.setRoleType(Role.RoleType.USER);
+            session.persist(role);
+            user = new User(0, "bench", "bench");
+            user.setRole(role);
+            session.persist(user);
+            session.getTransaction().commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public int insertCertificatesAndOrders(Statements counters) {
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        batch++;
+
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            var saved = new ArrayList<GiftCertificate>(certificates);
+            for (int i = 0; i < certificates; i++) {
+                var certificate = certificate(batch + "-" + i);
+                for (int t = 0; t < TAGS_PER_CERTIFICATE; t++) {
+                    var tag = new Tag(batch + "-" + i + "-" + t);
+                    session.persist(tag);
+                    certificate.getTags().add(tag);
+                }
+                session.persist(certificate);
+                saved.add(certificate);
+            }
+            for (int i = 0; i < orders; i++) {
+                session.persist(order(session.getReference(User.class, user.getId()), saved, i));
+            }
+            session.getTransaction().commit();
+        }
+
+        counters.statements += statistics.getPrepareStatementCount();
+        return batch;
+    }
+
+    private static GiftCertificate certificate(String name) {
+        var now = ZonedDateTime.now();
+        var certificate = new GiftCertificate();
+        certificate.setName("certificate " + name);
+        certificate.setDescription("benchmark certificate " + name);
+        certificate.setPrice(10);
+        certificate.setDuration(30);
+        certificate.setCreateDate(now);
+        certificate.setLastUpdateDate(now);
+        certificate.setActive(true);
+        certificate.setTags(new HashSet<>());
+
+        return certificate;
+    }
+
+    private static Order order(User user, List<GiftCertificate> certificates, int index) {
+        var order = new Order();
+        order.setUser(user);
+        order.setCreateDate(ZonedDateTime.now());
+        order.setActive(true);
+        var cost = 0.0;
+        for (int l = 0; l < LINES_PER_ORDER; l++) {
+            var certificate = certificates.get((index * LINES_PER_ORDER + l) % certificates.size());
+            order.getGiftCertificateList().add(certificate);
+            order.getOrderLines().add(OrderLine.of(order, certificate));
+            cost += certificate.getPrice();
+        }
+        order.setTotalCost(cost);
+
+        return order;
+    }
+}
@@ -0,0 +1,87 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.model.Role;
+import com.epam.esm.security.JwtCodec;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Issues and verifies tokens with JwtCodec and, for comparison, the way
+ * JwtTokenProviderImpl did it with jjwt: a Base64 key string handed to a
+ * new parser or builder and authorities rebuilt from the role per token.
+ * Run with the gc profiler (configured in build.gradle) for bytes per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtCodecBenchmark {
+
+    private static final byte[] KEY = "secret".getBytes(StandardCharsets.UTF_8);
+    private static final String BASE64_KEY = Base64.getEncoder().encodeToString(KEY);
+    private static final long EXPIRATION_IN_MILLISECONDS = TimeUnit.HOURS.toMillis(1);
+
+    private JwtCodec codec;
+    private String codecToken;
+    private String jjwtToken;
+
+    @Setup
+    public void setUp() {
+        codec = new JwtCodec(KEY);
+        codecToken = issueWithCodec();
+        jjwtToken = issueWithJjwt();
+    }
+
+    @Benchmark
+    public String issueWithCodec() {
+        var now = System.currentTimeMillis();
+        return codec.encode(1, "username", "USER", UUID.randomUUID().toString(), now, now + EXPIRATION_IN_MILLISECONDS);
+    }
+
+    @Benchmark
+    public String issueWithJjwt() {
+        var claims = Jwts.claims().setSubject("username");
+        claims.put("id", 1);
+        claims.put("role", "USER");
+        var authorities = new ArrayList<String>();
+        Role.RoleType.USER.getAuthorities().forEach(a -> authorities.add(a.getAuthority()));
+        claims.put("authorities", authorities.toArray(new String[0]));
+        var now = new Date();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + EXPIRATION_IN_MILLISECONDS))
+                .signWith(SignatureAlgorithm.HS256, BASE64_KEY)
+                .compact();
+    }
+
+    @Benchmark
+    public Object verifyWithCodec() {
+        return codec.decode(codecToken);
+    }
+
+    @Benchmark
+    public Object verifyWithJjwt() {
+        return Jwts.parser().setSigningKey(BASE64_KEY).parseClaimsJws(jjwtToken).getBody();
+    }
+}
@@ -0,0 +1,112 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.service.search.sort.SortBy;
+import com.epam.esm.service.search.sort.SortType;
+import com.epam.esm.web.api.CertificateController;
+import com.epam.esm.web.api.TagController;
+import com.epam.esm.web.dto.Fieldset;
+import com.epam.esm.web.dto.GiftCertificateDto;
+import com.epam.esm.web.dto.TagDto;
+import com.epam.esm.web.hateoas.CertificateLinkBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/*
+ * Adds links to a page of certificates with their tags, either with a
+ * methodOn proxy per link, as link builders used to, or by expanding link
+ * templates resolved once. Every invocation is a new request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkBuildingBenchmark {
+
+    @Param({"100"})
+    private int certificates;
+
+    @Param({"5"})
+    private int tags;
+
+    private CollectionModel<EntityModel<GiftCertificateDto>> page;
+    private CertificateLinkBuilder linkBuilder;
+
+    @Setup
+    public void setUp() {
+        var models = new ArrayList<EntityModel<GiftCertificateDto>>();
+        for (int i = 0; i < certificates; i++) {
+            var certificate = new GiftCertificateDto();
+            certificate.setId(i + 1);
+            certificate.setName("certificate" + i);
+            for (int j = 0; j < tags; j++) {
+                var tag = new TagDto();
+                tag.setId(i * tags + j + 1);
+                tag.setName("tag" + j);
+                certificate.getTags().add(EntityModel.of(tag));
+            }
+            models.add(EntityModel.of(certificate));
+        }
+        page = CollectionModel.of(models);
+        linkBuilder = new CertificateLinkBuilder();
+        linkBuilder.init();
+    }
+
+    private void newRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        page.removeLinks();
+        for (EntityModel<GiftCertificateDto> model : page) {
+            model.removeLinks();
+            model.getContent().getTags().forEach(EntityModel::removeLinks);
+        }
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<GiftCertificateDto>> methodOnProxies() throws Exception {
+        newRequest();
+        for (EntityModel<GiftCertificateDto> model : page) {
+            for (EntityModel<TagDto> tag : model.getContent().getTags()) {
+                tag.add(linkTo(methodOn(TagController.class).getTag(tag.getContent().getId(), null)).withRel("self"));
+            }
+            model.add(linkTo(methodOn(CertificateController.class)
+                    .getGiftCertificate(model.getContent().getId(), null)).withRel("self"));
+        }
+        page.add(linkTo(methodOn(CertificateController.class)
+                .getGiftCertificates(null, 1, 10, SortType.ASC, SortBy.NAME, null, null, null, null))
+                .withRel("certificates"));
+
+        return page;
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<GiftCertificateDto>> linkTemplates() {
+        newRequest();
+        for (EntityModel<GiftCertificateDto> model : page) {
+            linkBuilder.linkToModel(model);
+        }
+        linkBuilder.linkToModelPage(page, 1, 10, SortType.ASC, SortBy.NAME, Fieldset.ALL);
+
+        return page;
+    }
+}
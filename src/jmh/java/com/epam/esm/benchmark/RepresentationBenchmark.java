@@ -0,0 +1,129 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Tag;
+import com.epam.esm.service.search.sort.SortBy;
+import com.epam.esm.service.search.sort.SortType;
+import com.epam.esm.web.dto.Fieldset;
+import com.epam.esm.web.dto.FieldsetPropertyFilter;
+import com.epam.esm.web.dto.GiftCertificateDto;
+import com.epam.esm.web.hateoas.CertificateLinkBuilder;
+import com.epam.esm.web.hateoas.RepresentationModel;
+import com.epam.esm.web.hateoas.RepresentationModelAssemblerImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Maps a page of certificates with their tags to DTOs, assembles the
+ * collection model and writes it as JSON, the way the list endpoint does.
+ * "full" is the default representation, "fields" asks for name and price
+ * without tags, "lean" also leaves links of certificates out. Size of the written page is
+ * reported as the responseBytes counter. Every invocation is a new request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RepresentationBenchmark {
+
+    @Param({"full", "fields", "lean"})
+    private String representation;
+
+    @Param({"100"})
+    private int certificates;
+
+    @Param({"5"})
+    private int tags;
+
+    private List<GiftCertificate> content;
+    private Fieldset fieldset;
+    private RepresentationModelAssemblerImpl<GiftCertificateDto> assembler;
+    private RepresentationModel pagination;
+    private ObjectMapper objectMapper;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseSize {
+
+        public long responseBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            responseBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        content = new ArrayList<>();
+        var now = ZonedDateTime.now();
+        for (int i = 0; i < certificates; i++) {
+            var certificate = new GiftCertificate();
+            certificate.setId(i + 1);
+            certificate.setName("certificate" + i);
+            certificate.setDescription("description of certificate " + i);
+            certificate.setPrice(10 + i);
+            certificate.setCreateDate(now);
+            certificate.setLastUpdateDate(now);
+            certificate.setDuration(30);
+            for (int j = 0; j < tags; j++) {
+                certificate.getTags().add(new Tag(i * tags + j + 1, "tag" + j));
+            }
+            content.add(certificate);
+        }
+
+        switch (representation) {
+            case "fields":
+                fieldset = Fieldset.of("name,price", "", null);
+                break;
+            case "lean":
+                fieldset = Fieldset.of("name,price", "", "none");
+                break;
+            default:
+                fieldset = Fieldset.ALL;
+        }
+
+        var linkBuilder = new CertificateLinkBuilder();
+        linkBuilder.init();
+        assembler = new RepresentationModelAssemblerImpl<>();
+        assembler.setModelLinkBuilder(linkBuilder);
+        pagination = new RepresentationModel(2, certificates, 10, true, SortType.ASC, SortBy.NAME, fieldset);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .setFilterProvider(FieldsetPropertyFilter.PROVIDER);
+    }
+
+    @Benchmark
+    public byte[] listPage(ResponseSize size) throws JsonProcessingException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        var certificatesDto = GiftCertificateDto.of(content, fieldset);
+        var model = assembler.toCollectionModel(certificatesDto, pagination);
+
+        var response = objectMapper.writeValueAsBytes(model);
+        size.responseBytes = response.length;
+        return response;
+    }
+}
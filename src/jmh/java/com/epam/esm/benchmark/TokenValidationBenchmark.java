@@ -0,0 +1,63 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.security.JwtTokenProviderImpl;
+import com.epam.esm.service.impl.TokenRevocationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Validates tokens of many users from many threads, either verifying the
+ * signature of every token (cold) or hitting the verified-token cache (warm).
+ * Thread count can be changed with -t.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TokenValidationBenchmark {
+
+    @Param({"cold", "warm"})
+    private String cache;
+
+    @Param({"1000"})
+    private int users;
+
+    private JwtTokenProviderImpl tokenProvider;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        var warm = "warm".equals(cache);
+        // revocations are checked in memory only, so no repository is needed
+        var revocations = new TokenRevocationServiceImpl(null, null, users, 0.01);
+        tokenProvider = new JwtTokenProviderImpl(warm ? users : 0, revocations);
+        tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = tokenProvider.createJwtToken(i + 1, "user" + i, "USER");
+            if (warm) {
+                tokenProvider.validateJwtToken(tokens[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateJwtToken(tokens[ThreadLocalRandom.current().nextInt(tokens.length)]);
+    }
+}
@@ -1,6 +1,7 @@
 package com.epam.esm;
 
 import com.epam.esm.model.Order;
+import com.epam.esm.repository.impl.SimpleKeysetRepository;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
@@ -10,6 +11,7 @@ import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.envers.repository.support.EnversRevisionRepositoryFactoryBean;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableAuthorizationServer;
 
 import java.util.Optional;
@@ -17,7 +19,11 @@ import java.util.Optional;
 @SpringBootApplication
 @EnableAuthorizationServer
 @EnableJpaAuditing
-@EnableJpaRepositories(repositoryFactoryBeanClass = EnversRevisionRepositoryFactoryBean.class)
+@EnableScheduling
+@EnableJpaRepositories(
+		repositoryFactoryBeanClass = EnversRevisionRepositoryFactoryBean.class,
+		repositoryBaseClass = SimpleKeysetRepository.class
+)
 public class GiftShop extends SpringBootServletInitializer {
 
 	@Bean
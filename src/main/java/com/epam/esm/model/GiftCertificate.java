@@ -1,5 +1,6 @@
 package com.epam.esm.model;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Where;
 import org.hibernate.envers.Audited;
 
@@ -13,10 +14,18 @@ import java.util.Set;
 @Table(name = "GiftCertificates", schema = "GiftShop")
 @Audited
 @Where(clause = "Active = true")
+@NamedEntityGraph(name = GiftCertificate.WITH_TAGS, attributeNodes = @NamedAttributeNode("tags"))
 public class GiftCertificate {
 
+    public static final String WITH_TAGS = "GiftCertificate.withTags";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.GIFT_CERTIFICATES)
+    @TableGenerator(
+            name = IdSequences.GIFT_CERTIFICATES, table = IdSequences.TABLE,
+            pkColumnName = IdSequences.ENTITY_COLUMN, valueColumnName = IdSequences.NEXT_ID_COLUMN,
+            pkColumnValue = IdSequences.GIFT_CERTIFICATES, allocationSize = IdSequences.ALLOCATION_SIZE
+    )
     private int id;
 
     @Column(name = "Name")
@@ -40,7 +49,8 @@ public class GiftCertificate {
     @Column(name = "Active")
     private boolean isActive;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "CertificateTag",
             joinColumns = @JoinColumn(name = "CertificateId"),
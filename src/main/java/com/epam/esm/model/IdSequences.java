@@ -0,0 +1,22 @@
+package com.epam.esm.model;
+
+/*
+ * Ids of entities written in batches are taken from rows of one sequence
+ * table, a block of ALLOCATION_SIZE ids per round trip (pooled-lo optimizer).
+ * Row of an entity is named after its table.
+ */
+public final class IdSequences {
+
+    public static final String TABLE = "IdSequences";
+    public static final String ENTITY_COLUMN = "Entity";
+    public static final String NEXT_ID_COLUMN = "NextId";
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String ORDERS = "Orders";
+    public static final String ORDER_LINES = "OrderLines";
+    public static final String GIFT_CERTIFICATES = "GiftCertificates";
+    public static final String TAGS = "tags";
+
+    private IdSequences() {
+    }
+}
@@ -1,11 +1,15 @@
 package com.epam.esm.model;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Where;
 import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
 
 import javax.persistence.*;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -13,10 +17,25 @@ import java.util.Set;
 @Table(name = "Orders")
 @Audited
 @Where(clause = "Active = true")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Order.WITH_USER, attributeNodes = @NamedAttributeNode("user")),
+        @NamedEntityGraph(
+                name = Order.WITH_LINES,
+                attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("orderLines")}
+        )
+})
 public class Order {
 
+    public static final String WITH_USER = "Order.withUser";
+    public static final String WITH_LINES = "Order.withLines";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.ORDERS)
+    @TableGenerator(
+            name = IdSequences.ORDERS, table = IdSequences.TABLE,
+            pkColumnName = IdSequences.ENTITY_COLUMN, valueColumnName = IdSequences.NEXT_ID_COLUMN,
+            pkColumnValue = IdSequences.ORDERS, allocationSize = IdSequences.ALLOCATION_SIZE
+    )
     private int id;
 
     @Column(name = "Cost")
@@ -25,11 +44,12 @@ public class Order {
     @Column(name = "CreateDate")
     private ZonedDateTime createDate;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "UserId")
     private User user;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "OrderCertificate",
             joinColumns = @JoinColumn(name = "orderId"),
@@ -37,6 +57,12 @@ public class Order {
     )
     private Set<GiftCertificate> giftCertificateList = new HashSet<>();
 
+    @NotAudited
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @OrderBy("id")
+    private List<OrderLine> orderLines = new ArrayList<>();
+
     @Column(name = "Active")
     private boolean isActive;
 
@@ -91,6 +117,14 @@ public class Order {
         this.giftCertificateList = giftCertificateList;
     }
 
+    public List<OrderLine> getOrderLines() {
+        return orderLines;
+    }
+
+    public void setOrderLines(List<OrderLine> orderLines) {
+        this.orderLines = orderLines;
+    }
+
     public boolean isActive() {
         return isActive;
     }
@@ -0,0 +1,143 @@
+package com.epam.esm.model;
+
+import com.epam.esm.model.converter.TagNamesConverter;
+
+import javax.persistence.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Entity
+@Table(name = "OrderLines")
+public class OrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.ORDER_LINES)
+    @TableGenerator(
+            name = IdSequences.ORDER_LINES, table = IdSequences.TABLE,
+            pkColumnName = IdSequences.ENTITY_COLUMN, valueColumnName = IdSequences.NEXT_ID_COLUMN,
+            pkColumnValue = IdSequences.ORDER_LINES, allocationSize = IdSequences.ALLOCATION_SIZE
+    )
+    private int id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "OrderId", updatable = false)
+    private Order order;
+
+    @Column(name = "CertificateId", updatable = false)
+    private int certificateId;
+
+    @Column(name = "Name", updatable = false)
+    private String name;
+
+    @Column(name = "Price", updatable = false)
+    private double price;
+
+    @Column(name = "Duration", updatable = false)
+    private int duration;
+
+    @Convert(converter = TagNamesConverter.class)
+    @Column(name = "TagNames", updatable = false, columnDefinition = "TEXT")
+    private List<String> tagNames = new ArrayList<>();
+
+    public OrderLine() {
+    }
+
+    public static OrderLine of(Order order, GiftCertificate certificate) {
+        var orderLine = new OrderLine();
+        orderLine.setOrder(order);
+        orderLine.setCertificateId(certificate.getId());
+        orderLine.setName(certificate.getName());
+        orderLine.setPrice(certificate.getPrice());
+        orderLine.setDuration(certificate.getDuration());
+        orderLine.setTagNames(
+                certificate.getTags().stream().map(Tag::getName).sorted().collect(Collectors.toList())
+        );
+
+        return orderLine;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    public int getCertificateId() {
+        return certificateId;
+    }
+
+    public void setCertificateId(int certificateId) {
+        this.certificateId = certificateId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public void setDuration(int duration) {
+        this.duration = duration;
+    }
+
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+
+    public void setTagNames(List<String> tagNames) {
+        this.tagNames = tagNames;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderLine orderLine = (OrderLine) o;
+        return id == orderLine.id && certificateId == orderLine.certificateId &&
+                Double.compare(orderLine.price, price) == 0 && duration == orderLine.duration &&
+                Objects.equals(name, orderLine.name) && Objects.equals(tagNames, orderLine.tagNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, certificateId, name, price, duration, tagNames);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderLine{" +
+                "id=" + id +
+                ", certificateId=" + certificateId +
+                ", name='" + name + '\'' +
+                ", price=" + price +
+                ", duration=" + duration +
+                ", tagNames=" + tagNames +
+                '}';
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.esm.model;
+
+import javax.persistence.*;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "RevokedTokens", indexes = @Index(name = "RevokedTokensExpiresAt", columnList = "ExpiresAt"))
+public class RevokedToken {
+
+    @Id
+    @Column(name = "TokenId", length = 36)
+    private String tokenId;
+
+    @Column(name = "ExpiresAt", nullable = false)
+    private ZonedDateTime expiresAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenId, ZonedDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public ZonedDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(ZonedDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RevokedToken that = (RevokedToken) o;
+        return Objects.equals(tokenId, that.tokenId) && Objects.equals(expiresAt, that.expiresAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tokenId, expiresAt);
+    }
+
+    @Override
+    public String toString() {
+        return "RevokedToken{" +
+                "tokenId='" + tokenId + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
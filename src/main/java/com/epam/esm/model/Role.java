@@ -1,9 +1,13 @@
 package com.epam.esm.model;
 
 import org.hibernate.envers.Audited;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import javax.persistence.*;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -21,7 +25,16 @@ public class Role {
         USERS_READ("users:read"),
         USERS_WRITE("users:write"),
         ORDERS_READ("orders:read"),
-        ORDERS_WRITE("orders:write");
+        ORDERS_WRITE("orders:write"),
+        METRICS_READ("metrics:read");
+
+        private static final Map<String, Permission> BY_PERMISSION = new HashMap<>();
+
+        static {
+            for (Permission permission : values()) {
+                BY_PERMISSION.put(permission.getPermission(), permission);
+            }
+        }
 
         private final String permission;
 
@@ -32,6 +45,37 @@ public class Role {
         public String getPermission() {
             return permission;
         }
+
+        /**
+         * @return bit of the permission in a mask of permissions.
+         */
+        public long getMask() {
+            return 1L << ordinal();
+        }
+
+        /**
+         * @return mask of permissions, authorities which are not permissions are skipped.
+         */
+        public static long maskOf(Collection<? extends GrantedAuthority> authorities) {
+            var mask = 0L;
+            for (GrantedAuthority authority : authorities) {
+                var permission = BY_PERMISSION.get(authority.getAuthority());
+                if (permission != null) {
+                    mask |= permission.getMask();
+                }
+            }
+
+            return mask;
+        }
+
+        public static long maskOf(Permission... permissions) {
+            var mask = 0L;
+            for (Permission permission : permissions) {
+                mask |= permission.getMask();
+            }
+
+            return mask;
+        }
     }
 
     public enum RoleType {
@@ -49,7 +93,8 @@ public class Role {
                 Permission.USERS_WRITE,
                 Permission.TAGS_WRITE,
                 Permission.CERTIFICATES_WRITE,
-                Permission.ORDERS_WRITE
+                Permission.ORDERS_WRITE,
+                Permission.METRICS_READ
             )
         );
 
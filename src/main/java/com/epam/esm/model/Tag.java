@@ -13,7 +13,12 @@ import java.util.Objects;
 public class Tag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.TAGS)
+    @TableGenerator(
+            name = IdSequences.TAGS, table = IdSequences.TABLE,
+            pkColumnName = IdSequences.ENTITY_COLUMN, valueColumnName = IdSequences.NEXT_ID_COLUMN,
+            pkColumnValue = IdSequences.TAGS, allocationSize = IdSequences.ALLOCATION_SIZE
+    )
     private int id;
 
     @Column(unique = true, nullable = false)
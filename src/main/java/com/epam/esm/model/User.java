@@ -10,8 +10,11 @@ import java.util.Set;
 @Entity
 @Table(name = "Users")
 @Audited
+@NamedEntityGraph(name = User.PRINCIPAL, attributeNodes = @NamedAttributeNode("role"))
 public class User {
 
+    public static final String PRINCIPAL = "User.principal";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
@@ -23,12 +26,12 @@ public class User {
     private String password;
 
     @OneToMany(
-            mappedBy = "user", fetch = FetchType.EAGER,
+            mappedBy = "user", fetch = FetchType.LAZY,
             cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH}
     )
     private Set<Order> orders = new HashSet<>();
 
-    @OneToOne(cascade = CascadeType.MERGE)
+    @OneToOne(cascade = CascadeType.MERGE, fetch = FetchType.LAZY)
     @JoinColumn(name = "RoleId", referencedColumnName = "ID")
     private Role role;
 
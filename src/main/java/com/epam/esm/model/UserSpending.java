@@ -0,0 +1,61 @@
+package com.epam.esm.model;
+
+import javax.persistence.*;
+import java.util.Objects;
+
+@Entity
+@Table(name = "UserSpendings", indexes = @Index(name = "UserSpendingsTotalCost", columnList = "TotalCost"))
+public class UserSpending {
+
+    @Id
+    @Column(name = "UserId")
+    private int userId;
+
+    @Column(name = "TotalCost", nullable = false)
+    private double totalCost;
+
+    public UserSpending() {
+    }
+
+    public UserSpending(int userId, double totalCost) {
+        this.userId = userId;
+        this.totalCost = totalCost;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public void setTotalCost(double totalCost) {
+        this.totalCost = totalCost;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserSpending that = (UserSpending) o;
+        return userId == that.userId && Double.compare(that.totalCost, totalCost) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, totalCost);
+    }
+
+    @Override
+    public String toString() {
+        return "UserSpending{" +
+                "userId=" + userId +
+                ", totalCost=" + totalCost +
+                '}';
+    }
+}
@@ -0,0 +1,121 @@
+package com.epam.esm.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Entity
+@Table(name = "UserTagPurchases")
+@IdClass(UserTagPurchase.Key.class)
+public class UserTagPurchase {
+
+    @Id
+    @Column(name = "UserId")
+    private int userId;
+
+    @Id
+    @Column(name = "TagName")
+    private String tagName;
+
+    @Column(name = "Purchases", nullable = false)
+    private long purchases;
+
+    public UserTagPurchase() {
+    }
+
+    public UserTagPurchase(int userId, String tagName, long purchases) {
+        this.userId = userId;
+        this.tagName = tagName;
+        this.purchases = purchases;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public void setTagName(String tagName) {
+        this.tagName = tagName;
+    }
+
+    public long getPurchases() {
+        return purchases;
+    }
+
+    public void setPurchases(long purchases) {
+        this.purchases = purchases;
+    }
+
+    public Key getKey() {
+        return new Key(userId, tagName);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserTagPurchase that = (UserTagPurchase) o;
+        return userId == that.userId && purchases == that.purchases && tagName.equals(that.tagName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, tagName, purchases);
+    }
+
+    @Override
+    public String toString() {
+        return "UserTagPurchase{" +
+                "userId=" + userId +
+                ", tagName='" + tagName + '\'' +
+                ", purchases=" + purchases +
+                '}';
+    }
+
+    public static class Key implements Serializable {
+
+        private int userId;
+        private String tagName;
+
+        public Key() {
+        }
+
+        public Key(int userId, String tagName) {
+            this.userId = userId;
+            this.tagName = tagName;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getTagName() {
+            return tagName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return userId == key.userId && tagName.equals(key.tagName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, tagName);
+        }
+
+        @Override
+        public String toString() {
+            return userId + ":" + tagName;
+        }
+    }
+}
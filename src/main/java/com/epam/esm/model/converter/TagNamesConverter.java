@@ -0,0 +1,45 @@
+package com.epam.esm.model.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores tag names of an order line snapshot as a JSON array,
+ * so that any character is allowed inside a tag name.
+ *
+ * @author Aleksey Sayarkin
+ */
+@Converter
+public class TagNamesConverter implements AttributeConverter<List<String>, String> {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final TypeReference<List<String>> TAG_NAMES = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<String> tagNames) {
+        try {
+            return mapper.writeValueAsString(tagNames == null ? List.of() : tagNames);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to write tag names: " + tagNames, e);
+        }
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return mapper.readValue(column, TAG_NAMES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to read tag names: " + column, e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.epam.esm.repository;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Identifies state of a {@code GiftCertificate}
+ * at a certain moment of time.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class CertificateRevisionKey {
+
+    private final int certificateId;
+    private final long moment;
+
+    /**
+     * @param certificateId id of a certificate.
+     * @param moment moment of time, {@code null} stands for the latest state.
+     */
+    public CertificateRevisionKey(int certificateId, ZonedDateTime moment) {
+        this.certificateId = certificateId;
+        this.moment = moment == null ? Long.MAX_VALUE : moment.toInstant().toEpochMilli();
+    }
+
+    public int getCertificateId() {
+        return certificateId;
+    }
+
+    public long getMoment() {
+        return moment;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CertificateRevisionKey that = (CertificateRevisionKey) o;
+        return certificateId == that.certificateId && moment == that.moment;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(certificateId, moment);
+    }
+
+    @Override
+    public String toString() {
+        return "CertificateRevisionKey{" +
+                "certificateId=" + certificateId +
+                ", moment=" + moment +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.epam.esm.repository;
+
+import com.epam.esm.model.GiftCertificate;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This interface provides with ability to
+ * retrieve audited states of {@code GiftCertificate}
+ * from data source.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface CertificateRevisionRepository {
+
+    /**
+     * Resolves states of {@code GiftCertificate} which were in effect
+     * at given moments. Keys are resolved in batches of a few queries to
+     * the audit tables, the amount of queries doesn't depend on the amount
+     * of revisions or tags. If certificate has no revision before given
+     * moment, its first revision is used.
+     *
+     * @param keys pairs of certificate id and moment of time.
+     * @return states of certificates mapped by keys, keys of certificates
+     * without any revision are absent.
+     */
+    Map<CertificateRevisionKey, GiftCertificate> findCertificatesInEffect(Collection<CertificateRevisionKey> keys);
+}
@@ -0,0 +1,36 @@
+package com.epam.esm.repository;
+
+/**
+ * Identifies state of entities matching some condition:
+ * their amount and the greatest value of an attribute
+ * which grows with every change of an entity.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class CollectionVersion {
+
+    private final long count;
+    private final Object latest;
+
+    /**
+     * @param count amount of entities.
+     * @param latest greatest value of a version attribute, {@code null} when there are no entities.
+     */
+    public CollectionVersion(long count, Object latest) {
+        this.count = count;
+        this.latest = latest;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Object getLatest() {
+        return latest;
+    }
+
+    @Override
+    public String toString() {
+        return count + ":" + latest;
+    }
+}
@@ -1,11 +1,16 @@
 package com.epam.esm.repository;
 
 import com.epam.esm.model.GiftCertificate;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.history.RevisionRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * This interface provides with ability to
@@ -14,11 +19,39 @@ import org.springframework.data.repository.history.RevisionRepository;
  *
  * @author Aleksey Sayarkin
  */
-public interface GiftCertificateRepository extends JpaRepository<GiftCertificate, Integer>,
-        JpaSpecificationExecutor<GiftCertificate>, RevisionRepository<GiftCertificate, Integer, Integer> {
+public interface GiftCertificateRepository extends KeysetRepository<GiftCertificate, Integer>,
+        RevisionRepository<GiftCertificate, Integer, Integer>, CertificateRevisionRepository {
+
+    @Override
+    @EntityGraph(GiftCertificate.WITH_TAGS)
+    Optional<GiftCertificate> findById(Integer certificateId);
+
+    @Override
+    @EntityGraph(GiftCertificate.WITH_TAGS)
+    List<GiftCertificate> findAllById(Iterable<Integer> certificateIds);
+
+    List<GiftCertificate> findByIdIn(Collection<Integer> certificateIds);
 
     @Override
     @Modifying
     @Query("update GiftCertificate g set g.isActive = false where g.id = :certificateId")
     void deleteById(Integer certificateId);
+
+    @Query("select g.lastUpdateDate from GiftCertificate g where g.id = :certificateId")
+    Optional<ZonedDateTime> findLastUpdateDateById(@Param("certificateId") int certificateId);
+
+    /**
+     * Moves last update date of certificates with the tag forward, so that
+     * their versions change when the tag disappears from them.
+     *
+     * @param tagId id of a tag.
+     * @param updateDate new last update date, the old one plus a second when it isn't later.
+     * @return amount of updated certificates.
+     */
+    @Modifying
+    @Query(value =
+            "UPDATE GiftCertificates g JOIN CertificateTag ct ON ct.CertificateId = g.id " +
+            "SET g.LastUpdateDate = GREATEST(:updateDate, g.LastUpdateDate + INTERVAL 1 SECOND) " +
+            "WHERE ct.TagId = :tagId", nativeQuery = true)
+    int touchByTagId(@Param("tagId") int tagId, @Param("updateDate") ZonedDateTime updateDate);
 }
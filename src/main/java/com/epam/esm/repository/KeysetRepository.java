@@ -0,0 +1,68 @@
+package com.epam.esm.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * This interface provides with ability to
+ * read a page of entities matching
+ * a specification without count query.
+ *
+ * @author Aleksey Sayarkin
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    /**
+     * Retrieves a page of entities matching specification. One extra
+     * entity is read to find out whether next page exists.
+     *
+     * @param specification condition of entities, may include position after a cursor.
+     * @param pageable page to read.
+     * @return Slice<T> - entities from data source.
+     */
+    Slice<T> findSlice(Specification<T> specification, Pageable pageable);
+
+    /**
+     * Reads every entity matching specification with a forward-only
+     * cursor and passes them on in chunks. Persistence context is
+     * cleared after every chunk, so memory does not grow with the
+     * amount of entities.
+     *
+     * @param specification condition of entities.
+     * @param sort order of entities.
+     * @param chunkSize amount of entities fetched from data source and passed on at once.
+     * @param consumer receives chunks of entities, may initialize their lazy associations.
+     */
+    void scroll(Specification<T> specification, Sort sort, int chunkSize, Consumer<List<T>> consumer);
+
+    /**
+     * Reads ids of entities matching specification in order with
+     * a forward-only cursor until the consumer declines the next one.
+     *
+     * @param specification condition of entities, may include position after a cursor.
+     * @param sort order of entities.
+     * @param fetchSize amount of ids fetched from data source at once.
+     * @param consumer receives ids, returns {@code false} to stop reading.
+     */
+    void scrollIds(Specification<T> specification, Sort sort, int fetchSize, Predicate<ID> consumer);
+
+    /**
+     * Reads amount of entities matching specification and the greatest
+     * value of their version attribute in one aggregate query.
+     *
+     * @param specification condition of entities, may be {@code null}.
+     * @param versionAttribute attribute which grows with every change of an entity.
+     * @return CollectionVersion - version of matching entities.
+     */
+    CollectionVersion findCollectionVersion(Specification<T> specification, String versionAttribute);
+}
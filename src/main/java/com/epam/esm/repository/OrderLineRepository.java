@@ -0,0 +1,14 @@
+package com.epam.esm.repository;
+
+import com.epam.esm.model.OrderLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * This interface provides with ability to
+ * transfer {@code OrderLine} in and out
+ * of data source.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface OrderLineRepository extends JpaRepository<OrderLine, Integer> {
+}
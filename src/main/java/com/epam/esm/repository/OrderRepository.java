@@ -1,11 +1,19 @@
 package com.epam.esm.repository;
 
 import com.epam.esm.model.Order;
-import com.epam.esm.model.Tag;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * This interface provides with ability to
@@ -14,29 +22,47 @@ import org.springframework.data.jpa.repository.Query;
  *
  * @author Aleksey Sayarkin
  */
-public interface OrderRepository extends JpaRepository<Order, Integer>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends KeysetRepository<Order, Integer> {
+
+    @Override
+    @EntityGraph(Order.WITH_LINES)
+    Optional<Order> findById(Integer orderId);
 
+    @Override
+    @EntityGraph(Order.WITH_USER)
+    Slice<Order> findSlice(Specification<Order> specification, Pageable pageable);
+
+    @Override
+    @EntityGraph(Order.WITH_USER)
+    void scroll(Specification<Order> specification, Sort sort, int chunkSize, Consumer<List<Order>> consumer);
+
+    @Query("select o from Order o where o.id > :lastId and o.orderLines is empty order by o.id")
+    List<Order> findOrdersWithoutLines(@Param("lastId") int lastId, Pageable pageable);
+
+    /*
+     * An order is among the first ones of its user when fewer than limit active
+     * orders of the user come before it by cost and id. MySQL 5.7 has no window
+     * functions, so the rank is counted by a correlated subquery.
+     */
     @Query(value =
-            "SELECT tags.ID, tags.Name, count(tags.Name) AS count FROM Orders " +
-            "INNER JOIN OrderCertificate ON OrderCertificate.OrderId = Orders.id " +
-            "INNER JOIN GiftCertificates ON CertificateId = GiftCertificates.id " +
-            "INNER JOIN CertificateTag ON CertificateTag.CertificateId = GiftCertificates.id " +
-            "INNER JOIN tags on CertificateTag.tagId = tags.id " +
-            "WHERE userId IN ( " +
-            "   SELECT userId FROM ( " +
-            "       SELECT Sum(Cost) sumCost, userId " +
-            "       FROM Orders " +
-            "       GROUP BY userId " +
-            "       order by sumCost desc " +
-            "       LIMIT 1 " +
-            "   ) AS ids " +
-            ") " +
-            "GROUP BY tags.ID " +
-            "ORDER BY count DESC LIMIT 1", nativeQuery = true)
-    Tag getMostFrequentTagFromHighestCostUser();
+            "SELECT o.id, o.Cost, o.CreateDate, o.UserId, o.Active FROM Orders o " +
+            "WHERE o.Active = true AND o.UserId IN (:userIds) AND ( " +
+            "   SELECT COUNT(*) FROM Orders p " +
+            "   WHERE p.UserId = o.UserId AND p.Active = true " +
+            "   AND (p.Cost < o.Cost OR (p.Cost = o.Cost AND p.id < o.id)) " +
+            ") < :limit " +
+            "ORDER BY o.UserId, o.Cost, o.id", nativeQuery = true)
+    List<Order> findFirstOrdersByUserIds(@Param("userIds") Collection<Integer> userIds, @Param("limit") int limit);
+
+    @Query(value = "SELECT UserId FROM Orders WHERE id = :orderId AND Active = true", nativeQuery = true)
+    Optional<Integer> findUserIdById(@Param("orderId") int orderId);
 
     @Override
     @Modifying
     @Query("update Order o set o.isActive = false where o.id = :orderId")
     void deleteById(Integer orderId);
+
+    @Modifying
+    @Query("update Order o set o.isActive = false where o.id = :orderId and o.isActive = true")
+    int deactivateById(@Param("orderId") int orderId);
 }
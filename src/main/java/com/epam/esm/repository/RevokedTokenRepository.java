@@ -0,0 +1,26 @@
+package com.epam.esm.repository;
+
+import com.epam.esm.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * This interface provides with ability to
+ * transfer {@code RevokedToken} in and out
+ * of data source.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findAllByExpiresAtAfter(ZonedDateTime moment);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :moment")
+    int deleteExpired(@Param("moment") ZonedDateTime moment);
+}
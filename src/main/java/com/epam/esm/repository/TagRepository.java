@@ -1,7 +1,6 @@
 package com.epam.esm.repository;
 
 import com.epam.esm.model.Tag;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
@@ -12,7 +11,7 @@ import org.springframework.data.jpa.repository.Query;
  *
  * @author Aleksey Sayarkin
  */
-public interface TagRepository extends JpaRepository<Tag, Integer> {
+public interface TagRepository extends KeysetRepository<Tag, Integer> {
 
     @Override
     @Modifying
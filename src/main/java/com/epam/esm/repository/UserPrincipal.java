@@ -0,0 +1,65 @@
+package com.epam.esm.repository;
+
+import com.epam.esm.model.Role;
+
+import java.util.Objects;
+
+/**
+ * Part of a {@code User} needed to authenticate
+ * it, read without orders of the user.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class UserPrincipal {
+
+    private final int id;
+    private final String login;
+    private final String password;
+    private final Role.RoleType roleType;
+
+    public UserPrincipal(int id, String login, String password, Role.RoleType roleType) {
+        this.id = id;
+        this.login = login;
+        this.password = password;
+        this.roleType = roleType;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public Role.RoleType getRoleType() {
+        return roleType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserPrincipal that = (UserPrincipal) o;
+        return id == that.id && Objects.equals(login, that.login) &&
+                Objects.equals(password, that.password) && roleType == that.roleType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, login, password, roleType);
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{" +
+                "id=" + id +
+                ", login='" + login + '\'' +
+                ", roleType=" + roleType +
+                '}';
+    }
+}
@@ -1,7 +1,14 @@
 package com.epam.esm.repository;
 
 import com.epam.esm.model.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 /**
  * This interface provides with ability to
@@ -10,7 +17,20 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *
  * @author Aleksey Sayarkin
  */
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends KeysetRepository<User, Integer> {
 
+    @EntityGraph(User.PRINCIPAL)
     User getUserByLogin(String login);
+
+    @Query("select new com.epam.esm.repository.UserPrincipal(u.id, u.login, u.password, r.role) " +
+            "from User u join u.role r where u.login = :login")
+    Optional<UserPrincipal> findPrincipalByLogin(@Param("login") String login);
+
+    @Override
+    @EntityGraph(User.PRINCIPAL)
+    Optional<User> findById(Integer userId);
+
+    @Override
+    @EntityGraph(User.PRINCIPAL)
+    Slice<User> findSlice(Specification<User> specification, Pageable pageable);
 }
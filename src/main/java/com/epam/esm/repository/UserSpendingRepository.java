@@ -0,0 +1,27 @@
+package com.epam.esm.repository;
+
+import com.epam.esm.model.UserSpending;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * This interface provides with ability to
+ * transfer {@code UserSpending} in and out
+ * of data source.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface UserSpendingRepository extends JpaRepository<UserSpending, Integer> {
+
+    Optional<UserSpending> findFirstByOrderByTotalCostDescUserIdAsc();
+
+    @Modifying
+    @Query(value =
+            "INSERT INTO UserSpendings (UserId, TotalCost) VALUES (:userId, :cost) " +
+            "ON DUPLICATE KEY UPDATE TotalCost = TotalCost + VALUES(TotalCost)", nativeQuery = true)
+    void addCost(@Param("userId") int userId, @Param("cost") double cost);
+}
@@ -0,0 +1,33 @@
+package com.epam.esm.repository;
+
+import com.epam.esm.model.Tag;
+import com.epam.esm.model.UserTagPurchase;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * This interface provides with ability to
+ * transfer {@code UserTagPurchase} in and out
+ * of data source.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface UserTagPurchaseRepository extends JpaRepository<UserTagPurchase, UserTagPurchase.Key> {
+
+    @Query("select t from UserTagPurchase p, Tag t " +
+            "where t.name = p.tagName and p.userId = :userId and p.purchases > 0 " +
+            "order by p.purchases desc, t.id")
+    List<Tag> findMostPurchasedTags(@Param("userId") int userId, Pageable pageable);
+
+    @Modifying
+    @Query(value =
+            "INSERT INTO UserTagPurchases (UserId, TagName, Purchases) VALUES (:userId, :tagName, :purchases) " +
+            "ON DUPLICATE KEY UPDATE Purchases = Purchases + VALUES(Purchases)", nativeQuery = true)
+    void addPurchases(@Param("userId") int userId, @Param("tagName") String tagName,
+                      @Param("purchases") long purchases);
+}
@@ -0,0 +1,206 @@
+package com.epam.esm.repository.impl;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Tag;
+import com.epam.esm.repository.CertificateRevisionKey;
+import com.epam.esm.repository.CertificateRevisionRepository;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.query.AuditEntity;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class CertificateRevisionRepositoryImpl implements CertificateRevisionRepository {
+
+    private static final int MAX_KEYS_PER_QUERY = 500;
+
+    /*
+     * Audit tables are named by the envers settings of application.properties:
+     * default_schema=audit and audit_table_suffix=_audit_log.
+     */
+    private static final String REVISION_NUMBERS_QUERY =
+            "SELECT k.KeyIndex, COALESCE(MAX(CASE WHEN r.REVTSTMP <= k.Moment THEN a.REV END), MIN(a.REV)) " +
+            "FROM (%s) k " +
+            "JOIN audit.GiftCertificates_audit_log a ON a.id = k.CertificateId " +
+            "JOIN audit.REVINFO r ON r.REV = a.REV " +
+            "GROUP BY k.KeyIndex";
+    private static final String KEY_ROW = "SELECT ? AS KeyIndex, ? AS CertificateId, ? AS Moment";
+
+    private static final String TAGS_QUERY =
+            "SELECT k.CertificateId, k.REV, t.id, t.name " +
+            "FROM (%s) k " +
+            "JOIN audit.CertificateTag_audit_log ct ON ct.CertificateId = k.CertificateId AND ct.REV = (" +
+            "SELECT MAX(ct2.REV) FROM audit.CertificateTag_audit_log ct2 " +
+            "WHERE ct2.CertificateId = ct.CertificateId AND ct2.TagId = ct.TagId AND ct2.REV <= k.REV) " +
+            "JOIN audit.tags_audit_log t ON t.id = ct.TagId AND t.REV = (" +
+            "SELECT MAX(t2.REV) FROM audit.tags_audit_log t2 WHERE t2.id = t.id AND t2.REV <= k.REV) " +
+            "WHERE ct.REVTYPE <> %2$d AND t.REVTYPE <> %2$d";
+    private static final String REVISION_ROW = "SELECT ? AS CertificateId, ? AS REV";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<CertificateRevisionKey, GiftCertificate> findCertificatesInEffect(
+            Collection<CertificateRevisionKey> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        var result = new HashMap<CertificateRevisionKey, GiftCertificate>();
+        var chunk = new ArrayList<CertificateRevisionKey>(MAX_KEYS_PER_QUERY);
+        for (var key : keys) {
+            chunk.add(key);
+            if (chunk.size() == MAX_KEYS_PER_QUERY) {
+                result.putAll(findChunkInEffect(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result.putAll(findChunkInEffect(chunk));
+        }
+
+        return result;
+    }
+
+    /*
+     * Three queries whatever the amount of keys: revision number in effect of
+     * every key, states of certificates of those revisions and their tags.
+     * Tags are set from the last query, so audited collections of the states
+     * are never initialized one by one.
+     */
+    private Map<CertificateRevisionKey, GiftCertificate> findChunkInEffect(List<CertificateRevisionKey> keys) {
+        var revisions = findRevisionNumbers(keys);
+        if (revisions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        var states = findStates(revisions.values());
+        var tags = findTags(states.keySet());
+        var result = new HashMap<CertificateRevisionKey, GiftCertificate>();
+        revisions.forEach((key, revision) -> {
+            var certificate = states.get(revision);
+            if (certificate != null) {
+                certificate.setTags(tags.getOrDefault(revision, new HashSet<>()));
+                result.put(key, certificate);
+            }
+        });
+
+        return result;
+    }
+
+    /*
+     * Greatest revision of a certificate committed until the moment of a key,
+     * its first revision when there is none. Keys without revisions are absent.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<CertificateRevisionKey, Revision> findRevisionNumbers(List<CertificateRevisionKey> keys) {
+        var rows = String.join(" UNION ALL ", Collections.nCopies(keys.size(), KEY_ROW));
+        var query = entityManager.createNativeQuery(String.format(REVISION_NUMBERS_QUERY, rows));
+        var position = 1;
+        for (int i = 0; i < keys.size(); i++) {
+            query.setParameter(position++, i);
+            query.setParameter(position++, keys.get(i).getCertificateId());
+            query.setParameter(position++, keys.get(i).getMoment());
+        }
+
+        var result = new HashMap<CertificateRevisionKey, Revision>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            var key = keys.get(((Number) row[0]).intValue());
+            result.put(key, new Revision(key.getCertificateId(), ((Number) row[1]).intValue()));
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Revision, GiftCertificate> findStates(Collection<Revision> revisions) {
+        var ids = revisions.stream().map(Revision::getCertificateId).distinct().toArray();
+        var numbers = revisions.stream().map(Revision::getNumber).distinct().toArray();
+
+        List<Object[]> rows = AuditReaderFactory.get(entityManager).createQuery()
+                .forRevisionsOfEntity(GiftCertificate.class, false, false)
+                .add(AuditEntity.id().in(ids))
+                .add(AuditEntity.revisionNumber().in(numbers))
+                .getResultList();
+
+        var wanted = new HashSet<>(revisions);
+        var result = new HashMap<Revision, GiftCertificate>();
+        for (var row : rows) {
+            var certificate = (GiftCertificate) row[0];
+            var revision = new Revision(certificate.getId(), ((DefaultRevisionEntity) row[1]).getId());
+            if (wanted.contains(revision)) {
+                result.put(revision, certificate);
+            }
+        }
+
+        return result;
+    }
+
+    /*
+     * Tags linked to a certificate in a revision: those whose last link change
+     * until the revision isn't a removal, each in its own state of that time.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Revision, Set<Tag>> findTags(Collection<Revision> revisions) {
+        if (revisions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        var rows = String.join(" UNION ALL ", Collections.nCopies(revisions.size(), REVISION_ROW));
+        var query = entityManager.createNativeQuery(
+                String.format(TAGS_QUERY, rows, RevisionType.DEL.getRepresentation())
+        );
+        var position = 1;
+        for (var revision : revisions) {
+            query.setParameter(position++, revision.getCertificateId());
+            query.setParameter(position++, revision.getNumber());
+        }
+
+        return ((List<Object[]>) query.getResultList()).stream().collect(Collectors.groupingBy(
+                row -> new Revision(((Number) row[0]).intValue(), ((Number) row[1]).intValue()),
+                Collectors.mapping(row -> new Tag(((Number) row[2]).intValue(), (String) row[3]),
+                        Collectors.toCollection(HashSet::new))
+        ));
+    }
+
+    private static final class Revision {
+
+        private final int certificateId;
+        private final int number;
+
+        private Revision(int certificateId, int number) {
+            this.certificateId = certificateId;
+            this.number = number;
+        }
+
+        private int getCertificateId() {
+            return certificateId;
+        }
+
+        private int getNumber() {
+            return number;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Revision revision = (Revision) o;
+            return certificateId == revision.certificateId && number == revision.number;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(certificateId, number);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.epam.esm.repository.impl;
+
+import com.epam.esm.model.IdSequences;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Moves every id sequence past the largest id already stored in its table, so
+ * rows inserted before the switch from identity columns are never collided with.
+ * Depends on the entity manager factory to run after the sequence table is created.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    private final static Logger log = LogManager.getLogger(IdSequenceInitializer.class);
+
+    private static final Map<String, String> SEQUENCE_TABLES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCE_TABLES.put(IdSequences.ORDERS, "Orders");
+        SEQUENCE_TABLES.put(IdSequences.ORDER_LINES, "OrderLines");
+        SEQUENCE_TABLES.put(IdSequences.GIFT_CERTIFICATES, "GiftShop.GiftCertificates");
+        SEQUENCE_TABLES.put(IdSequences.TAGS, "GiftShop.tags");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        SEQUENCE_TABLES.forEach(this::moveSequencePastStoredIds);
+    }
+
+    private void moveSequencePastStoredIds(String entity, String table) {
+        var maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        var nextId = (maxId == null ? 0 : maxId) + 1;
+
+        var updated = jdbcTemplate.update(
+                "UPDATE " + IdSequences.TABLE + " SET " + IdSequences.NEXT_ID_COLUMN + " = ?"
+                        + " WHERE " + IdSequences.ENTITY_COLUMN + " = ? AND " + IdSequences.NEXT_ID_COLUMN + " < ?",
+                nextId, entity, nextId
+        );
+        if (updated == 0) {
+            try {
+                jdbcTemplate.update(
+                        "INSERT INTO " + IdSequences.TABLE + " (" + IdSequences.ENTITY_COLUMN + ", "
+                                + IdSequences.NEXT_ID_COLUMN + ") VALUES (?, ?)",
+                        entity, nextId
+                );
+            } catch (DuplicateKeyException e) {
+                // the sequence is already past stored ids
+                return;
+            }
+        }
+        log.info("Id sequence of " + entity + " starts at " + nextId);
+    }
+}
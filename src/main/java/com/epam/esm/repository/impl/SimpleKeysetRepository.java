@@ -0,0 +1,117 @@
+package com.epam.esm.repository.impl;
+
+import com.epam.esm.repository.CollectionVersion;
+import com.epam.esm.repository.KeysetRepository;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.Expression;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class SimpleKeysetRepository<T, ID> extends SimpleJpaRepository<T, ID> implements KeysetRepository<T, ID> {
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager entityManager;
+
+    public SimpleKeysetRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<T> findSlice(Specification<T> specification, Pageable pageable) {
+        var query = getQuery(specification, pageable.getSort());
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        var content = query.getResultList();
+        var hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = new ArrayList<>(content.subList(0, pageable.getPageSize()));
+        }
+
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public void scroll(Specification<T> specification, Sort sort, int chunkSize, Consumer<List<T>> consumer) {
+        var query = getQuery(specification, sort);
+        query.setHint(QueryHints.FETCH_SIZE, chunkSize);
+        query.setHint(QueryHints.READ_ONLY, true);
+
+        try (var entities = query.getResultStream()) {
+            var chunk = new ArrayList<T>(chunkSize);
+            var iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    consumer.accept(chunk);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+                entityManager.clear();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void scrollIds(Specification<T> specification, Sort sort, int fetchSize, Predicate<ID> consumer) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery((Class<ID>) entityInformation.getIdType());
+        var root = query.from(getDomainClass());
+        query.select(root.<ID>get(entityInformation.getIdAttribute().getName()));
+        if (specification != null) {
+            var predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        var typedQuery = entityManager.createQuery(query);
+        typedQuery.setHint(QueryHints.FETCH_SIZE, fetchSize);
+        typedQuery.setHint(QueryHints.READ_ONLY, true);
+        try (var ids = typedQuery.getResultStream()) {
+            var iterator = ids.iterator();
+            var proceed = true;
+            while (proceed && iterator.hasNext()) {
+                proceed = consumer.test(iterator.next());
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CollectionVersion findCollectionVersion(Specification<T> specification, String versionAttribute) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var root = query.from(getDomainClass());
+        Expression<Comparable> version = root.get(versionAttribute);
+        query.multiselect(builder.count(root), builder.greatest(version));
+        if (specification != null) {
+            var predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        var row = entityManager.createQuery(query).getSingleResult();
+        return new CollectionVersion(row.get(0, Long.class), row.get(1));
+    }
+}
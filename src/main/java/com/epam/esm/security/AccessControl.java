@@ -0,0 +1,47 @@
+package com.epam.esm.security;
+
+import com.epam.esm.model.Role;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares who may call a controller method. Access is
+ * granted when the caller has every permission of
+ * {@code allOf} and passes the ownership checks, or has
+ * any permission of {@code orAnyOf}. Rules are compiled
+ * once at startup by {@code AccessControlInterceptor}.
+ *
+ * @author Aleksey Sayarkin
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AccessControl {
+
+    /**
+     * @return permissions all of which are required.
+     */
+    Role.Permission[] allOf() default {};
+
+    /**
+     * @return name of an {@code int} parameter which must
+     * equal to id of the caller, empty when not checked.
+     */
+    String user() default "";
+
+    /**
+     * @return name of an {@code int} parameter holding id of
+     * an order which must belong to the caller, empty when
+     * not checked.
+     */
+    String order() default "";
+
+    /**
+     * @return permissions any of which grants access alone.
+     */
+    Role.Permission[] orAnyOf() default {};
+}
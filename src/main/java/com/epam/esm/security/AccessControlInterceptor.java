@@ -0,0 +1,144 @@
+package com.epam.esm.security;
+
+import com.epam.esm.model.Role;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks {@code AccessControl} rules of controller methods.
+ * Each rule is compiled once into a predicate over a mask of
+ * caller permissions and arguments of the call, so a call
+ * costs a map lookup, a bitmask test and ownership checks.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class AccessControlInterceptor implements MethodInterceptor {
+
+    private static final String ACCESS_DENIED = "Access is denied";
+
+    private final UserSecurityUtil userSecurityUtil;
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<Method, Rule> rules = new ConcurrentHashMap<>();
+
+    public AccessControlInterceptor(UserSecurityUtil userSecurityUtil) {
+        this.userSecurityUtil = userSecurityUtil;
+    }
+
+    /**
+     * Compiles the rule of a method when it has one, called
+     * while proxies are created at startup.
+     *
+     * @return whether the method is access controlled.
+     * @throws IllegalStateException when the rule names a missing or non {@code int} parameter.
+     */
+    public boolean register(Method method) throws IllegalStateException {
+        var accessControl = AnnotatedElementUtils.findMergedAnnotation(method, AccessControl.class);
+        if (accessControl == null) {
+            return false;
+        }
+        rules.computeIfAbsent(method, m -> compile(m, accessControl));
+
+        return true;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        check(invocation.getMethod(), invocation.getArguments(),
+                SecurityContextHolder.getContext().getAuthentication());
+
+        return invocation.proceed();
+    }
+
+    /**
+     * @throws AccessDeniedException when the caller may not call the method.
+     */
+    public void check(Method method, Object[] arguments, Authentication authentication) throws AccessDeniedException {
+        var rule = rules.get(method);
+        if (rule == null) {
+            if (!register(method)) {
+                return;
+            }
+            rule = rules.get(method);
+        }
+        if (authentication == null || !rule.permits(authentication, permissionsOf(authentication), arguments)) {
+            throw new AccessDeniedException(ACCESS_DENIED);
+        }
+    }
+
+    private static long permissionsOf(Authentication authentication) {
+        var principal = authentication.getPrincipal();
+        if (principal instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) principal).getPermissionMask();
+        }
+
+        return Role.Permission.maskOf(authentication.getAuthorities());
+    }
+
+    private Rule compile(Method method, AccessControl accessControl) {
+        var required = Role.Permission.maskOf(accessControl.allOf());
+        Rule rule = (authentication, permissions, arguments) -> (permissions & required) == required;
+
+        if (!accessControl.user().isEmpty()) {
+            var index = indexOf(method, accessControl.user());
+            rule = rule.and((authentication, permissions, arguments) ->
+                    userSecurityUtil.authenticateUserId(authentication, (Integer) arguments[index]));
+        }
+        if (!accessControl.order().isEmpty()) {
+            var index = indexOf(method, accessControl.order());
+            rule = rule.and((authentication, permissions, arguments) ->
+                    userSecurityUtil.authenticateOrderId(authentication, (Integer) arguments[index]));
+        }
+
+        var sufficient = Role.Permission.maskOf(accessControl.orAnyOf());
+        if (sufficient != 0) {
+            var ownership = rule;
+            rule = (authentication, permissions, arguments) ->
+                    (permissions & sufficient) != 0 || ownership.permits(authentication, permissions, arguments);
+        }
+
+        return rule;
+    }
+
+    private int indexOf(Method method, String parameter) throws IllegalStateException {
+        var names = parameterNames.getParameterNames(method);
+        var parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            var pathVariable = parameters[i].getAnnotation(PathVariable.class);
+            var matches = pathVariable != null
+                    && (parameter.equals(pathVariable.value()) || parameter.equals(pathVariable.name()))
+                    || names != null && parameter.equals(names[i]);
+            if (matches) {
+                var type = parameters[i].getType();
+                if (type != int.class && type != Integer.class) {
+                    throw new IllegalStateException("Parameter " + parameter + " of " + method + " is not int");
+                }
+                return i;
+            }
+        }
+
+        throw new IllegalStateException("Parameter " + parameter + " of " + method + " is not found");
+    }
+
+    @FunctionalInterface
+    private interface Rule {
+
+        boolean permits(Authentication authentication, long permissions, Object[] arguments);
+
+        default Rule and(Rule other) {
+            return (authentication, permissions, arguments) ->
+                    permits(authentication, permissions, arguments)
+                            && other.permits(authentication, permissions, arguments);
+        }
+    }
+}
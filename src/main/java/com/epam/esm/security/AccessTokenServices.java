@@ -0,0 +1,148 @@
+package com.epam.esm.security;
+
+import com.epam.esm.service.TokenRevocationService;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.common.util.JsonParser;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The only verification pipeline of the resource server. Tokens
+ * issued by {@code JwtTokenProvider} and OAuth2 access tokens of
+ * the authorization server are told apart by their header, each
+ * is verified exactly once and the principal is built from claims.
+ * First-party tokens are granted every scope of the API. Both kinds
+ * are revoked here too, so logout works whichever token was used.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class AccessTokenServices implements ResourceServerTokenServices {
+
+    private static final Logger log = LogManager.getLogger(AccessTokenServices.class);
+
+    public static final String FIRST_PARTY_CLIENT_ID = "giftshop";
+    public static final Set<String> FIRST_PARTY_SCOPES = Set.of("read", "write");
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final SignatureVerifier oauthTokenVerifier;
+    private final AccessTokenConverter oauthTokenConverter;
+    private final TokenRevocationService tokenRevocationService;
+    private final JsonParser jsonParser = JsonParserFactory.create();
+
+    public AccessTokenServices(JwtTokenProvider jwtTokenProvider, SignatureVerifier oauthTokenVerifier,
+                               AccessTokenConverter oauthTokenConverter,
+                               TokenRevocationService tokenRevocationService) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.oauthTokenVerifier = oauthTokenVerifier;
+        this.oauthTokenConverter = oauthTokenConverter;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    public OAuth2Authentication loadAuthentication(String token) throws AuthenticationException,
+            InvalidTokenException {
+        if (jwtTokenProvider.isIssuedToken(token)) {
+            var user = getFirstPartyAuthentication(token);
+            return new OAuth2Authentication(firstPartyRequest(user.getAuthorities()), user);
+        }
+
+        return oauthTokenConverter.extractAuthentication(verifyOAuthClaims(token));
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String token) {
+        if (jwtTokenProvider.isIssuedToken(token)) {
+            getFirstPartyAuthentication(token);
+            var accessToken = new DefaultOAuth2AccessToken(token);
+            accessToken.setScope(FIRST_PARTY_SCOPES);
+            return accessToken;
+        }
+
+        return oauthTokenConverter.extractAccessToken(token, verifyOAuthClaims(token));
+    }
+
+    /**
+     * Verifies a first-party or OAuth2 token and revokes it until it expires.
+     *
+     * @throws AuthenticationServiceException when the token is not valid or has no id.
+     */
+    public void revokeToken(String token) throws AuthenticationServiceException {
+        if (jwtTokenProvider.isIssuedToken(token)) {
+            jwtTokenProvider.revokeJwtToken(token);
+            return;
+        }
+
+        Map<String, Object> claims;
+        try {
+            claims = verifyOAuthClaims(token);
+        } catch (InvalidTokenException e) {
+            throw new AuthenticationServiceException(e.getMessage());
+        }
+        var tokenId = claims.get(AccessTokenConverter.JTI);
+        if (tokenId == null) {
+            log.error("Failed to get token id from oauth2 token");
+            throw new AuthenticationServiceException("Failed to get token id from oauth2 token");
+        }
+        var expiration = (long) claims.get(AccessTokenConverter.EXP);
+        tokenRevocationService.revoke(
+                tokenId.toString(), ZonedDateTime.ofInstant(Instant.ofEpochSecond(expiration), ZoneOffset.UTC)
+        );
+    }
+
+    private Authentication getFirstPartyAuthentication(String token) throws InvalidTokenException {
+        try {
+            return jwtTokenProvider.getAuthentication(token);
+        } catch (AuthenticationServiceException e) {
+            throw new InvalidTokenException(e.getMessage());
+        }
+    }
+
+    private static OAuth2Request firstPartyRequest(Collection<? extends GrantedAuthority> authorities) {
+        return new OAuth2Request(Map.of(), FIRST_PARTY_CLIENT_ID, authorities, true,
+                FIRST_PARTY_SCOPES, Set.of(), null, Set.of(), Map.of());
+    }
+
+    private Map<String, Object> verifyOAuthClaims(String token) throws InvalidTokenException {
+        Map<String, Object> claims;
+        try {
+            claims = jsonParser.parseMap(JwtHelper.decodeAndVerify(token, oauthTokenVerifier).getClaims());
+        } catch (RuntimeException e) {
+            log.error("Failed to validate oauth2 token");
+            throw new InvalidTokenException("Failed to validate oauth2 token");
+        }
+
+        var expiration = claims.get(AccessTokenConverter.EXP);
+        if (!(expiration instanceof Number) || ((Number) expiration).longValue() * 1000 <= System.currentTimeMillis()) {
+            log.error("Failed to validate oauth2 token: oauth2 token expired");
+            throw new InvalidTokenException("Failed to validate oauth2 token: oauth2 token expired");
+        }
+        var tokenId = claims.get(AccessTokenConverter.JTI);
+        if (tokenId != null && tokenRevocationService.isRevoked(tokenId.toString())) {
+            log.error("Failed to validate oauth2 token: oauth2 token revoked");
+            throw new InvalidTokenException("Failed to validate oauth2 token: oauth2 token revoked");
+        }
+        claims.put(AccessTokenConverter.EXP, ((Number) expiration).longValue());
+
+        return claims;
+    }
+}
@@ -0,0 +1,66 @@
+package com.epam.esm.security;
+
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/*
+ * Limits login and signup attempts per client address and per login before
+ * any user lookup or password hashing is done for them.
+ */
+@Component
+public class AuthThrottle {
+
+    private static final Logger log = LogManager.getLogger(AuthThrottle.class);
+
+    private static final String THROTTLED_METER = "auth.throttled";
+
+    private final TokenBucketRateLimiter clientLimiter;
+    private final TokenBucketRateLimiter loginLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public AuthThrottle(MeterRegistry meterRegistry,
+                        @Value("${giftshop.security.throttle.client.capacity:20}") int clientCapacity,
+                        @Value("${giftshop.security.throttle.client.per-minute:20}") int clientPerMinute,
+                        @Value("${giftshop.security.throttle.login.capacity:5}") int loginCapacity,
+                        @Value("${giftshop.security.throttle.login.per-minute:5}") int loginPerMinute,
+                        @Value("${giftshop.security.throttle.max-keys:100000}") int maxKeys) {
+        this.meterRegistry = meterRegistry;
+        this.clientLimiter = new TokenBucketRateLimiter(clientCapacity, clientPerMinute, maxKeys);
+        this.loginLimiter = new TokenBucketRateLimiter(loginCapacity, loginPerMinute, maxKeys);
+    }
+
+    /**
+     * Takes a token for an attempt from the buckets of the
+     * client address and of the login.
+     *
+     * @param endpoint name of the endpoint, used to tag metrics.
+     * @param clientAddress address of the client.
+     * @param login login passed in the attempt, may be {@code null}.
+     * @throws ServiceException when one of the buckets is empty.
+     */
+    public void acquire(String endpoint, String clientAddress, String login) throws ServiceException {
+        if (!clientLimiter.tryAcquire(clientAddress)) {
+            throttle(endpoint, "client", "client " + clientAddress);
+        }
+        if (login != null && !loginLimiter.tryAcquire(login.toLowerCase(Locale.ROOT))) {
+            throttle(endpoint, "login", "login " + login);
+        }
+    }
+
+    private void throttle(String endpoint, String key, String subject) throws ServiceException {
+        Counter.builder(THROTTLED_METER)
+                .tags("endpoint", endpoint, "key", key)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Throttled " + endpoint + " attempt of " + subject);
+        throw new ServiceException("Too many attempts, try again later", ErrorCodeEnum.AUTHENTICATION_THROTTLED);
+    }
+}
@@ -0,0 +1,81 @@
+package com.epam.esm.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.provider.token.UserAuthenticationConverter;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes id, login and authorities of a user into claims of
+ * OAuth2 access tokens and builds {@code UserDetailsImpl} back
+ * from them, so that a verified token needs no user lookup.
+ * Tokens issued before the id claim existed fall back to
+ * {@code UserDetailsService}.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class ClaimsUserAuthenticationConverter implements UserAuthenticationConverter {
+
+    private static final String NO_CREDENTIALS = "N/A";
+
+    private final UserDetailsService userDetailsService;
+
+    public ClaimsUserAuthenticationConverter(UserDetailsService userDetailsService) {
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public Map<String, ?> convertUserAuthentication(Authentication authentication) {
+        var claims = new LinkedHashMap<String, Object>();
+        claims.put(USERNAME, authentication.getName());
+        if (authentication.getPrincipal() instanceof UserDetailsImpl) {
+            claims.put(JwtCodec.ID_KEY, ((UserDetailsImpl) authentication.getPrincipal()).getId());
+        }
+        if (authentication.getAuthorities() != null && !authentication.getAuthorities().isEmpty()) {
+            claims.put(AUTHORITIES, AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        }
+
+        return claims;
+    }
+
+    @Override
+    public Authentication extractAuthentication(Map<String, ?> claims) {
+        if (!claims.containsKey(USERNAME)) {
+            return null;
+        }
+
+        var username = String.valueOf(claims.get(USERNAME));
+        var id = claims.get(JwtCodec.ID_KEY);
+        UserDetails details;
+        if (id instanceof Number) {
+            details = new UserDetailsImpl(((Number) id).intValue(), username, "", getAuthorities(claims), true);
+        } else {
+            details = userDetailsService.loadUserByUsername(username);
+        }
+
+        return new UsernamePasswordAuthenticationToken(details, NO_CREDENTIALS, details.getAuthorities());
+    }
+
+    private static List<SimpleGrantedAuthority> getAuthorities(Map<String, ?> claims) {
+        var authorities = new ArrayList<SimpleGrantedAuthority>();
+        var claimed = claims.get(AUTHORITIES);
+        if (claimed instanceof String) {
+            StringUtils.commaDelimitedListToSet((String) claimed)
+                    .forEach(a -> authorities.add(new SimpleGrantedAuthority(a)));
+        } else if (claimed instanceof Collection) {
+            ((Collection<?>) claimed).forEach(a -> authorities.add(new SimpleGrantedAuthority(String.valueOf(a))));
+        }
+
+        return authorities;
+    }
+}
@@ -0,0 +1,161 @@
+package com.epam.esm.security;
+
+import com.epam.esm.model.Role;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies HS256 signed compact tokens with a key
+ * decoded once, a {@code Mac} per thread and JSON of role
+ * claims written once per role. Tokens are compatible with
+ * ones issued by jjwt with the same key.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class JwtCodec {
+
+    public static final String ID_KEY = "id";
+    public static final String ROLE_KEY = "role";
+    public static final String AUTHORITIES_KEY = "authorities";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {
+    };
+
+    private final ThreadLocal<Mac> macs;
+    private final Map<Role.RoleType, String> roleFragments = new EnumMap<>(Role.RoleType.class);
+
+    public JwtCodec(byte[] key) {
+        var secretKey = new SecretKeySpec(key, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                var mac = Mac.getInstance(ALGORITHM);
+                mac.init(secretKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HS256 is not supported", e);
+            }
+        });
+        for (Role.RoleType roleType : Role.RoleType.values()) {
+            roleFragments.put(roleType, roleFragment(roleType.toString(), roleType.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .map(JwtCodec::quote)
+                    .collect(Collectors.joining(","))));
+        }
+    }
+
+    private static String roleFragment(String role, String quotedAuthorities) {
+        return ",\"" + ROLE_KEY + "\":" + quote(role) + ",\"" + AUTHORITIES_KEY + "\":[" + quotedAuthorities + "]";
+    }
+
+    /**
+     * @param role name of a role, authorities of unknown roles are empty.
+     * @return compact token.
+     */
+    public String encode(int userId, String username, String role, String tokenId,
+                         long issuedAtMillis, long expiresAtMillis) {
+        var payload = new StringBuilder(256)
+                .append("{\"sub\":").append(quote(username))
+                .append(",\"").append(ID_KEY).append("\":").append(userId)
+                .append(getRoleFragment(role))
+                .append(",\"jti\":").append(quote(tokenId))
+                .append(",\"iat\":").append(issuedAtMillis / 1000)
+                .append(",\"exp\":").append(expiresAtMillis / 1000)
+                .append('}');
+        var unsigned = HEADER + '.' + ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+
+        return unsigned + '.' + ENCODER.encodeToString(sign(unsigned));
+    }
+
+    private String getRoleFragment(String role) {
+        for (Map.Entry<Role.RoleType, String> fragment : roleFragments.entrySet()) {
+            if (fragment.getKey().toString().equalsIgnoreCase(role)) {
+                return fragment.getValue();
+            }
+        }
+
+        return roleFragment(role, "");
+    }
+
+    /**
+     * @return whether the token has the header written by this codec,
+     * without verifying it.
+     */
+    public boolean hasHeader(String token) {
+        return token.length() > HEADER.length() && token.charAt(HEADER.length()) == '.'
+                && token.startsWith(HEADER);
+    }
+
+    /**
+     * Verifies signature of a token and reads its claims,
+     * expiration is left to a caller.
+     *
+     * @throws IllegalArgumentException when the token is malformed or its signature is wrong.
+     */
+    public Claims decode(String token) throws IllegalArgumentException {
+        var headerEnd = token.indexOf('.');
+        var payloadEnd = token.indexOf('.', headerEnd + 1);
+        if (headerEnd < 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new IllegalArgumentException("Malformed token");
+        }
+        if (!token.regionMatches(0, HEADER, 0, headerEnd) || headerEnd != HEADER.length()) {
+            throw new IllegalArgumentException("Unsupported token header");
+        }
+
+        var expected = sign(token.substring(0, payloadEnd));
+        var actual = DECODER.decode(token.substring(payloadEnd + 1));
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IllegalArgumentException("Wrong token signature");
+        }
+
+        try {
+            var payload = DECODER.decode(token.substring(headerEnd + 1, payloadEnd));
+            return Jwts.claims(MAPPER.readValue(payload, CLAIMS_TYPE));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed token claims", e);
+        }
+    }
+
+    private byte[] sign(String unsigned) {
+        return macs.get().doFinal(unsigned.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        var quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+
+        return quoted.append('"').toString();
+    }
+}
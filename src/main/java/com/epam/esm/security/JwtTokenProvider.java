@@ -7,9 +7,10 @@ import javax.servlet.http.HttpServletRequest;
 
 public interface JwtTokenProvider {
 
-    String createJwtToken(String username, String role);
+    String createJwtToken(int userId, String username, String role);
+    boolean isIssuedToken(String token);
     boolean validateJwtToken(String token) throws AuthenticationServiceException;
+    void revokeJwtToken(String token) throws AuthenticationServiceException;
     Authentication getAuthentication(String token) throws AuthenticationServiceException;
-    String getUserName(String token) throws AuthenticationServiceException;
     String resolveToken(HttpServletRequest request) throws AuthenticationServiceException;
 }
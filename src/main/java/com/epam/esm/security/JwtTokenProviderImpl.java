@@ -1,23 +1,21 @@
 package com.epam.esm.security;
 
 import com.epam.esm.model.Role;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import com.epam.esm.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
 import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.*;
 
 @Component
@@ -25,110 +23,152 @@ public class JwtTokenProviderImpl implements JwtTokenProvider {
 
     private static final Logger log = LogManager.getLogger(JwtTokenProviderImpl.class);
 
-    private final UserDetailsService userDetailsService;
-
     private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String AUTHORITIES_KEY = "authorities";
-    private static final String ROLE_KEY = "role";
-
-    private String secretKey = "secret";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String BASIC_PREFIX = "Basic ";
+    private static final byte[] SECRET_KEY = "secret".getBytes(StandardCharsets.UTF_8);
 
     private static final int EXPIRATION_IN_MILLISECONDS = 3600000;
 
-    public JwtTokenProviderImpl(@Qualifier("userDetailsServiceImpl") UserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
+    private static final Map<String, List<SimpleGrantedAuthority>> ROLE_AUTHORITIES = new HashMap<>();
+
+    static {
+        for (Role.RoleType roleType : Role.RoleType.values()) {
+            ROLE_AUTHORITIES.put(roleType.toString(), List.copyOf(roleType.getAuthorities()));
+        }
     }
 
-    @PostConstruct
-    private void init() {
-        secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes(StandardCharsets.UTF_8));
+    private final JwtCodec codec = new JwtCodec(SECRET_KEY);
+
+    private final VerifiedTokenCache verifiedTokens;
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtTokenProviderImpl(@Value("${giftshop.security.token-cache.max-size:10000}") int tokenCacheSize,
+                                TokenRevocationService tokenRevocationService) {
+        this.verifiedTokens = new VerifiedTokenCache(tokenCacheSize);
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
-    public String createJwtToken(String username, String role) {
-        var claims = Jwts.claims().setSubject(username);
-        claims.put(ROLE_KEY, role);
-        claims.put(AUTHORITIES_KEY, getAuthoritiesFromRole(role));
-        var now = new Date();
-        var expiration = new Date(now.getTime() + EXPIRATION_IN_MILLISECONDS);
-        return Jwts.builder()
-                .setClaims(claims)
-                .setIssuedAt(now)
-                .setExpiration(expiration)
-                .signWith(SignatureAlgorithm.HS256, secretKey)
-                .compact();
+    public String createJwtToken(int userId, String username, String role) {
+        var now = System.currentTimeMillis();
+        return codec.encode(
+                userId, username, role, UUID.randomUUID().toString(), now, now + EXPIRATION_IN_MILLISECONDS
+        );
     }
 
-    private String[] getAuthoritiesFromRole(String role) {
-        var authorities = new ArrayList<String>();
-        if (role.equalsIgnoreCase(Role.RoleType.USER.toString())) {
-            Set<SimpleGrantedAuthority> simpleGrantedAuthorities = Role.RoleType.USER.getAuthorities();
-            simpleGrantedAuthorities.forEach(a -> authorities.add(a.getAuthority()));
-        } else if (role.equalsIgnoreCase(Role.RoleType.ADMIN.toString())) {
-            Set<SimpleGrantedAuthority> simpleGrantedAuthorities = Role.RoleType.ADMIN.getAuthorities();
-            simpleGrantedAuthorities.forEach(a -> authorities.add(a.getAuthority()));
-        }
-
-        return authorities.toArray(new String[0]);
+    @Override
+    public boolean isIssuedToken(String token) {
+        return codec.hasHeader(token);
     }
 
     @Override
     public boolean validateJwtToken(String token) throws AuthenticationServiceException {
+        return new Date().before(verifyClaims(token).getExpiration());
+    }
+
+    @Override
+    public void revokeJwtToken(String token) throws AuthenticationServiceException {
+        var claims = verifyClaims(token);
+        tokenRevocationService.revoke(
+                claims.getId(), ZonedDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneOffset.UTC)
+        );
+    }
+
+    private Claims verifyClaims(String token) throws AuthenticationServiceException {
+        var claims = parseClaims(token);
+        var tokenId = claims.getId();
+        if (tokenId == null) {
+            log.error("Failed to get token id from jwt token");
+            throw new AuthenticationServiceException("Failed to get token id from jwt token");
+        }
+        if (tokenRevocationService.isRevoked(tokenId)) {
+            log.error("Failed to validate jwt token: jwt token revoked");
+            throw new AuthenticationServiceException("Failed to validate jwt token: jwt token revoked");
+        }
+
+        return claims;
+    }
+
+    private Claims parseClaims(String token) throws AuthenticationServiceException {
+        var cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
         try {
-            var claimsJws = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-            return new Date().before(claimsJws.getBody().getExpiration());
-        } catch (ExpiredJwtException e) {
-            log.error("Failed to validate jwt token: jwt token expired");
-            throw new AuthenticationServiceException("Failed to validate jwt token: jwt token expired");
-        } catch (JwtException | IllegalArgumentException e) {
+            claims = codec.decode(token);
+        } catch (IllegalArgumentException e) {
             log.error("Failed to validate jwt token");
             throw new AuthenticationServiceException("Failed to validate jwt token");
         }
+        var expiration = claims.getExpiration();
+        if (expiration == null || !expiration.after(new Date())) {
+            log.error("Failed to validate jwt token: jwt token expired");
+            throw new AuthenticationServiceException("Failed to validate jwt token: jwt token expired");
+        }
+        verifiedTokens.put(token, claims);
+
+        return claims;
     }
 
     @Override
     public Authentication getAuthentication(String token) throws AuthenticationServiceException {
-        var details = userDetailsService.loadUserByUsername(getUserName(token));
-        return new UsernamePasswordAuthenticationToken(details, "", getAuthoritiesFromToken(token));
+        var claims = verifyClaims(token);
+        var authorities = getAuthorities(claims);
+        var details = new UserDetailsImpl(getUserId(claims), claims.getSubject(), "", authorities, true);
+
+        return new UsernamePasswordAuthenticationToken(details, "", authorities);
     }
 
-    @SuppressWarnings("unchecked")
-    private List<SimpleGrantedAuthority> getAuthoritiesFromToken(String token) throws AuthenticationServiceException {
-        try {
-            var stringAuthorities = (List<String>) Jwts.parser()
-                    .setSigningKey(secretKey)
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .get(AUTHORITIES_KEY);
+    private int getUserId(Claims claims) throws AuthenticationServiceException {
+        var id = claims.get(JwtCodec.ID_KEY);
+        if (!(id instanceof Number)) {
+            log.error("Failed to get user id from jwt token");
+            throw new AuthenticationServiceException("Failed to get user id from jwt token");
+        }
 
-            var authorities = new ArrayList<SimpleGrantedAuthority>();
-            stringAuthorities.forEach(a -> authorities.add(new SimpleGrantedAuthority(a)));
+        return ((Number) id).intValue();
+    }
 
-            return authorities;
-        } catch (JwtException | IllegalArgumentException e) {
+    private List<SimpleGrantedAuthority> getAuthorities(Claims claims) throws AuthenticationServiceException {
+        var roleAuthorities = ROLE_AUTHORITIES.get(String.valueOf(claims.get(JwtCodec.ROLE_KEY)));
+        if (roleAuthorities != null) {
+            return roleAuthorities;
+        }
+
+        var stringAuthorities = claims.get(JwtCodec.AUTHORITIES_KEY);
+        if (!(stringAuthorities instanceof List)) {
             log.error("Failed to get authorities from jwt token");
             throw new AuthenticationServiceException("Failed to get authorities from jwt token");
         }
-    }
 
-    @Override
-    public String getUserName(String token) throws AuthenticationServiceException {
-        try {
-            return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject();
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Failed to get username from jwt token");
-            throw new AuthenticationServiceException("Failed to get username from jwt token");
-        }
+        var authorities = new ArrayList<SimpleGrantedAuthority>();
+        ((List<?>) stringAuthorities).forEach(a -> authorities.add(new SimpleGrantedAuthority(String.valueOf(a))));
+
+        return authorities;
     }
 
+    /*
+     * Tokens are sent as "Bearer <token>", first-party clients still send
+     * "Basic <token>". Basic credentials, which are never a dotted compact
+     * token, and other schemes are left to other authentication mechanisms.
+     */
     @Override
     public String resolveToken(HttpServletRequest request) throws AuthenticationServiceException {
-        try {
-            var token = request.getHeader(AUTHORIZATION_HEADER);
-            return token == null || token.isEmpty() ? null : token.substring(6);
-        } catch (IndexOutOfBoundsException e) {
-            log.error("Jwt token should start with 'Basic'");
-            throw new AuthenticationServiceException("Jwt token should start with 'Basic'");
+        var header = request.getHeader(AUTHORIZATION_HEADER);
+        if (header == null || header.isEmpty()) {
+            return null;
+        }
+        if (header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return header.substring(BEARER_PREFIX.length()).trim();
         }
+        if (header.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            var token = header.substring(BASIC_PREFIX.length()).trim();
+            return token.indexOf('.') < 0 ? null : token;
+        }
+
+        return null;
     }
 }
@@ -0,0 +1,80 @@
+package com.epam.esm.security;
+
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Hashes and verifies passwords on a small dedicated pool, so that a burst of
+ * logins cannot hold every request thread for the cost of BCrypt. When the pool
+ * and its queue are full the call fails at once instead of waiting.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LogManager.getLogger(PooledPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity) {
+        this.delegate = delegate;
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        var threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            var thread = new Thread(runnable, "password-encoder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) throws ServiceException {
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            log.warn("Password encoder is overloaded");
+            throw new ServiceException("Too many authentication requests, try again later",
+                    ErrorCodeEnum.AUTHENTICATION_OVERLOADED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Password encoding was interrupted", ErrorCodeEnum.AUTHENTICATION_OVERLOADED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,96 @@
+package com.epam.esm.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * Token bucket per key. Buckets live in a concurrent map and each one is
+ * locked on its own, so requests for different keys never wait for each other.
+ * Once there are more than maxKeys buckets, refilled ones are dropped, at most
+ * once per second, as they hold no more state than a new bucket.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    public TokenBucketRateLimiter(int capacity, int tokensPerMinute, int maxKeys) {
+        this(capacity, tokensPerMinute, maxKeys, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(int capacity, int tokensPerMinute, int maxKeys, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) tokensPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        this.lastSweep = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a token from the bucket of the key.
+     *
+     * @return false when the bucket is empty.
+     */
+    public boolean tryAcquire(String key) {
+        var now = nanoClock.getAsLong();
+        if (buckets.size() > maxKeys) {
+            sweep(now);
+        }
+
+        return buckets.computeIfAbsent(key, k -> new Bucket(capacity, now)).tryAcquire(now);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void sweep(long now) {
+        var last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        private synchronized boolean tryAcquire(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+
+            return true;
+        }
+
+        private synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+                refilledAt = now;
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.epam.esm.security;
 
+import com.epam.esm.model.Role;
 import com.epam.esm.model.User;
+import com.epam.esm.repository.UserPrincipal;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +18,7 @@ public class UserDetailsImpl implements UserDetails {
     private final String password;
     private final List<SimpleGrantedAuthority> authorities;
     private final boolean isActive;
+    private final long permissionMask;
 
     public UserDetailsImpl(int id, String username, String password,
                            List<SimpleGrantedAuthority> authorities, boolean isActive) {
@@ -24,6 +27,7 @@ public class UserDetailsImpl implements UserDetails {
         this.password = password;
         this.authorities = authorities;
         this.isActive = isActive;
+        this.permissionMask = Role.Permission.maskOf(authorities);
     }
 
     public static UserDetails of(User user) {
@@ -36,10 +40,24 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    public static UserDetails of(UserPrincipal principal) {
+        return new UserDetailsImpl(
+                principal.getId(),
+                principal.getLogin(),
+                principal.getPassword(),
+                new ArrayList<>(principal.getRoleType().getAuthorities()),
+                true
+        );
+    }
+
     public int getId() {
         return id;
     }
 
+    public long getPermissionMask() {
+        return permissionMask;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -1,18 +1,26 @@
 package com.epam.esm.security;
 
+import com.epam.esm.service.UserPrincipalService;
 import com.epam.esm.service.UserService;
 import com.epam.esm.service.exception.ServiceException;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
+    private static final Logger log = LogManager.getLogger(UserDetailsServiceImpl.class);
+
+    private final UserPrincipalService userPrincipalService;
     private final UserService userService;
 
-    public UserDetailsServiceImpl(UserService userService) {
+    public UserDetailsServiceImpl(UserPrincipalService userPrincipalService, UserService userService) {
+        this.userPrincipalService = userPrincipalService;
         this.userService = userService;
     }
 
@@ -23,9 +31,23 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 throw new UsernameNotFoundException("No username provided");
             }
 
-            return UserDetailsImpl.of(userService.getUserByLogin(username));
+            return UserDetailsImpl.of(userPrincipalService.getPrincipalByLogin(username));
         } catch (ServiceException e) {
             throw new UsernameNotFoundException(e.getMessage());
         }
     }
+
+    /*
+     * Called after a successful login when the stored hash was made
+     * with another cost factor than the configured one.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        try {
+            return UserDetailsImpl.of(userService.updatePassword(user.getUsername(), newPassword));
+        } catch (ServiceException e) {
+            log.error("Failed to rehash password of user " + user.getUsername());
+            return user;
+        }
+    }
 }
@@ -1,6 +1,6 @@
 package com.epam.esm.security;
 
-import com.epam.esm.service.AuditedOrderService;
+import com.epam.esm.service.OrderOwnershipService;
 import com.epam.esm.service.exception.ServiceException;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -12,10 +12,10 @@ public class UserSecurityUtil {
 
     private static final Logger log = LogManager.getLogger(UserSecurityUtil.class);
 
-    private final AuditedOrderService auditedOrderService;
+    private final OrderOwnershipService orderOwnershipService;
 
-    public UserSecurityUtil(AuditedOrderService auditedOrderService) {
-        this.auditedOrderService = auditedOrderService;
+    public UserSecurityUtil(OrderOwnershipService orderOwnershipService) {
+        this.orderOwnershipService = orderOwnershipService;
     }
 
     public boolean authenticateUserId(Authentication authentication, int userId) {
@@ -32,10 +32,8 @@ public class UserSecurityUtil {
     public boolean authenticateOrderId(Authentication authentication, int orderId) {
         try {
             var details = (UserDetailsImpl) authentication.getPrincipal();
-            var order = auditedOrderService.getAuditedOrderById(orderId);
-            var user = order.getUser();
 
-            return user != null && user.getId() == details.getId();
+            return details != null && orderOwnershipService.isOwnedBy(orderId, details.getId());
         } catch (ClassCastException | ServiceException e) {
             log.error("Failed to get user details from authentication");
             return false;
@@ -0,0 +1,126 @@
+package com.epam.esm.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * Claims of tokens whose signature is already verified, keyed by SHA-256 of
+ * the token so that raw tokens are not kept in memory. An entry lives until
+ * expiration of its token. When the cache is full, expired entries are swept,
+ * at most once per second, and new tokens are not cached until there is room
+ * again. Claims are kept as an unmodifiable snapshot and every hit gets its
+ * own copy, so callers can't change what other requests are authorized with.
+ */
+class VerifiedTokenCache {
+
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    });
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entriesByDigest = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    VerifiedTokenCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    Claims get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        var digest = digest(token);
+        var entry = entriesByDigest.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            entriesByDigest.remove(digest, entry);
+            return null;
+        }
+
+        return Jwts.claims(entry.claims);
+    }
+
+    void put(String token, Claims claims) {
+        if (maxSize <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        var now = clock.getAsLong();
+        var entry = new Entry(claims);
+        if (entry.isExpired(now)) {
+            return;
+        }
+        if (entriesByDigest.size() >= maxSize) {
+            sweep(now);
+            if (entriesByDigest.size() >= maxSize) {
+                return;
+            }
+        }
+        entriesByDigest.put(digest(token), entry);
+    }
+
+    int size() {
+        return entriesByDigest.size();
+    }
+
+    private void sweep(long now) {
+        var last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_MILLIS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        entriesByDigest.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private static String digest(String token) {
+        var sha256 = SHA_256.get();
+        sha256.reset();
+        return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class Entry {
+
+        private final Map<String, Object> claims;
+        private final long expiresAt;
+
+        private Entry(Claims claims) {
+            var snapshot = new HashMap<String, Object>();
+            claims.forEach((name, value) -> snapshot.put(name, value instanceof Collection
+                    ? Collections.unmodifiableList(new ArrayList<>((Collection<?>) value))
+                    : value));
+            this.claims = Collections.unmodifiableMap(snapshot);
+            this.expiresAt = claims.getExpiration().getTime();
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.epam.esm.security.config;
+
+import com.epam.esm.security.AccessControlInterceptor;
+import com.epam.esm.security.UserSecurityUtil;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Role;
+
+import java.lang.reflect.Method;
+
+@Configuration
+public class AccessControlConfig {
+
+    /*
+     * Rules are compiled while methods are matched, that is when proxies of
+     * controllers are created at startup. The util is lazy because advisors
+     * are created before the services it depends on.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor accessControlAdvisor(@Lazy UserSecurityUtil userSecurityUtil) {
+        var interceptor = new AccessControlInterceptor(userSecurityUtil);
+        return new StaticMethodMatcherPointcutAdvisor(interceptor) {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return interceptor.register(method);
+            }
+        };
+    }
+}
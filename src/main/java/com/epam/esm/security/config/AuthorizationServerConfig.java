@@ -1,16 +1,18 @@
 package com.epam.esm.security.config;
 
+import com.epam.esm.security.ClaimsUserAuthenticationConverter;
 import com.epam.esm.security.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.jwt.crypto.sign.MacSigner;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
 import org.springframework.security.oauth2.config.annotation.configurers.ClientDetailsServiceConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.AuthorizationServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerEndpointsConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerSecurityConfigurer;
 import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
-import org.springframework.security.oauth2.provider.token.DefaultUserAuthenticationConverter;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 import org.springframework.security.oauth2.provider.token.UserAuthenticationConverter;
 import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
@@ -26,11 +28,18 @@ public class AuthorizationServerConfig extends AuthorizationServerConfigurerAdap
     private final AuthenticationManager authenticationManager;
 
     @Autowired
-    public AuthorizationServerConfig(UserDetailsServiceImpl userDetailsService, AuthenticationManager authenticationManager) {
+    public AuthorizationServerConfig(UserDetailsServiceImpl userDetailsService,
+                                     AuthenticationManager authenticationManager) {
         this.userDetailsService = userDetailsService;
         this.authenticationManager = authenticationManager;
     }
 
+    /*
+     * Tokens of /auth/login and /auth/signup are resolved by AccessTokenServices,
+     * their client is not registered here, so /oauth/token never issues tokens
+     * on its behalf.
+     */
+    @Override
     public void configure(ClientDetailsServiceConfigurer clients) throws Exception {
         clients
                 .inMemory()
@@ -61,9 +70,12 @@ public class AuthorizationServerConfig extends AuthorizationServerConfigurerAdap
 
     @Bean
     public UserAuthenticationConverter userAuthenticationConverter() {
-        var defaultUserAuthenticationConverter = new DefaultUserAuthenticationConverter();
-        defaultUserAuthenticationConverter.setUserDetailsService(userDetailsService);
-        return defaultUserAuthenticationConverter;
+        return new ClaimsUserAuthenticationConverter(userDetailsService);
+    }
+
+    @Bean
+    public SignatureVerifier accessTokenVerifier() {
+        return new MacSigner(SECRET);
     }
 
     @Bean
@@ -1,29 +1,50 @@
 package com.epam.esm.security.config;
 
+import com.epam.esm.model.Role;
+import com.epam.esm.security.AccessTokenServices;
+import com.epam.esm.security.JwtTokenProvider;
+import com.epam.esm.service.TokenRevocationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableResourceServer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
-import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 
 @Configuration
 @EnableResourceServer
 public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
 
-    private final TokenStore tokenStore;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final AccessTokenServices accessTokenServices;
 
     @Autowired
-    public ResourceServerConfig(TokenStore tokenStore) {
-        this.tokenStore = tokenStore;
+    public ResourceServerConfig(JwtTokenProvider jwtTokenProvider, SignatureVerifier accessTokenVerifier,
+                                JwtAccessTokenConverter jwtAccessTokenConverter,
+                                TokenRevocationService tokenRevocationService) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.accessTokenServices = new AccessTokenServices(
+                jwtTokenProvider, accessTokenVerifier, jwtAccessTokenConverter, tokenRevocationService
+        );
     }
 
+    /*
+     * Both first-party and OAuth2 tokens are authenticated here once, there is
+     * no other filter reading the Authorization header.
+     */
     @Override
     public void configure(ResourceServerSecurityConfigurer resources) throws Exception {
-        resources.tokenStore(tokenStore);
+        resources
+                .tokenServices(accessTokenServices)
+                .tokenExtractor(request -> {
+                    var token = jwtTokenProvider.resolveToken(request);
+                    return token == null ? null : new PreAuthenticatedAuthenticationToken(token, "");
+                });
     }
 
     @Override
@@ -34,6 +55,8 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
                 .and().authorizeRequests()
                 .antMatchers("/auth/login/**").anonymous()
                 .antMatchers("/auth/signup/**").anonymous()
+                .antMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                .antMatchers("/actuator/**").hasAuthority(Role.Permission.METRICS_READ.getPermission())
                 .antMatchers(HttpMethod.GET, "/**")
                 .access("#oauth2.hasScope('read') or !#oauth2.isUser()")
                 .antMatchers(HttpMethod.POST, "/**")
@@ -1,8 +1,9 @@
 package com.epam.esm.security.config;
 
+import com.epam.esm.security.PooledPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
@@ -11,10 +12,16 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @EnableWebSecurity
-@EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
-    private static final int BCRYPT_ENCODER_STRENGTH = 12;
+    @Value("${giftshop.security.bcrypt.strength:12}")
+    private int bcryptStrength;
+
+    @Value("${giftshop.security.password-encoder.pool-size:2}")
+    private int passwordEncoderPoolSize;
+
+    @Value("${giftshop.security.password-encoder.queue-capacity:32}")
+    private int passwordEncoderQueueCapacity;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
@@ -29,8 +36,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         return super.authenticationManagerBean();
     }
 
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     protected PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(BCRYPT_ENCODER_STRENGTH);
+        return new PooledPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength), passwordEncoderPoolSize, passwordEncoderQueueCapacity
+        );
     }
 }
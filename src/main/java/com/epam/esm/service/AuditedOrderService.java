@@ -5,8 +5,12 @@ import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.OrderSearchCriteria;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface AuditedOrderService {
 
@@ -20,11 +24,23 @@ public interface AuditedOrderService {
      * @param sortType type of a sort.
      * @param sortBy by witch field to sort.
      * @throws ServiceException when failed to get {@code Order}.
-     * @return List<Order> - orders from persistence layer.
+     * @return Slice<Order> - orders, a {@code Page} in exact pagination mode.
      */
-    List<Order> getAuditedOrdersByUserId(int userId, OrderSearchCriteria searchCriteria, int page, int size,
+    Slice<Order> getAuditedOrdersByUserId(int userId, OrderSearchCriteria searchCriteria, int page, int size,
                                          SortType sortType, SortBy sortBy) throws ServiceException;
 
+    /**
+     * Retrieves first {@code Order} of every user from persistence layer
+     * sorted by cost, using one query for all users.
+     *
+     * @param userIds ids of users which orders to retrieve.
+     * @param limit max amount of {@code Order} to return for every user.
+     * @throws ServiceException when failed to get {@code Order}.
+     * @return Map<Integer, List<Order>> - orders grouped by user id.
+     */
+    Map<Integer, List<Order>> getAuditedOrdersByUserIds(Collection<Integer> userIds, int limit)
+            throws ServiceException;
+
     /**
      * Retrieves data of {@code Order} from
      * persistence layer by it id
@@ -45,17 +61,22 @@ public interface AuditedOrderService {
      * @param sortType type of a sort.
      * @param sortBy by witch field to sort.
      * @throws ServiceException when failed to get {@code Order}.
-     * @return List<Order> - orders from persistence layer.
+     * @return Slice<Order> - orders, a {@code Page} in exact pagination mode.
      */
-    List<Order> getAuditedOrdersByPage(OrderSearchCriteria searchCriteria, int page, int size,
+    Slice<Order> getAuditedOrdersByPage(OrderSearchCriteria searchCriteria, int page, int size,
                                        SortType sortType, SortBy sortBy) throws ServiceException;
 
     /**
-     * Retrieves number of a last page from persistence layer if every page
-     * contains certain number of {@code Order}.
+     * Retrieves every {@code Order} from persistence layer, passing
+     * them on in chunks with their lines initialized, so that only
+     * one chunk is kept in memory.
      *
-     * @param size size of a page.
-     * @return number of a last page.
+     * @param searchCriteria object containing search criteria.
+     * @param sortType type of a sort.
+     * @param sortBy by witch field to sort.
+     * @param consumer receives chunks of {@code Order}.
+     * @throws ServiceException when failed to get {@code Order}.
      */
-    int getLastPage(int size) throws ServiceException;
+    void exportAuditedOrders(OrderSearchCriteria searchCriteria, SortType sortType, SortBy sortBy,
+                             Consumer<List<Order>> consumer) throws ServiceException;
 }
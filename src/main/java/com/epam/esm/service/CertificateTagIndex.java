@@ -0,0 +1,72 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Tag;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.search.criteria.TagMatchMode;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Collection;
+
+/**
+ * This interface provides with ability to find
+ * ids of active {@code GiftCertificate} by names
+ * of their {@code Tag} without joining them.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface CertificateTagIndex {
+
+    /**
+     * Retrieves ids of active {@code GiftCertificate} which have all,
+     * any or none of the tags. Unknown tag names are tags without
+     * certificates.
+     *
+     * @param tagNames names of tags.
+     * @param matchMode how certificates must match the tags.
+     * @return RoaringBitmap - ids of matching certificates, owned by caller.
+     */
+    RoaringBitmap getCertificates(Collection<String> tagNames, TagMatchMode matchMode);
+
+    /**
+     * Adds active {@code GiftCertificate} with it tags to the index or
+     * replaces it previous tags. Inside a transaction the index is
+     * changed after commit.
+     *
+     * @param giftCertificate certificate to index.
+     */
+    void index(GiftCertificate giftCertificate);
+
+    /**
+     * Removes {@code GiftCertificate} from the index. Inside
+     * a transaction the index is changed after commit.
+     *
+     * @param certificateId id of a certificate to remove.
+     */
+    void remove(int certificateId);
+
+    /**
+     * Adds name of a {@code Tag} to the index. Inside
+     * a transaction the index is changed after commit.
+     *
+     * @param tag tag to index.
+     */
+    void indexTag(Tag tag);
+
+    /**
+     * Removes {@code Tag} with all it certificates from the index.
+     * Inside a transaction the index is changed after commit.
+     *
+     * @param tagId id of a tag to remove.
+     */
+    void removeTag(int tagId);
+
+    /**
+     * Builds the index from scratch out of every active
+     * {@code Tag} and {@code GiftCertificate} of persistence layer.
+     *
+     * @throws ServiceException when failed to read tags or certificates.
+     * @return amount of indexed certificates.
+     */
+    int rebuild() throws ServiceException;
+}
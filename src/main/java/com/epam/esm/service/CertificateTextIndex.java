@@ -0,0 +1,52 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.service.exception.ServiceException;
+
+import java.util.List;
+
+/**
+ * This interface provides with ability to search
+ * {@code GiftCertificate} by words of it name and
+ * description without scanning persistence layer.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface CertificateTextIndex {
+
+    /**
+     * Retrieves ids of {@code GiftCertificate} which name or description
+     * contain a word starting with every word of the text, most
+     * relevant first. Words of a name weigh more than of a description.
+     *
+     * @param text words to search.
+     * @return List<Integer> - ids of matching certificates.
+     */
+    List<Integer> search(String text);
+
+    /**
+     * Adds {@code GiftCertificate} to the index or replaces it
+     * previous name and description. Inside a transaction the
+     * index is changed after commit.
+     *
+     * @param giftCertificate certificate to index.
+     */
+    void index(GiftCertificate giftCertificate);
+
+    /**
+     * Removes {@code GiftCertificate} from the index. Inside
+     * a transaction the index is changed after commit.
+     *
+     * @param certificateId id of a certificate to remove.
+     */
+    void remove(int certificateId);
+
+    /**
+     * Builds the index from scratch out of every active
+     * {@code GiftCertificate} of persistence layer.
+     *
+     * @throws ServiceException when failed to read certificates.
+     * @return amount of indexed certificates.
+     */
+    int rebuild() throws ServiceException;
+}
@@ -5,8 +5,11 @@ import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.CertificateSearchCriteria;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
+import org.springframework.data.domain.Slice;
 
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * This interface provides with ability to create
@@ -28,6 +31,27 @@ public interface GiftCertificateService {
      */
     GiftCertificate getGiftCertificateById(int certificateId) throws ServiceException;
 
+    /**
+     * Retrieves only last update date of {@code GiftCertificate}, which
+     * changes with every change of it, so that its version can be checked
+     * without loading it.
+     *
+     * @param certificateId certificate id.
+     * @throws ServiceException when failed to get {@code GiftCertificate}.
+     * @return last update date of {@code GiftCertificate}.
+     */
+    ZonedDateTime getGiftCertificateLastUpdateDate(int certificateId) throws ServiceException;
+
+    /**
+     * Describes current state of {@code GiftCertificate} matching search
+     * criteria by their filter, amount and latest update date.
+     *
+     * @param searchCriteria object containing search criteria, may be {@code null}.
+     * @throws ServiceException when failed to get {@code GiftCertificate}.
+     * @return version which changes whenever any of matching certificates does.
+     */
+    String getGiftCertificatesVersion(CertificateSearchCriteria searchCriteria) throws ServiceException;
+
     /**
      * Retrieves {@code GiftCertificate} from persistence layer.
      *
@@ -37,19 +61,24 @@ public interface GiftCertificateService {
      * @param sortType type of a sort.
      * @param sortBy by witch field to sort.
      * @throws ServiceException when failed to get {@code GiftCertificate}.
-     * @return List<GiftCertificate> - certificates from persistence layer.
+     * @return Slice<GiftCertificate> - certificates, a {@code Page} in exact pagination mode.
      */
-    List<GiftCertificate> getGiftCertificatesByPage(CertificateSearchCriteria searchCriteria, int page, int size,
+    Slice<GiftCertificate> getGiftCertificatesByPage(CertificateSearchCriteria searchCriteria, int page, int size,
                                                     SortType sortType, SortBy sortBy) throws ServiceException;
 
     /**
-     * Retrieves number of pages from persistence layer if every page
-     * contains certain number of {@code GiftCertificate}.
+     * Retrieves every {@code GiftCertificate} matching search criteria
+     * from persistence layer, passing them on in chunks with their
+     * tags initialized, so that only one chunk is kept in memory.
      *
-     * @param size size of a page.
-     * @return number of pages.
+     * @param searchCriteria object containing search criteria.
+     * @param sortType type of a sort.
+     * @param sortBy by witch field to sort, relevance is not supported.
+     * @param consumer receives chunks of {@code GiftCertificate}.
+     * @throws ServiceException when failed to get {@code GiftCertificate}.
      */
-    int getLastPage(int size) throws ServiceException;
+    void exportGiftCertificates(CertificateSearchCriteria searchCriteria, SortType sortType, SortBy sortBy,
+                                Consumer<List<GiftCertificate>> consumer) throws ServiceException;
 
     /**
      * Adds new {@code GiftCertificate} to persistence layer.
@@ -0,0 +1,25 @@
+package com.epam.esm.service;
+
+import com.epam.esm.service.exception.ServiceException;
+
+/**
+ * This interface provides with ability to build
+ * {@code OrderLine} snapshots for orders which were
+ * created before snapshots were written.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface OrderLineBackfillService {
+
+    /**
+     * Builds {@code OrderLine} snapshots of every order without them
+     * from the certificate revisions in effect at order creation time.
+     * Orders are processed in chunks, each chunk in its own transaction,
+     * so the job can be interrupted and started again.
+     *
+     * @param chunkSize max amount of orders processed in one transaction.
+     * @throws ServiceException when failed to build snapshots.
+     * @return amount of orders which got snapshots.
+     */
+    int backfillOrderLines(int chunkSize) throws ServiceException;
+}
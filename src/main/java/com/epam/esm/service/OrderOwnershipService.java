@@ -0,0 +1,34 @@
+package com.epam.esm.service;
+
+import com.epam.esm.service.exception.ServiceException;
+
+/**
+ * This interface provides with ability to check
+ * which user an {@code Order} belongs to without
+ * loading the order.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface OrderOwnershipService {
+
+    /**
+     * Checks if {@code Order} with id which equals
+     * to {@code int orderId} belongs to a user with
+     * id which equals to {@code int userId}.
+     *
+     * @param orderId order id.
+     * @param userId user id.
+     * @throws ServiceException when failed to get owner of {@code Order}.
+     * @return true if the order exists and belongs to the user.
+     */
+    boolean isOwnedBy(int orderId, int userId) throws ServiceException;
+
+    /**
+     * Drops cached owner of an {@code Order} which is
+     * deleted, once more after commit of the current
+     * transaction.
+     *
+     * @param orderId order id.
+     */
+    void evictOwner(int orderId);
+}
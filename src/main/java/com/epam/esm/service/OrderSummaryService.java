@@ -0,0 +1,52 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.Order;
+import com.epam.esm.model.Tag;
+import com.epam.esm.service.exception.ServiceException;
+
+/**
+ * This interface provides with ability to keep
+ * per user summaries of active {@code Order}: total
+ * cost and amount of purchases of every tag.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface OrderSummaryService {
+
+    /**
+     * Get the most purchased tag of a user with the highest
+     * total cost of active orders.
+     *
+     * @throws ServiceException when failed to read summaries.
+     * @return {@link Tag} or null when there are no orders.
+     */
+    Tag getMostFrequentTagFromHighestCostUser() throws ServiceException;
+
+    /**
+     * Adds cost and tags of a new {@code Order} to summaries
+     * of it user in the current transaction.
+     *
+     * @param order order with user and order lines.
+     */
+    void addOrder(Order order);
+
+    /**
+     * Subtracts cost and tags of a deleted {@code Order} from
+     * summaries of it user in the current transaction.
+     *
+     * @param order order with user and order lines.
+     */
+    void removeOrder(Order order);
+
+    /**
+     * Recomputes summaries from scratch out of active orders and
+     * their {@code OrderLine}, compares them with stored summaries
+     * and replaces stored ones. Orders are read and summaries are
+     * replaced in one serializable transaction, so orders written
+     * meanwhile wait for it and are never lost.
+     *
+     * @throws ServiceException when failed to read orders or write summaries.
+     * @return amount of stored summaries which did not match.
+     */
+    int rebuildSummaries() throws ServiceException;
+}
@@ -0,0 +1,79 @@
+package com.epam.esm.service;
+
+import com.epam.esm.repository.CollectionVersion;
+import com.epam.esm.repository.KeysetRepository;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.search.criteria.SortingSearchCriteria;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * This interface provides with ability to read
+ * a page of entities together with its pagination
+ * metadata.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface PaginationService {
+
+    /**
+     * Retrieves a page of entities matching specification. In
+     * {@code EXACT} mode returned slice is a {@code Page} which total
+     * is counted with the same specification and cached until next
+     * write of the entity. In {@code CHEAP} mode nothing is counted.
+     *
+     * @param repository repository of the entities.
+     * @param entityType type of the entities.
+     * @param specification filter of the entities.
+     * @param filterKey normalized filter, entities with equal keys must have equal counts.
+     * @param searchCriteria sorting, cursor and pagination mode.
+     * @param page number of a page, starting from 1.
+     * @param size max amount of entities to return.
+     * @throws ServiceException when cursor of the search criteria is malformed.
+     * @return Slice<T> - entities from persistence layer.
+     */
+    <T> Slice<T> getPage(KeysetRepository<T, Integer> repository, Class<T> entityType,
+                         Specification<T> specification, String filterKey, SortingSearchCriteria searchCriteria,
+                         int page, int size) throws ServiceException;
+
+    /**
+     * Retrieves a page of entities matching specification when their
+     * total is known by caller. In {@code EXACT} mode returned slice
+     * is a {@code Page} of the total, nothing is counted in any mode.
+     *
+     * @param repository repository of the entities.
+     * @param specification filter of the entities.
+     * @param searchCriteria sorting, cursor and pagination mode.
+     * @param page number of a page, starting from 1.
+     * @param size max amount of entities to return.
+     * @param total amount of entities matching specification.
+     * @throws ServiceException when cursor of the search criteria is malformed.
+     * @return Slice<T> - entities from persistence layer.
+     */
+    <T> Slice<T> getPage(KeysetRepository<T, Integer> repository, Specification<T> specification,
+                         SortingSearchCriteria searchCriteria, int page, int size, long total)
+            throws ServiceException;
+
+    /**
+     * Retrieves version of entities matching specification. Version
+     * is cached until next write of the entity and its count is reused
+     * as the total of pages with the same filter.
+     *
+     * @param repository repository of the entities.
+     * @param entityType type of the entities.
+     * @param specification filter of the entities.
+     * @param filterKey normalized filter, entities with equal keys must have equal versions.
+     * @param versionAttribute attribute which grows with every change of an entity.
+     * @return CollectionVersion - version of matching entities.
+     */
+    <T> CollectionVersion getVersion(KeysetRepository<T, Integer> repository, Class<T> entityType,
+                                     Specification<T> specification, String filterKey, String versionAttribute);
+
+    /**
+     * Evicts cached counts and versions of an entity. When called inside
+     * a transaction they are evicted once more after commit.
+     *
+     * @param entityType type of written entity.
+     */
+    void evictCounts(Class<?> entityType);
+}
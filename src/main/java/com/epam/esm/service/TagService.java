@@ -5,8 +5,10 @@ import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.TagSearchCriteria;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * This interface provides with ability to create
@@ -28,6 +30,24 @@ public interface TagService {
      */
     Tag getTagById(int tagId) throws ServiceException;
 
+    /**
+     * Checks that {@code Tag} exists without loading it.
+     * Tags never change, so a tag which exists is the same.
+     *
+     * @param tagId tag id.
+     * @throws ServiceException when {@code Tag} does not exist.
+     */
+    void checkTagExists(int tagId) throws ServiceException;
+
+    /**
+     * Describes current state of all {@code Tag}
+     * by their amount and greatest id.
+     *
+     * @throws ServiceException when failed to get {@code Tag}.
+     * @return version which changes whenever a tag is added or deleted.
+     */
+    String getTagsVersion() throws ServiceException;
+
     /**
      * Retrieves {@code Tag} from persistence layer.
      *
@@ -37,19 +57,24 @@ public interface TagService {
      * @param sortType type of a sort.
      * @param sortBy by witch field to sort.
      * @throws ServiceException when failed to get {@code Tag}.
-     * @return List<Tag> - tags from persistence layer.
+     * @return Slice<Tag> - tags, a {@code Page} in exact pagination mode.
      */
-    List<Tag> getAllTagsByPage(TagSearchCriteria searchCriteria, int page, int size,
+    Slice<Tag> getAllTagsByPage(TagSearchCriteria searchCriteria, int page, int size,
                                SortType sortType, SortBy sortBy) throws ServiceException;
 
     /**
-     * Retrieves number of pages from persistence layer if every page
-     * contains certain number of {@code Tag}.
+     * Retrieves every {@code Tag} from persistence layer,
+     * passing them on in chunks, so that only one chunk
+     * is kept in memory.
      *
-     * @param size size of a page.
-     * @return number of pages.
+     * @param searchCriteria object containing search criteria.
+     * @param sortType type of a sort.
+     * @param sortBy by witch field to sort.
+     * @param consumer receives chunks of {@code Tag}.
+     * @throws ServiceException when failed to get {@code Tag}.
      */
-    int getLastPage(int size) throws ServiceException;
+    void exportTags(TagSearchCriteria searchCriteria, SortType sortType, SortBy sortBy,
+                    Consumer<List<Tag>> consumer) throws ServiceException;
 
     /**
      * Adds new {@code Tag} to persistence layer.
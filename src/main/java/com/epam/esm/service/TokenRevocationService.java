@@ -0,0 +1,44 @@
+package com.epam.esm.service;
+
+import com.epam.esm.service.exception.ServiceException;
+
+import java.time.ZonedDateTime;
+
+/**
+ * This interface provides with ability to revoke
+ * issued tokens before they expire and to check
+ * if a token is revoked.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface TokenRevocationService {
+
+    /**
+     * Revokes token which id equals to {@code String tokenId}.
+     *
+     * @param tokenId id of a token.
+     * @param expiresAt moment when the token expires, after
+     *                  it the revocation is pruned.
+     * @throws ServiceException when failed to save the revocation.
+     */
+    void revoke(String tokenId, ZonedDateTime expiresAt) throws ServiceException;
+
+    /**
+     * Checks if token which id equals to {@code String tokenId}
+     * is revoked, without a query to data source.
+     *
+     * @param tokenId id of a token.
+     * @return true if the token is revoked and not expired yet.
+     */
+    boolean isRevoked(String tokenId);
+
+    /**
+     * Prunes expired revocations and reloads
+     * the rest, including ones made by other
+     * instances of the application.
+     *
+     * @throws ServiceException when failed to load revocations.
+     * @return amount of loaded revocations.
+     */
+    int refresh() throws ServiceException;
+}
@@ -0,0 +1,33 @@
+package com.epam.esm.service;
+
+import com.epam.esm.repository.UserPrincipal;
+import com.epam.esm.service.exception.ServiceException;
+
+/**
+ * This interface provides with ability to get
+ * {@code UserPrincipal} of users to authenticate
+ * them, keeping recently used ones in a cache.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface UserPrincipalService {
+
+    /**
+     * Retrieves {@code UserPrincipal} of a user
+     * which login equals to {@code String login}.
+     *
+     * @param login user login.
+     * @throws ServiceException when failed to get {@code UserPrincipal}.
+     * @return {@code UserPrincipal}.
+     */
+    UserPrincipal getPrincipalByLogin(String login) throws ServiceException;
+
+    /**
+     * Drops cached {@code UserPrincipal} of a user which
+     * is added, changed or deactivated, once more after
+     * commit of the current transaction.
+     *
+     * @param login user login.
+     */
+    void evictPrincipal(String login);
+}
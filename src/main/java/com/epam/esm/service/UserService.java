@@ -5,8 +5,7 @@ import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.UserSearchCriteria;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-
-import java.util.List;
+import org.springframework.data.domain.Slice;
 
 /**
  * This interface provides with ability to create
@@ -48,20 +47,11 @@ public interface UserService {
      * @param sortType type of a sort.
      * @param sortBy by witch field to sort.
      * @throws ServiceException when failed to get {@code User}.
-     * @return List<User> - users from persistence layer.
+     * @return Slice<User> - users, a {@code Page} in exact pagination mode.
      */
-    List<User> getAllUsersByPage(UserSearchCriteria searchCriteria, int page, int size,
+    Slice<User> getAllUsersByPage(UserSearchCriteria searchCriteria, int page, int size,
                                  SortType sortType, SortBy sortBy) throws ServiceException;
 
-    /**
-     * Retrieves number of pages from persistence layer if every page
-     * contains certain number of {@code User}.
-     *
-     * @param size size of a page.
-     * @return number of pages.
-     */
-    int getLastPage(int size) throws ServiceException;
-
     /**
      * Adds new {@code User} to data source.
      *
@@ -70,4 +60,15 @@ public interface UserService {
      * @return added {@code User} from data source.
      */
     User addUser(User user)throws ServiceException;
+
+    /**
+     * Replaces password hash of {@code User} which
+     * login equals to {@code String login}.
+     *
+     * @param login user login.
+     * @param encodedPassword new password hash.
+     * @throws ServiceException when failed to update {@code User}.
+     * @return updated {@code User}.
+     */
+    User updatePassword(String login, String encodedPassword) throws ServiceException;
 }
@@ -0,0 +1,82 @@
+package com.epam.esm.service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of strings answering "definitely absent" or
+ * "maybe present" with a few bit probes. Strings
+ * can not be removed, the filter is rebuilt instead.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions number of strings the filter is sized for.
+     * @param falsePositiveRate rate of "maybe present" answers for absent strings at that size.
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        var insertions = Math.max(1, expectedInsertions);
+        var optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(Long.SIZE, optimalBits);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + Long.SIZE - 1) / Long.SIZE));
+    }
+
+    public void put(String value) {
+        var hash = hash(value);
+        var first = (int) hash;
+        var second = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            var bit = index(first + i * second);
+            var word = (int) (bit / Long.SIZE);
+            var mask = 1L << (bit % Long.SIZE);
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        var hash = hash(value);
+        var first = (int) hash;
+        var second = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            var bit = index(first + i * second);
+            if ((bits.get((int) (bit / Long.SIZE)) & (1L << (bit % Long.SIZE))) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /* 64-bit FNV-1a over UTF-8 bytes, finished with the murmur3 mixer */
+    private static long hash(String value) {
+        var hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
@@ -12,6 +12,7 @@ public enum ErrorCodeEnum {
     FAILED_TO_DELETE_TAG(50702),
     FAILED_TO_ADD_TAG(50802),
     FAILED_TO_ADD_USER(50777),
+    FAILED_TO_UPDATE_USER(50403),
     FAILED_TO_RETRIEVE_ORDER(50604),
     FAILED_TO_ADD_ORDER(50609),
     INVALID_INPUT(509),
@@ -22,7 +23,9 @@ public enum ErrorCodeEnum {
     USER_VALIDATION_ERROR(51202),
     FAILED_TO_RETRIEVE_USER(50603),
     FAILED_TO_RETRIEVE_PAGE(50509),
-    JWT_AUTHENTICATION_ERROR(70501);
+    JWT_AUTHENTICATION_ERROR(70501),
+    AUTHENTICATION_OVERLOADED(70503),
+    AUTHENTICATION_THROTTLED(70429);
 
     private final int code;
 
@@ -1,55 +1,63 @@
 package com.epam.esm.service.impl;
 
-import com.epam.esm.model.GiftCertificate;
 import com.epam.esm.model.Order;
-import com.epam.esm.repository.GiftCertificateRepository;
 import com.epam.esm.repository.OrderRepository;
 import com.epam.esm.service.AuditedOrderService;
+import com.epam.esm.service.PaginationService;
 import com.epam.esm.service.exception.ErrorCodeEnum;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.OrderSearchCriteria;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
 import com.epam.esm.service.util.OrderValidator;
-import com.epam.esm.service.util.PaginationUtil;
 import com.epam.esm.service.util.PaginationValidator;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.PersistenceException;
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class AuditedOrderServiceImpl implements AuditedOrderService {
 
     private final static Logger log = LogManager.getLogger(AuditedOrderServiceImpl.class);
 
+    private static final String USER_FILTER = "user=";
+    private static final String ORDER_LINES = "orderLines";
+
     private final OrderRepository orderRepository;
-    private final GiftCertificateRepository certificateRepository;
     private final OrderValidator orderValidator;
     private final PaginationValidator paginationValidator;
+    private final PaginationService paginationService;
+
+    @Value("${giftshop.export.chunk-size:100}")
+    private int exportChunkSize;
 
     @Autowired
-    public AuditedOrderServiceImpl(OrderRepository orderRepository, GiftCertificateRepository certificateRepository,
-                                  OrderValidator orderValidator, PaginationValidator paginationValidator) {
+    public AuditedOrderServiceImpl(OrderRepository orderRepository, OrderValidator orderValidator,
+                                  PaginationValidator paginationValidator, PaginationService paginationService) {
         this.orderRepository = orderRepository;
-        this.certificateRepository = certificateRepository;
         this.orderValidator = orderValidator;
         this.paginationValidator = paginationValidator;
+        this.paginationService = paginationService;
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public List<Order> getAuditedOrdersByUserId(int userId, OrderSearchCriteria searchCriteria, int page, int size,
-                                                SortType sortType, SortBy sortBy) throws ServiceException {
+    @Transactional(readOnly = true)
+    public Slice<Order> getAuditedOrdersByUserId(int userId, OrderSearchCriteria searchCriteria, int page, int size,
+                                                 SortType sortType, SortBy sortBy) throws ServiceException {
         paginationValidator.validatePagination(page, size);
 
         if (searchCriteria == null) {
@@ -60,10 +68,13 @@ public class AuditedOrderServiceImpl implements AuditedOrderService {
         orderValidator.validateOrderSearchCriteria(searchCriteria);
 
         try {
-            var orders = orderRepository.findAll(
-                    equalsToUserID(userId), PageRequest.of(--page, size, searchCriteria.getSort())
-            ).getContent();
-            orders.forEach(this::setRevisedCertificatesToOrder);
+            var orders = paginationService.getPage(
+                    orderRepository, Order.class, equalsToUserID(userId),
+                    USER_FILTER + userId + searchCriteria.getFilterKey(), searchCriteria, page, size
+            );
+            if (searchCriteria.isEmbedded(ORDER_LINES)) {
+                initializeOrderLines(orders.getContent());
+            }
 
             return orders;
         } catch (DataAccessException e) {
@@ -81,6 +92,28 @@ public class AuditedOrderServiceImpl implements AuditedOrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, List<Order>> getAuditedOrdersByUserIds(Collection<Integer> userIds, int limit)
+            throws ServiceException {
+        paginationValidator.validateSize(limit);
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            var orders = orderRepository.findFirstOrdersByUserIds(userIds, limit);
+            initializeOrderLines(orders);
+
+            return orders.stream().collect(Collectors.groupingBy(o -> o.getUser().getId()));
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Failed to get orders by user ids = " + userIds);
+            throw new ServiceException("Failed to get orders by user ids = " + userIds,
+                    ErrorCodeEnum.FAILED_TO_RETRIEVE_ORDER);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Order getAuditedOrderById(int orderId) throws ServiceException {
         orderValidator.validateId(orderId);
 
@@ -92,7 +125,7 @@ public class AuditedOrderServiceImpl implements AuditedOrderService {
                 );
             });
 
-            setRevisedCertificatesToOrder(order);
+            initializeOrderLines(List.of(order));
 
             return order;
         } catch (DataAccessException | IllegalArgumentException e) {
@@ -103,27 +136,14 @@ public class AuditedOrderServiceImpl implements AuditedOrderService {
         }
     }
 
-    private void setRevisedCertificatesToOrder(Order order) {
-        var certificates = new HashSet<GiftCertificate>();
-
-        order.getGiftCertificateList().forEach(c -> {
-            var revisions = certificateRepository.findRevisions(c.getId());
-            if (revisions.getContent().stream().findFirst().isPresent()) {
-                certificates.add(
-                        revisions
-                        .getContent()
-                        .stream().findFirst()
-                        .get()
-                        .getEntity()
-                );
-            }
-        });
-        order.setGiftCertificateList(certificates);
+    private void initializeOrderLines(List<Order> orders) {
+        orders.forEach(o -> Hibernate.initialize(o.getOrderLines()));
     }
 
     @Override
-    public List<Order> getAuditedOrdersByPage(OrderSearchCriteria searchCriteria, int page, int size,
-                                              SortType sortType, SortBy sortBy) throws ServiceException {
+    @Transactional(readOnly = true)
+    public Slice<Order> getAuditedOrdersByPage(OrderSearchCriteria searchCriteria, int page, int size,
+                                               SortType sortType, SortBy sortBy) throws ServiceException {
         paginationValidator.validatePagination(page, size);
 
         if (searchCriteria == null) {
@@ -134,7 +154,14 @@ public class AuditedOrderServiceImpl implements AuditedOrderService {
         orderValidator.validateOrderSearchCriteria(searchCriteria);
 
         try {
-            return orderRepository.findAll(PageRequest.of(--page, size, searchCriteria.getSort())).getContent();
+            var orders = paginationService.getPage(
+                    orderRepository, Order.class, null, searchCriteria.getFilterKey(), searchCriteria, page, size
+            );
+            if (searchCriteria.isEmbedded(ORDER_LINES)) {
+                initializeOrderLines(orders.getContent());
+            }
+
+            return orders;
         } catch (DataAccessException e) {
             log.error("Failed to get orders by page");
             throw new ServiceException("Failed to get orders by page", ErrorCodeEnum.FAILED_TO_RETRIEVE_ORDER);
@@ -142,13 +169,24 @@ public class AuditedOrderServiceImpl implements AuditedOrderService {
     }
 
     @Override
-    public int getLastPage(int size) throws ServiceException {
-        paginationValidator.validateSize(size);
+    @Transactional(readOnly = true)
+    public void exportAuditedOrders(OrderSearchCriteria searchCriteria, SortType sortType, SortBy sortBy,
+                                    Consumer<List<Order>> consumer) throws ServiceException {
+        if (searchCriteria == null) {
+            searchCriteria = OrderSearchCriteria.getDefaultOrderRequestBody();
+        }
+        searchCriteria.setSortType(sortType);
+        searchCriteria.setSortBy(sortBy);
+        orderValidator.validateOrderSearchCriteria(searchCriteria);
+
         try {
-            return PaginationUtil.getLastPage((int) orderRepository.count(), size);
+            orderRepository.scroll(null, searchCriteria.getSort(), exportChunkSize, orders -> {
+                initializeOrderLines(orders);
+                consumer.accept(orders);
+            });
         } catch (DataAccessException | PersistenceException e) {
-            log.error("Failed to get last page");
-            throw new ServiceException("Failed to get last page", ErrorCodeEnum.FAILED_TO_RETRIEVE_PAGE);
+            log.error("Failed to export orders");
+            throw new ServiceException("Failed to export orders", ErrorCodeEnum.FAILED_TO_RETRIEVE_ORDER);
         }
     }
 }
@@ -0,0 +1,203 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Tag;
+import com.epam.esm.repository.GiftCertificateRepository;
+import com.epam.esm.repository.TagRepository;
+import com.epam.esm.service.CertificateTagIndex;
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.search.criteria.TagMatchMode;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.PersistenceException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class CertificateTagIndexImpl implements CertificateTagIndex {
+
+    private final static Logger log = LogManager.getLogger(CertificateTagIndexImpl.class);
+
+    private final GiftCertificateRepository certificateRepository;
+    private final TagRepository tagRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexUpdates updates = new IndexUpdates();
+
+    private Bitmaps bitmaps = new Bitmaps();
+
+    @Value("${giftshop.search.tag-index.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public CertificateTagIndexImpl(GiftCertificateRepository certificateRepository, TagRepository tagRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.certificateRepository = certificateRepository;
+        this.tagRepository = tagRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            log.info("Indexed tags of " + rebuild() + " certificates");
+        } catch (ServiceException e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    @Override
+    public RoaringBitmap getCertificates(Collection<String> tagNames, TagMatchMode matchMode) {
+        return updates.read(() -> {
+            var tagged = tagNames.stream()
+                    .distinct()
+                    .map(bitmaps::getCertificates)
+                    .toArray(RoaringBitmap[]::new);
+            switch (matchMode) {
+                case ALL:
+                    return tagged.length == 0 ? bitmaps.active.clone() : FastAggregation.and(tagged);
+                case NONE:
+                    return RoaringBitmap.andNot(bitmaps.active, FastAggregation.or(tagged));
+                default:
+                    return FastAggregation.or(tagged);
+            }
+        });
+    }
+
+    @Override
+    public void index(GiftCertificate giftCertificate) {
+        var id = giftCertificate.getId();
+        var tagIds = giftCertificate.getTags().stream().mapToInt(Tag::getId).toArray();
+        updates.afterCommit(() -> bitmaps.putCertificate(id, tagIds));
+    }
+
+    @Override
+    public void remove(int certificateId) {
+        updates.afterCommit(() -> bitmaps.removeCertificate(certificateId));
+    }
+
+    @Override
+    public void indexTag(Tag tag) {
+        var id = tag.getId();
+        var name = tag.getName();
+        updates.afterCommit(() -> bitmaps.putTag(id, name));
+    }
+
+    @Override
+    public void removeTag(int tagId) {
+        updates.afterCommit(() -> bitmaps.removeTag(tagId));
+    }
+
+    @Override
+    public int rebuild() throws ServiceException {
+        var newBitmaps = new Bitmaps();
+
+        updates.beginRebuild();
+        var lastId = 0;
+        try {
+            tagRepository.findAll().forEach(t -> newBitmaps.putTag(t.getId(), t.getName()));
+            while (true) {
+                var afterId = lastId;
+                var chunkLastId = transactionTemplate.execute(status -> indexChunk(newBitmaps, afterId));
+                if (chunkLastId == null) {
+                    break;
+                }
+                lastId = chunkLastId;
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            updates.cancelRebuild();
+            log.error("Failed to index tags of certificates after id = " + lastId);
+            throw new ServiceException("Failed to index tags of certificates after id = " + lastId,
+                    ErrorCodeEnum.FAILED_TO_RETRIEVE_CERTIFICATE);
+        }
+        newBitmaps.runOptimize();
+
+        updates.finishRebuild(() -> bitmaps = newBitmaps);
+
+        return newBitmaps.active.getCardinality();
+    }
+
+    private Integer indexChunk(Bitmaps newBitmaps, int lastId) {
+        var chunk = certificateRepository.findSlice(
+                idGreaterThan(lastId), PageRequest.of(0, chunkSize, Sort.by("id"))
+        ).getContent();
+        for (GiftCertificate certificate : chunk) {
+            newBitmaps.putCertificate(
+                    certificate.getId(), certificate.getTags().stream().mapToInt(Tag::getId).toArray()
+            );
+        }
+
+        return chunk.isEmpty() ? null : chunk.get(chunk.size() - 1).getId();
+    }
+
+    private Specification<GiftCertificate> idGreaterThan(int id) {
+        return (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+    }
+
+    private static class Bitmaps {
+
+        private final Map<String, Integer> tagIds = new HashMap<>();
+        private final Map<Integer, RoaringBitmap> certificatesByTag = new HashMap<>();
+        private final Map<Integer, int[]> tagsByCertificate = new HashMap<>();
+        private final RoaringBitmap active = new RoaringBitmap();
+
+        private RoaringBitmap getCertificates(String tagName) {
+            var tagId = tagIds.get(tagName);
+            var certificates = tagId == null ? null : certificatesByTag.get(tagId);
+            return certificates == null ? new RoaringBitmap() : certificates;
+        }
+
+        private void putCertificate(int id, int[] tags) {
+            removeCertificate(id);
+            active.add(id);
+            for (int tagId : tags) {
+                certificatesByTag.computeIfAbsent(tagId, t -> new RoaringBitmap()).add(id);
+            }
+            tagsByCertificate.put(id, tags);
+        }
+
+        private void removeCertificate(int id) {
+            active.remove(id);
+            var tags = tagsByCertificate.remove(id);
+            if (tags == null) {
+                return;
+            }
+            for (int tagId : tags) {
+                var certificates = certificatesByTag.get(tagId);
+                if (certificates != null) {
+                    certificates.remove(id);
+                }
+            }
+        }
+
+        private void putTag(int id, String name) {
+            tagIds.put(name, id);
+        }
+
+        private void removeTag(int id) {
+            tagIds.values().removeIf(tagId -> tagId == id);
+            certificatesByTag.remove(id);
+        }
+
+        private void runOptimize() {
+            certificatesByTag.values().forEach(RoaringBitmap::runOptimize);
+            active.runOptimize();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.repository.GiftCertificateRepository;
+import com.epam.esm.service.CertificateTextIndex;
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PersistenceException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+public class CertificateTextIndexImpl implements CertificateTextIndex {
+
+    private final static Logger log = LogManager.getLogger(CertificateTextIndexImpl.class);
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final GiftCertificateRepository certificateRepository;
+    private final IndexUpdates updates = new IndexUpdates();
+
+    /* word -> (certificate id -> weighted frequency of the word) */
+    private NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    /* certificate id -> words of the certificate */
+    private Map<Integer, Set<String>> documents = new HashMap<>();
+
+    @Value("${giftshop.search.text-index.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public CertificateTextIndexImpl(GiftCertificateRepository certificateRepository) {
+        this.certificateRepository = certificateRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            log.info("Indexed text of " + rebuild() + " certificates");
+        } catch (ServiceException e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Integer> search(String text) {
+        var words = tokenize(text).stream().distinct().collect(Collectors.toList());
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        return updates.read(() -> {
+            Map<Integer, Double> scores = null;
+            for (String word : words) {
+                var wordScores = scoreWord(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((id, score) -> score + wordScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.<Integer>of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private Map<Integer, Double> scoreWord(String prefix) {
+        var scores = new HashMap<Integer, Double>();
+        var matches = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        for (var frequencies : matches.values()) {
+            var idf = Math.log(1 + (double) documents.size() / frequencies.size());
+            frequencies.forEach((id, frequency) -> scores.merge(id, frequency * idf, Double::sum));
+        }
+
+        return scores;
+    }
+
+    @Override
+    public void index(GiftCertificate giftCertificate) {
+        var id = giftCertificate.getId();
+        var name = giftCertificate.getName();
+        var description = giftCertificate.getDescription();
+        updates.afterCommit(() -> put(postings, documents, id, name, description));
+    }
+
+    @Override
+    public void remove(int certificateId) {
+        updates.afterCommit(() -> remove(postings, documents, certificateId));
+    }
+
+    @Override
+    public int rebuild() throws ServiceException {
+        NavigableMap<String, Map<Integer, Integer>> newPostings = new TreeMap<>();
+        Map<Integer, Set<String>> newDocuments = new HashMap<>();
+
+        updates.beginRebuild();
+        var lastId = 0;
+        try {
+            Slice<GiftCertificate> chunk;
+            do {
+                chunk = certificateRepository.findSlice(
+                        idGreaterThan(lastId), PageRequest.of(0, chunkSize, Sort.by("id"))
+                );
+                for (GiftCertificate certificate : chunk) {
+                    put(newPostings, newDocuments,
+                            certificate.getId(), certificate.getName(), certificate.getDescription());
+                    lastId = certificate.getId();
+                }
+            } while (chunk.hasNext());
+        } catch (DataAccessException | PersistenceException e) {
+            updates.cancelRebuild();
+            log.error("Failed to index certificates after id = " + lastId);
+            throw new ServiceException("Failed to index certificates after id = " + lastId,
+                    ErrorCodeEnum.FAILED_TO_RETRIEVE_CERTIFICATE);
+        }
+
+        updates.finishRebuild(() -> {
+            postings = newPostings;
+            documents = newDocuments;
+        });
+
+        return newDocuments.size();
+    }
+
+    private Specification<GiftCertificate> idGreaterThan(int id) {
+        return (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+    }
+
+    private static void put(NavigableMap<String, Map<Integer, Integer>> postings, Map<Integer, Set<String>> documents,
+                            int id, String name, String description) {
+        remove(postings, documents, id);
+
+        var frequencies = new HashMap<String, Integer>();
+        tokenize(name).forEach(word -> frequencies.merge(word, NAME_WEIGHT, Integer::sum));
+        tokenize(description).forEach(word -> frequencies.merge(word, DESCRIPTION_WEIGHT, Integer::sum));
+        frequencies.forEach((word, frequency) ->
+                postings.computeIfAbsent(word, w -> new HashMap<>()).put(id, frequency)
+        );
+        documents.put(id, frequencies.keySet());
+    }
+
+    private static void remove(NavigableMap<String, Map<Integer, Integer>> postings,
+                               Map<Integer, Set<String>> documents, int id) {
+        var words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            var frequencies = postings.get(word);
+            frequencies.remove(id);
+            if (frequencies.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        return Arrays.stream(WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
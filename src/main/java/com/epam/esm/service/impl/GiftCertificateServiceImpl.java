@@ -2,44 +2,86 @@ package com.epam.esm.service.impl;
 
 import com.epam.esm.model.GiftCertificate;
 import com.epam.esm.repository.GiftCertificateRepository;
+import com.epam.esm.service.CertificateTagIndex;
+import com.epam.esm.service.CertificateTextIndex;
 import com.epam.esm.service.GiftCertificateService;
+import com.epam.esm.service.PaginationService;
 import com.epam.esm.service.exception.ErrorCodeEnum;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.CertificateSearchCriteria;
+import com.epam.esm.service.search.cursor.KeysetCursor;
+import com.epam.esm.service.search.pagination.PaginationMode;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
 import com.epam.esm.service.util.CertificateValidator;
-import com.epam.esm.service.util.PaginationUtil;
 import com.epam.esm.service.util.PaginationValidator;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import org.hibernate.Hibernate;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceException;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class GiftCertificateServiceImpl implements GiftCertificateService {
 
     private final static Logger log = LogManager.getLogger(GiftCertificateServiceImpl.class);
 
+    private static final String LAST_UPDATE_DATE = "lastUpdateDate";
+    private static final String TAGS = "tags";
+    private static final int ID_FETCH_SIZE = 1000;
+
     private final GiftCertificateRepository certificateRepository;
     private final CertificateValidator certificateValidator;
     private final PaginationValidator paginationValidator;
+    private final PaginationService paginationService;
+    private final CertificateTextIndex textIndex;
+    private final CertificateTagIndex tagIndex;
+
+    @Value("${giftshop.export.chunk-size:100}")
+    private int exportChunkSize;
+
+    @Value("${giftshop.search.max-id-predicate:1000}")
+    private int maxIdPredicate;
+
+    @Value("${giftshop.search.max-matching-offset:1000}")
+    private int maxMatchingOffset;
 
     @Autowired
     public GiftCertificateServiceImpl(GiftCertificateRepository certificateRepository,
                                       CertificateValidator certificateValidator,
-                                      PaginationValidator paginationValidator) {
+                                      PaginationValidator paginationValidator,
+                                      PaginationService paginationService,
+                                      CertificateTextIndex textIndex,
+                                      CertificateTagIndex tagIndex) {
         this.certificateRepository = certificateRepository;
         this.certificateValidator = certificateValidator;
         this.paginationValidator = paginationValidator;
+        this.paginationService = paginationService;
+        this.textIndex = textIndex;
+        this.tagIndex = tagIndex;
     }
 
     @Override
@@ -62,8 +104,51 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     }
 
     @Override
-    public List<GiftCertificate> getGiftCertificatesByPage(CertificateSearchCriteria searchCriteria, int page, int size,
-                                                           SortType sortType, SortBy sortBy) throws ServiceException {
+    public ZonedDateTime getGiftCertificateLastUpdateDate(int certificateId) throws ServiceException {
+        certificateValidator.validateId(certificateId);
+        try {
+            return certificateRepository.findLastUpdateDateById(certificateId).orElseThrow(() -> {
+                log.error("Failed to get certificate by it id: " + certificateId);
+                return new ServiceException(
+                        "Failed to get certificate by it id: " + certificateId,
+                        ErrorCodeEnum.FAILED_TO_RETRIEVE_CERTIFICATE
+                );
+            });
+        } catch (DataAccessException e) {
+            log.error("Following exception was thrown in getGiftCertificateLastUpdateDate(): " + e.getMessage());
+            throw new ServiceException(
+                    "Failed to get certificate by it id: " + certificateId, ErrorCodeEnum.FAILED_TO_RETRIEVE_CERTIFICATE
+            );
+        }
+    }
+
+    @Override
+    public String getGiftCertificatesVersion(CertificateSearchCriteria searchCriteria) throws ServiceException {
+        if (searchCriteria == null) {
+            searchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
+        }
+        try {
+            // A filtered set changes only together with some certificate, the index gives its size.
+            var matches = getMatchingIds(searchCriteria);
+            var filterKey = matches == null
+                    ? searchCriteria.getFilterKey()
+                    : CertificateSearchCriteria.getDefaultCertificateRequestBody().getFilterKey();
+            var version = paginationService.getVersion(
+                    certificateRepository, GiftCertificate.class, null, filterKey, LAST_UPDATE_DATE
+            );
+            return matches == null
+                    ? searchCriteria.getFilterKey() + "#" + version
+                    : searchCriteria.getFilterKey() + "#" + matches.getCardinality() + "/" + version;
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Following exception was thrown in getGiftCertificatesVersion(): " + e.getMessage());
+            throw new ServiceException("Failed to get certificates", ErrorCodeEnum.FAILED_TO_RETRIEVE_CERTIFICATE);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<GiftCertificate> getGiftCertificatesByPage(CertificateSearchCriteria searchCriteria, int page, int size,
+                                                            SortType sortType, SortBy sortBy) throws ServiceException {
         paginationValidator.validatePagination(page, size);
 
         if (searchCriteria == null) {
@@ -72,46 +157,196 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         searchCriteria.setSortType(sortType);
         searchCriteria.setSortBy(sortBy);
         certificateValidator.validateCertificateSearchCriteria(searchCriteria);
+        if (sortBy.equals(SortBy.RELEVANCE)) {
+            return getGiftCertificatesByRelevance(searchCriteria, page, size);
+        }
 
-        return certificateRepository.findAll(
-                getSpecification(searchCriteria), PageRequest.of(--page, size, searchCriteria.getSort())
-        ).getContent();
-    }
+        var matches = getMatchingIds(searchCriteria);
+        Slice<GiftCertificate> certificates;
+        if (matches == null) {
+            certificates = paginationService.getPage(
+                    certificateRepository, GiftCertificate.class, null,
+                    searchCriteria.getFilterKey(), searchCriteria, page, size
+            );
+        } else if (matches.getCardinality() <= maxIdPredicate) {
+            certificates = paginationService.getPage(
+                    certificateRepository, idIn(matches), searchCriteria, page, size, matches.getCardinality()
+            );
+        } else {
+            certificates = getMatchingPage(matches, searchCriteria, page, size);
+        }
+        if (searchCriteria.isEmbedded(TAGS)) {
+            certificates.forEach(c -> Hibernate.initialize(c.getTags()));
+        }
 
-    private Specification<GiftCertificate> getSpecification(CertificateSearchCriteria searchCriteria) {
-        return Specification
-                .where(containsTextInNameOrDescription(searchCriteria.getContent()))
-                .or(containsTextInTagName(searchCriteria.getTagNames()));
+        return certificates;
     }
 
-    private Specification<GiftCertificate> containsTextInNameOrDescription(String text) {
-        return text == null || text.isEmpty() ? null : (root, query, builder) -> {
-            final var finalText = "%" + text + "%";
-            return builder.or(
-                    builder.like(root.get("name"), finalText),
-                    builder.like(root.get("description"), finalText)
+    @Override
+    @Transactional(readOnly = true)
+    public void exportGiftCertificates(CertificateSearchCriteria searchCriteria, SortType sortType, SortBy sortBy,
+                                       Consumer<List<GiftCertificate>> consumer) throws ServiceException {
+        if (sortBy.equals(SortBy.RELEVANCE)) {
+            throw new ServiceException(
+                    "Failed to export certificates: cant sort them by relevance",
+                    ErrorCodeEnum.CERTIFICATE_VALIDATION_ERROR
             );
+        }
+        if (searchCriteria == null) {
+            searchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
+        }
+        searchCriteria.setSortType(sortType);
+        searchCriteria.setSortBy(sortBy);
+        certificateValidator.validateCertificateSearchCriteria(searchCriteria);
+
+        Consumer<List<GiftCertificate>> chunkConsumer = certificates -> {
+            certificates.forEach(c -> Hibernate.initialize(c.getTags()));
+            consumer.accept(certificates);
         };
+        var matches = getMatchingIds(searchCriteria);
+        var sort = searchCriteria.getSort();
+        try {
+            if (matches == null) {
+                certificateRepository.scroll(null, sort, exportChunkSize, chunkConsumer);
+            } else if (matches.getCardinality() <= maxIdPredicate) {
+                certificateRepository.scroll(idIn(matches), sort, exportChunkSize, chunkConsumer);
+            } else {
+                exportMatching(matches, sort, consumer);
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Following exception was thrown in exportGiftCertificates(): " + e.getMessage());
+            throw new ServiceException("Failed to export certificates", ErrorCodeEnum.FAILED_TO_RETRIEVE_CERTIFICATE);
+        }
     }
 
-    private Specification<GiftCertificate> containsTextInTagName(List<String> tagNames) {
-        return tagNames == null || tagNames.isEmpty() ? null : (root, query, builder) -> {
-            var tags = root.join("tags");
-            var inTags = builder.in(tags.get("name"));
-            tagNames.forEach(inTags::value);
-            return inTags;
-        };
+    /*
+     * Matches are too many for a predicate, so every certificate is streamed and
+     * those in the index are passed on in chunks of their own. Tags are initialized
+     * before the persistence context of a streamed chunk is cleared.
+     */
+    private void exportMatching(RoaringBitmap matches, Sort sort, Consumer<List<GiftCertificate>> consumer) {
+        var chunk = new ArrayList<GiftCertificate>(exportChunkSize);
+        certificateRepository.scroll(null, sort, exportChunkSize, certificates -> {
+            for (GiftCertificate certificate : certificates) {
+                if (!matches.contains(certificate.getId())) {
+                    continue;
+                }
+                Hibernate.initialize(certificate.getTags());
+                chunk.add(certificate);
+                if (chunk.size() == exportChunkSize) {
+                    consumer.accept(chunk);
+                    chunk.clear();
+                }
+            }
+        });
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
     }
 
-    @Override
-    public int getLastPage(int size) throws ServiceException {
-        paginationValidator.validateSize(size);
-        try {
-            return PaginationUtil.getLastPage((int) certificateRepository.count(), size);
-        } catch (DataAccessException | PersistenceException e) {
-            log.error("Failed to get last page");
-            throw new ServiceException("Failed to get last page", ErrorCodeEnum.FAILED_TO_RETRIEVE_PAGE);
+    private Slice<GiftCertificate> getGiftCertificatesByRelevance(CertificateSearchCriteria searchCriteria,
+                                                                  int page, int size) {
+        var rankedIds = new LinkedHashSet<>(textIndex.search(searchCriteria.getContent()));
+        if (searchCriteria.getTagNames() != null && !searchCriteria.getTagNames().isEmpty()) {
+            var tagged = tagIndex.getCertificates(searchCriteria.getTagNames(), searchCriteria.getTagMatchMode());
+            tagged.forEach((Integer id) -> rankedIds.add(id));
+        }
+
+        var ids = new ArrayList<>(rankedIds);
+        var pageable = PageRequest.of(page - 1, size);
+        var from = (int) Math.min(pageable.getOffset(), ids.size());
+        var pageIds = ids.subList(from, Math.min(from + size, ids.size()));
+
+        return new PageImpl<>(findAllById(pageIds, searchCriteria), pageable, ids.size());
+    }
+
+    /*
+     * Matches are too many for a predicate, so ids of all certificates are read in order
+     * of the page, from its cursor on, and filtered by the index until the page is full.
+     * Without a cursor every id before the page is read too, so deep offsets are refused.
+     */
+    private Slice<GiftCertificate> getMatchingPage(RoaringBitmap matches, CertificateSearchCriteria searchCriteria,
+                                                   int page, int size) throws ServiceException {
+        var pageable = PageRequest.of(page - 1, size, searchCriteria.getSort());
+        Specification<GiftCertificate> afterCursor = null;
+        if (searchCriteria.getAfter() != null) {
+            afterCursor = KeysetCursor.decode(searchCriteria.getAfter())
+                    .toSpecification(searchCriteria.getSortBy(), searchCriteria.getSortType());
+        }
+        var toSkip = afterCursor == null ? pageable.getOffset() : 0;
+        if (toSkip > maxMatchingOffset) {
+            throw new ServiceException(
+                    "Failed to validate: pages after " + maxMatchingOffset + " matches need a cursor",
+                    ErrorCodeEnum.PAGINATION_VALIDATION_ERROR
+            );
+        }
+
+        var skipped = new long[1];
+        var pageIds = new ArrayList<Integer>(size + 1);
+        certificateRepository.scrollIds(afterCursor, pageable.getSort(), ID_FETCH_SIZE, id -> {
+            if (matches.contains(id)) {
+                if (skipped[0] < toSkip) {
+                    skipped[0]++;
+                } else {
+                    pageIds.add(id);
+                }
+            }
+            return pageIds.size() <= size;
+        });
+
+        var hasNext = pageIds.size() > size;
+        var content = findAllById(hasNext ? pageIds.subList(0, size) : pageIds, searchCriteria);
+        if (searchCriteria.getPaginationMode() == PaginationMode.CHEAP) {
+            return new SliceImpl<>(content, pageable, hasNext);
+        }
+        return new PageImpl<>(content, pageable, matches.getCardinality());
+    }
+
+    private List<GiftCertificate> findAllById(List<Integer> ids, CertificateSearchCriteria searchCriteria) {
+        var found = searchCriteria.isEmbedded(TAGS)
+                ? certificateRepository.findAllById(ids)
+                : certificateRepository.findByIdIn(ids);
+        var certificates = found.stream()
+                .collect(Collectors.toMap(GiftCertificate::getId, Function.identity()));
+
+        return ids.stream()
+                .map(certificates::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Ids of certificates matching text and tags of the criteria,
+     * null when the criteria doesn't filter certificates.
+     */
+    private RoaringBitmap getMatchingIds(CertificateSearchCriteria searchCriteria) {
+        var text = searchCriteria.getContent();
+        var tagNames = searchCriteria.getTagNames();
+        var hasText = text != null && !text.isEmpty();
+        var hasTags = tagNames != null && !tagNames.isEmpty();
+        if (!hasText && !hasTags) {
+            return null;
         }
+
+        var ids = new RoaringBitmap();
+        if (hasText) {
+            ids.add(textIndex.search(text).stream().mapToInt(Integer::intValue).toArray());
+        }
+        if (hasTags) {
+            ids.or(tagIndex.getCertificates(tagNames, searchCriteria.getTagMatchMode()));
+        }
+
+        return ids;
+    }
+
+    private Specification<GiftCertificate> idIn(RoaringBitmap ids) {
+        var includedIds = toList(ids);
+        return (root, query, builder) -> includedIds.isEmpty() ?
+                builder.disjunction() : root.get("id").in(includedIds);
+    }
+
+    private List<Integer> toList(RoaringBitmap ids) {
+        return Arrays.stream(ids.toArray()).boxed().collect(Collectors.toList());
     }
 
     @Override
@@ -120,7 +355,11 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         certificateValidator.validateCertificate(giftCertificate);
         try {
             giftCertificate.setActive(true);
-            return certificateRepository.save(giftCertificate);
+            paginationService.evictCounts(GiftCertificate.class);
+            var saved = certificateRepository.save(giftCertificate);
+            textIndex.index(saved);
+            tagIndex.index(saved);
+            return saved;
         } catch (DataAccessException | PersistenceException e) {
             log.error("Following exception was thrown in addGiftCertificate(): " + e.getMessage());
             throw new ServiceException(
@@ -141,6 +380,9 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         }
         try {
             certificateRepository.deleteById(giftCertificate.getId());
+            paginationService.evictCounts(GiftCertificate.class);
+            textIndex.remove(giftCertificate.getId());
+            tagIndex.remove(giftCertificate.getId());
         } catch (DataAccessException | NoResultException | IllegalArgumentException e) {
             log.error("Following exception was thrown in deleteGiftCertificate(): " + e.getMessage());
             throw new ServiceException("Failed to delete certificate", ErrorCodeEnum.FAILED_TO_DELETE_CERTIFICATE);
@@ -167,7 +409,18 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         existing.setPrice(updated.getPrice());
         existing.setDuration(updated.getDuration());
         existing.setTags(updated.getTags());
+        existing.setLastUpdateDate(nextUpdateDate(existing.getLastUpdateDate()));
         existing.setActive(true);
-        return certificateRepository.save(existing);
+        paginationService.evictCounts(GiftCertificate.class);
+        var saved = certificateRepository.save(existing);
+        textIndex.index(saved);
+        tagIndex.index(saved);
+        return saved;
+    }
+
+    // Update date is stored to a second, so it always moves at least a second forward to change the version.
+    private ZonedDateTime nextUpdateDate(ZonedDateTime lastUpdateDate) {
+        var now = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return lastUpdateDate == null || now.isAfter(lastUpdateDate) ? now : lastUpdateDate.plusSeconds(1);
     }
 }
@@ -0,0 +1,125 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Order;
+import com.epam.esm.model.OrderLine;
+import com.epam.esm.repository.CertificateRevisionKey;
+import com.epam.esm.repository.GiftCertificateRepository;
+import com.epam.esm.repository.OrderLineRepository;
+import com.epam.esm.repository.OrderRepository;
+import com.epam.esm.service.OrderLineBackfillService;
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+@Service
+public class OrderLineBackfillServiceImpl implements OrderLineBackfillService {
+
+    private final static Logger log = LogManager.getLogger(OrderLineBackfillServiceImpl.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final GiftCertificateRepository certificateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${giftshop.backfill.order-lines.enabled:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${giftshop.backfill.order-lines.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public OrderLineBackfillServiceImpl(OrderRepository orderRepository, OrderLineRepository orderLineRepository,
+                                        GiftCertificateRepository certificateRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.certificateRepository = certificateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            var orders = backfillOrderLines(chunkSize);
+            log.info("Built order lines of " + orders + " orders");
+        } catch (ServiceException e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    @Override
+    public int backfillOrderLines(int chunkSize) throws ServiceException {
+        if (chunkSize <= 0) {
+            throw new ServiceException("Failed to validate: chunk size must be positive",
+                    ErrorCodeEnum.INVALID_INPUT);
+        }
+
+        var lastId = 0;
+        var total = 0;
+        try {
+            while (true) {
+                var afterId = lastId;
+                var chunk = transactionTemplate.execute(status -> backfillChunk(afterId, chunkSize));
+                if (chunk == null || chunk.isEmpty()) {
+                    return total;
+                }
+                lastId = chunk.get(chunk.size() - 1);
+                total += chunk.size();
+                log.info("Built order lines of orders up to id = " + lastId);
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Failed to build order lines after order id = " + lastId);
+            throw new ServiceException("Failed to build order lines after order id = " + lastId,
+                    ErrorCodeEnum.FAILED_TO_ADD_ORDER);
+        }
+    }
+
+    private List<Integer> backfillChunk(int lastId, int chunkSize) {
+        var orders = orderRepository.findOrdersWithoutLines(lastId, PageRequest.of(0, chunkSize));
+
+        var keys = new HashSet<CertificateRevisionKey>();
+        orders.forEach(o -> o.getGiftCertificateList().forEach(c ->
+                keys.add(new CertificateRevisionKey(c.getId(), o.getCreateDate()))
+        ));
+        var revisedCertificates = certificateRepository.findCertificatesInEffect(keys);
+
+        var orderLines = new ArrayList<OrderLine>();
+        var orderIds = new ArrayList<Integer>();
+        for (Order order : orders) {
+            for (GiftCertificate certificate : order.getGiftCertificateList()) {
+                var revised = revisedCertificates.get(
+                        new CertificateRevisionKey(certificate.getId(), order.getCreateDate())
+                );
+                if (revised == null) {
+                    Hibernate.initialize(certificate.getTags());
+                    revised = certificate;
+                }
+                orderLines.add(OrderLine.of(order, revised));
+            }
+            orderIds.add(order.getId());
+        }
+        orderLineRepository.saveAll(orderLines);
+
+        return orderIds;
+    }
+}
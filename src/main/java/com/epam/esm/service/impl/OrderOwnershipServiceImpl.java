@@ -0,0 +1,66 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.repository.OrderRepository;
+import com.epam.esm.service.OrderOwnershipService;
+import com.epam.esm.service.cache.ExpiringCache;
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class OrderOwnershipServiceImpl implements OrderOwnershipService {
+
+    private final static Logger log = LogManager.getLogger(OrderOwnershipServiceImpl.class);
+
+    private final OrderRepository orderRepository;
+    /* order id -> user id, an order never changes its user */
+    private final ExpiringCache<Integer, Integer> owners;
+
+    @Autowired
+    public OrderOwnershipServiceImpl(OrderRepository orderRepository,
+                                     @Value("${giftshop.security.order-owner-cache.max-size:10000}") int maxSize,
+                                     @Value("${giftshop.security.order-owner-cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.orderRepository = orderRepository;
+        this.owners = new ExpiringCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    @Override
+    public boolean isOwnedBy(int orderId, int userId) throws ServiceException {
+        var ownerId = owners.get(orderId);
+        if (ownerId == null) {
+            try {
+                ownerId = orderRepository.findUserIdById(orderId).orElse(null);
+            } catch (DataAccessException e) {
+                log.error("Failed to get owner of order with id = " + orderId);
+                throw new ServiceException("Failed to get owner of order with id = " + orderId,
+                        ErrorCodeEnum.FAILED_TO_RETRIEVE_ORDER);
+            }
+            if (ownerId == null) {
+                return false;
+            }
+            owners.put(orderId, ownerId);
+        }
+
+        return ownerId == userId;
+    }
+
+    @Override
+    public void evictOwner(int orderId) {
+        owners.evict(orderId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    owners.evict(orderId);
+                }
+            });
+        }
+    }
+}
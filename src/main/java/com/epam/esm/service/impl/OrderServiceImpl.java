@@ -1,10 +1,16 @@
 package com.epam.esm.service.impl;
 
+import com.epam.esm.model.GiftCertificate;
 import com.epam.esm.model.Order;
+import com.epam.esm.model.OrderLine;
 import com.epam.esm.model.Tag;
+import com.epam.esm.repository.GiftCertificateRepository;
 import com.epam.esm.repository.OrderRepository;
 import com.epam.esm.repository.UserRepository;
+import com.epam.esm.service.OrderOwnershipService;
 import com.epam.esm.service.OrderService;
+import com.epam.esm.service.OrderSummaryService;
+import com.epam.esm.service.PaginationService;
 import com.epam.esm.service.exception.ErrorCodeEnum;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.util.OrderValidator;
@@ -17,6 +23,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceException;
+import java.util.HashSet;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -25,24 +33,29 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final GiftCertificateRepository certificateRepository;
     private final OrderValidator orderValidator;
+    private final PaginationService paginationService;
+    private final OrderSummaryService orderSummaryService;
+    private final OrderOwnershipService orderOwnershipService;
 
     @Autowired
     public OrderServiceImpl(OrderRepository orderRepository, OrderValidator orderValidator,
-                            UserRepository userRepository) {
+                            UserRepository userRepository, GiftCertificateRepository certificateRepository,
+                            PaginationService paginationService, OrderSummaryService orderSummaryService,
+                            OrderOwnershipService orderOwnershipService) {
         this.orderRepository = orderRepository;
         this.orderValidator = orderValidator;
         this.userRepository = userRepository;
+        this.certificateRepository = certificateRepository;
+        this.paginationService = paginationService;
+        this.orderSummaryService = orderSummaryService;
+        this.orderOwnershipService = orderOwnershipService;
     }
 
     @Override
     public Tag getMostFrequentTagFromHighestCostUser() throws ServiceException {
-        try {
-            return orderRepository.getMostFrequentTagFromHighestCostUser();
-        } catch (DataAccessException e) {
-            log.error("Failed to get most frequent tag");
-            throw new ServiceException("Failed to get most frequent tag", ErrorCodeEnum.FAILED_TO_RETRIEVE_ORDER);
-        }
+        return orderSummaryService.getMostFrequentTagFromHighestCostUser();
     }
 
     @Override
@@ -51,8 +64,12 @@ public class OrderServiceImpl implements OrderService {
         orderValidator.validateOrder(order);
         setUserToTheOrderByUserId(order, userId);
         try {
+            setOrderLinesToTheOrder(order);
             order.setActive(true);
-            return orderRepository.save(order);
+            paginationService.evictCounts(Order.class);
+            var saved = orderRepository.save(order);
+            orderSummaryService.addOrder(saved);
+            return saved;
         } catch (DataAccessException | PersistenceException e) {
             log.error("Failed to add order");
             throw new ServiceException("Failed to add order", ErrorCodeEnum.FAILED_TO_ADD_ORDER);
@@ -67,12 +84,34 @@ public class OrderServiceImpl implements OrderService {
         order.setUser(user);
     }
 
+    private void setOrderLinesToTheOrder(Order order) throws ServiceException {
+        var certificateIds = order.getGiftCertificateList().stream()
+                .map(GiftCertificate::getId)
+                .collect(Collectors.toSet());
+        var certificates = certificateRepository.findAllById(certificateIds);
+        if (certificates.size() != certificateIds.size()) {
+            log.error("Failed to get certificates of the order: " + certificateIds);
+            throw new ServiceException("Failed to get certificates of the order: " + certificateIds,
+                    ErrorCodeEnum.FAILED_TO_ADD_ORDER);
+        }
+
+        order.setGiftCertificateList(new HashSet<>(certificates));
+        order.setOrderLines(
+                certificates.stream().map(c -> OrderLine.of(order, c)).collect(Collectors.toList())
+        );
+    }
+
     @Override
     @Transactional(rollbackFor = ServiceException.class)
     public void deleteOrder(int orderId) throws ServiceException {
         orderValidator.validateId(orderId);
         try {
-            orderRepository.deleteById(orderId);
+            var order = orderRepository.findById(orderId);
+            if (orderRepository.deactivateById(orderId) > 0) {
+                order.ifPresent(orderSummaryService::removeOrder);
+                orderOwnershipService.evictOwner(orderId);
+            }
+            paginationService.evictCounts(Order.class);
         } catch (DataAccessException | NoResultException | IllegalArgumentException e) {
             log.error("Failed to delete order");
             throw new ServiceException("Failed to delete order", ErrorCodeEnum.FAILED_TO_RETRIEVE_ORDER);
@@ -0,0 +1,212 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.model.Order;
+import com.epam.esm.model.Tag;
+import com.epam.esm.model.UserSpending;
+import com.epam.esm.model.UserTagPurchase;
+import com.epam.esm.repository.OrderRepository;
+import com.epam.esm.repository.UserSpendingRepository;
+import com.epam.esm.repository.UserTagPurchaseRepository;
+import com.epam.esm.service.OrderSummaryService;
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderSummaryServiceImpl implements OrderSummaryService {
+
+    private final static Logger log = LogManager.getLogger(OrderSummaryServiceImpl.class);
+
+    private static final double COST_TOLERANCE = 0.000001;
+
+    private final OrderRepository orderRepository;
+    private final UserSpendingRepository spendingRepository;
+    private final UserTagPurchaseRepository purchaseRepository;
+    /* one serializable transaction, orders written meanwhile wait for the rebuild */
+    private final TransactionTemplate rebuildTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${giftshop.summary.orders.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${giftshop.summary.orders.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public OrderSummaryServiceImpl(OrderRepository orderRepository, UserSpendingRepository spendingRepository,
+                                   UserTagPurchaseRepository purchaseRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.spendingRepository = spendingRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    /*
+     * Summaries are built on startup when asked to or when there are none yet,
+     * so that a database with orders made before summaries existed is backfilled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            if (!rebuildOnStartup && spendingRepository.count() > 0) {
+                return;
+            }
+            var mismatches = rebuildSummaries();
+            log.info("Rebuilt order summaries, " + mismatches + " of stored summaries did not match");
+        } catch (ServiceException e) {
+            log.error(e.getMessage());
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Failed to check order summaries: " + e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Tag getMostFrequentTagFromHighestCostUser() throws ServiceException {
+        try {
+            var spending = spendingRepository.findFirstByOrderByTotalCostDescUserIdAsc();
+            if (spending.isEmpty()) {
+                return null;
+            }
+            var tags = purchaseRepository.findMostPurchasedTags(spending.get().getUserId(), PageRequest.of(0, 1));
+            return tags.isEmpty() ? null : tags.get(0);
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Failed to get most frequent tag");
+            throw new ServiceException("Failed to get most frequent tag", ErrorCodeEnum.FAILED_TO_RETRIEVE_ORDER);
+        }
+    }
+
+    @Override
+    public void addOrder(Order order) {
+        addToSummaries(order, 1);
+    }
+
+    @Override
+    public void removeOrder(Order order) {
+        addToSummaries(order, -1);
+    }
+
+    private void addToSummaries(Order order, int sign) {
+        var userId = order.getUser().getId();
+        spendingRepository.addCost(userId, sign * order.getTotalCost());
+        countTags(order).forEach((tagName, purchases) ->
+                purchaseRepository.addPurchases(userId, tagName, sign * purchases)
+        );
+    }
+
+    private static Map<String, Long> countTags(Order order) {
+        var purchases = new HashMap<String, Long>();
+        order.getOrderLines().forEach(line ->
+                line.getTagNames().forEach(tagName -> purchases.merge(tagName, 1L, Long::sum))
+        );
+
+        return purchases;
+    }
+
+    @Override
+    public int rebuildSummaries() throws ServiceException {
+        try {
+            var mismatches = rebuildTransaction.execute(status -> {
+                var spendings = new HashMap<Integer, Double>();
+                var purchases = new HashMap<UserTagPurchase.Key, Long>();
+                var lastId = summarizeChunk(0, spendings, purchases);
+                while (lastId != null) {
+                    entityManager.clear();
+                    lastId = summarizeChunk(lastId, spendings, purchases);
+                }
+
+                return replaceSummaries(spendings, purchases);
+            });
+            return mismatches == null ? 0 : mismatches;
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Failed to rebuild order summaries: " + e.getMessage());
+            throw new ServiceException("Failed to rebuild order summaries", ErrorCodeEnum.FAILED_TO_RETRIEVE_ORDER);
+        }
+    }
+
+    private Integer summarizeChunk(int lastId, Map<Integer, Double> spendings,
+                                   Map<UserTagPurchase.Key, Long> purchases) {
+        var orders = orderRepository.findSlice(
+                idGreaterThan(lastId), PageRequest.of(0, chunkSize, Sort.by("id"))
+        ).getContent();
+        for (Order order : orders) {
+            var userId = order.getUser().getId();
+            spendings.merge(userId, order.getTotalCost(), Double::sum);
+            countTags(order).forEach((tagName, count) ->
+                    purchases.merge(new UserTagPurchase.Key(userId, tagName), count, Long::sum)
+            );
+        }
+
+        return orders.isEmpty() ? null : orders.get(orders.size() - 1).getId();
+    }
+
+    private Specification<Order> idGreaterThan(int id) {
+        return (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+    }
+
+    private int replaceSummaries(Map<Integer, Double> spendings, Map<UserTagPurchase.Key, Long> purchases) {
+        var storedSpendings = spendingRepository.findAll().stream()
+                .collect(Collectors.toMap(UserSpending::getUserId, UserSpending::getTotalCost));
+        var storedPurchases = purchaseRepository.findAll().stream()
+                .collect(Collectors.toMap(UserTagPurchase::getKey, UserTagPurchase::getPurchases));
+
+        var mismatches = 0;
+        var userIds = new HashSet<>(spendings.keySet());
+        userIds.addAll(storedSpendings.keySet());
+        for (Integer userId : userIds) {
+            var expected = spendings.getOrDefault(userId, 0.0);
+            var stored = storedSpendings.getOrDefault(userId, 0.0);
+            if (Math.abs(expected - stored) > COST_TOLERANCE) {
+                log.warn("Total cost of user " + userId + " is " + stored + ", expected " + expected);
+                mismatches++;
+            }
+        }
+        var keys = new HashSet<>(purchases.keySet());
+        keys.addAll(storedPurchases.keySet());
+        for (UserTagPurchase.Key key : keys) {
+            var expected = purchases.getOrDefault(key, 0L);
+            var stored = storedPurchases.getOrDefault(key, 0L);
+            if (!expected.equals(stored)) {
+                log.warn("Purchases of tag " + key + " are " + stored + ", expected " + expected);
+                mismatches++;
+            }
+        }
+
+        spendingRepository.deleteAllInBatch();
+        purchaseRepository.deleteAllInBatch();
+        spendingRepository.saveAll(spendings.entrySet().stream()
+                .map(e -> new UserSpending(e.getKey(), e.getValue()))
+                .collect(Collectors.toList()));
+        purchaseRepository.saveAll(purchases.entrySet().stream()
+                .map(e -> new UserTagPurchase(e.getKey().getUserId(), e.getKey().getTagName(), e.getValue()))
+                .collect(Collectors.toList()));
+
+        return mismatches;
+    }
+}
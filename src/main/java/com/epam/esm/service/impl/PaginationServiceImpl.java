@@ -0,0 +1,134 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.repository.CollectionVersion;
+import com.epam.esm.repository.KeysetRepository;
+import com.epam.esm.service.PaginationService;
+import com.epam.esm.service.cache.ExpiringCache;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.search.criteria.SortingSearchCriteria;
+import com.epam.esm.service.search.cursor.KeysetCursor;
+import com.epam.esm.service.search.pagination.PaginationMode;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class PaginationServiceImpl implements PaginationService {
+
+    private static final int MAX_CACHED_COUNTS = 10_000;
+    private static final long COUNT_TTL_MILLIS = 3_600_000;
+
+    /* least recently read filters are dropped first, hot ones stay */
+    private final ExpiringCache<String, Long> counts = new ExpiringCache<>(MAX_CACHED_COUNTS, COUNT_TTL_MILLIS);
+    private final ExpiringCache<String, CollectionVersion> versions =
+            new ExpiringCache<>(MAX_CACHED_COUNTS, COUNT_TTL_MILLIS);
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> Slice<T> getPage(KeysetRepository<T, Integer> repository, Class<T> entityType,
+                                Specification<T> specification, String filterKey,
+                                SortingSearchCriteria searchCriteria, int page, int size) throws ServiceException {
+        var slice = getSlice(repository, specification, searchCriteria, page, size);
+        if (searchCriteria.getPaginationMode() == PaginationMode.CHEAP) {
+            return slice;
+        }
+        return new PageImpl<>(
+                slice.getContent(), slice.getPageable(), count(repository, entityType, specification, filterKey)
+        );
+    }
+
+    @Override
+    public <T> Slice<T> getPage(KeysetRepository<T, Integer> repository, Specification<T> specification,
+                                SortingSearchCriteria searchCriteria, int page, int size, long total)
+            throws ServiceException {
+        var slice = getSlice(repository, specification, searchCriteria, page, size);
+        if (searchCriteria.getPaginationMode() == PaginationMode.CHEAP) {
+            return slice;
+        }
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    private <T> Slice<T> getSlice(KeysetRepository<T, Integer> repository, Specification<T> specification,
+                                  SortingSearchCriteria searchCriteria, int page, int size) throws ServiceException {
+        var sort = searchCriteria.getSort();
+        var pageable = PageRequest.of(page - 1, size, sort);
+
+        Slice<T> slice;
+        if (searchCriteria.getAfter() == null) {
+            slice = repository.findSlice(specification, pageable);
+        } else {
+            var afterCursor = KeysetCursor.decode(searchCriteria.getAfter())
+                    .<T>toSpecification(searchCriteria.getSortBy(), searchCriteria.getSortType());
+            var seek = repository.findSlice(Specification.where(specification).and(afterCursor),
+                    PageRequest.of(0, size, sort));
+            slice = new SliceImpl<>(seek.getContent(), pageable, seek.hasNext());
+        }
+
+        return slice;
+    }
+
+    private <T> long count(KeysetRepository<T, Integer> repository, Class<T> entityType,
+                           Specification<T> specification, String filterKey) {
+        var key = getKey(entityType, filterKey);
+        var count = counts.get(key);
+        if (count == null) {
+            count = repository.count(specification);
+            counts.put(key, count);
+        }
+
+        return count;
+    }
+
+    @Override
+    public <T> CollectionVersion getVersion(KeysetRepository<T, Integer> repository, Class<T> entityType,
+                                            Specification<T> specification, String filterKey,
+                                            String versionAttribute) {
+        var key = getKey(entityType, filterKey);
+        var versionKey = key + "#" + versionAttribute;
+        var version = versions.get(versionKey);
+        if (version == null) {
+            version = repository.findCollectionVersion(specification, versionAttribute);
+            versions.put(versionKey, version);
+            counts.put(key, version.getCount());
+        }
+
+        return version;
+    }
+
+    private String getKey(Class<?> entityType, String filterKey) {
+        return entityType.getName() + "#" + generation(entityType).get() + "#" + filterKey;
+    }
+
+    private AtomicLong generation(Class<?> entityType) {
+        return generations.computeIfAbsent(entityType, t -> new AtomicLong());
+    }
+
+    @Override
+    public void evictCounts(Class<?> entityType) {
+        evict(entityType);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(entityType);
+                }
+            });
+        }
+    }
+
+    private void evict(Class<?> entityType) {
+        generation(entityType).incrementAndGet();
+        var prefix = entityType.getName() + "#";
+        counts.evictIf(k -> k.startsWith(prefix));
+        versions.evictIf(k -> k.startsWith(prefix));
+    }
+}
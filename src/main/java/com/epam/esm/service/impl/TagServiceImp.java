@@ -1,43 +1,62 @@
 package com.epam.esm.service.impl;
 
+import com.epam.esm.model.GiftCertificate;
 import com.epam.esm.model.Tag;
+import com.epam.esm.repository.GiftCertificateRepository;
 import com.epam.esm.repository.TagRepository;
+import com.epam.esm.service.CertificateTagIndex;
+import com.epam.esm.service.PaginationService;
 import com.epam.esm.service.TagService;
 import com.epam.esm.service.exception.ErrorCodeEnum;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.TagSearchCriteria;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-import com.epam.esm.service.util.PaginationUtil;
 import com.epam.esm.service.util.PaginationValidator;
 import com.epam.esm.service.util.TagValidator;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceException;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class TagServiceImp implements TagService {
 
     private final static Logger log = LogManager.getLogger(OrderServiceImpl.class);
 
+    private static final String ID = "id";
+
     private final TagRepository tagRepository;
+    private final GiftCertificateRepository certificateRepository;
     private final TagValidator tagValidator;
     private final PaginationValidator paginationValidator;
+    private final PaginationService paginationService;
+    private final CertificateTagIndex tagIndex;
+
+    @Value("${giftshop.export.chunk-size:100}")
+    private int exportChunkSize;
 
     @Autowired
-    public TagServiceImp(TagRepository tagRepository, TagValidator tagValidator,
-                         PaginationValidator paginationValidator) {
+    public TagServiceImp(TagRepository tagRepository, GiftCertificateRepository certificateRepository,
+                         TagValidator tagValidator, PaginationValidator paginationValidator,
+                         PaginationService paginationService, CertificateTagIndex tagIndex) {
         this.tagRepository = tagRepository;
+        this.certificateRepository = certificateRepository;
         this.tagValidator = tagValidator;
         this.paginationValidator = paginationValidator;
+        this.paginationService = paginationService;
+        this.tagIndex = tagIndex;
     }
 
     @Override
@@ -57,8 +76,36 @@ public class TagServiceImp implements TagService {
     }
 
     @Override
-    public List<Tag> getAllTagsByPage(TagSearchCriteria searchCriteria, int page, int size,
-                                      SortType sortType, SortBy sortBy) throws ServiceException {
+    public void checkTagExists(int tagId) throws ServiceException {
+        tagValidator.validateId(tagId);
+        boolean exists;
+        try {
+            exists = tagRepository.existsById(tagId);
+        } catch (DataAccessException e) {
+            log.error("Following exception was thrown in checkTagExists(): " + e.getMessage());
+            throw new ServiceException("Failed to get tag by it id: " + tagId, ErrorCodeEnum.FAILED_TO_RETRIEVE_TAG);
+        }
+        if (!exists) {
+            log.error("Failed to get tag by it id: " + tagId);
+            throw new ServiceException("Failed to get tag by it id: " + tagId, ErrorCodeEnum.FAILED_TO_RETRIEVE_TAG);
+        }
+    }
+
+    @Override
+    public String getTagsVersion() throws ServiceException {
+        try {
+            return paginationService.getVersion(
+                    tagRepository, Tag.class, null, TagSearchCriteria.getDefaultTagRequestBody().getFilterKey(), ID
+            ).toString();
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Following exception was thrown in getTagsVersion(): " + e.getMessage());
+            throw new ServiceException("Failed to get tags", ErrorCodeEnum.FAILED_TO_RETRIEVE_TAG);
+        }
+    }
+
+    @Override
+    public Slice<Tag> getAllTagsByPage(TagSearchCriteria searchCriteria, int page, int size,
+                                       SortType sortType, SortBy sortBy) throws ServiceException {
         paginationValidator.validatePagination(page, size);
 
         if (searchCriteria == null) {
@@ -69,7 +116,9 @@ public class TagServiceImp implements TagService {
         tagValidator.validateTagSearchCriteria(searchCriteria);
 
         try {
-            return tagRepository.findAll(PageRequest.of(--page, size, searchCriteria.getSort())).getContent();
+            return paginationService.getPage(
+                    tagRepository, Tag.class, null, searchCriteria.getFilterKey(), searchCriteria, page, size
+            );
         } catch (DataAccessException e) {
             log.error("Following exception was thrown in getAllTagsByPage(): " + e.getMessage());
             throw new ServiceException("Failed to get tags", ErrorCodeEnum.FAILED_TO_RETRIEVE_TAG);
@@ -77,13 +126,21 @@ public class TagServiceImp implements TagService {
     }
 
     @Override
-    public int getLastPage(int size) throws ServiceException {
-        paginationValidator.validateSize(size);
+    @Transactional(readOnly = true)
+    public void exportTags(TagSearchCriteria searchCriteria, SortType sortType, SortBy sortBy,
+                           Consumer<List<Tag>> consumer) throws ServiceException {
+        if (searchCriteria == null) {
+            searchCriteria = TagSearchCriteria.getDefaultTagRequestBody();
+        }
+        searchCriteria.setSortType(sortType);
+        searchCriteria.setSortBy(sortBy);
+        tagValidator.validateTagSearchCriteria(searchCriteria);
+
         try {
-            return PaginationUtil.getLastPage((int) tagRepository.count(), size);
+            tagRepository.scroll(null, searchCriteria.getSort(), exportChunkSize, consumer);
         } catch (DataAccessException | PersistenceException e) {
-            log.error("Failed to get last page");
-            throw new ServiceException("Failed to get last page", ErrorCodeEnum.FAILED_TO_RETRIEVE_PAGE);
+            log.error("Following exception was thrown in exportTags(): " + e.getMessage());
+            throw new ServiceException("Failed to export tags", ErrorCodeEnum.FAILED_TO_RETRIEVE_TAG);
         }
     }
 
@@ -93,7 +150,10 @@ public class TagServiceImp implements TagService {
         tagValidator.validateTag(tag);
         try {
             tag.setActive(true);
-            return tagRepository.save(tag);
+            paginationService.evictCounts(Tag.class);
+            var saved = tagRepository.save(tag);
+            tagIndex.indexTag(saved);
+            return saved;
         } catch (PersistenceException | DataAccessException e) {
             log.error("Failed to add tag");
             throw new ServiceException("Failed to add tag", ErrorCodeEnum.FAILED_TO_ADD_TAG);
@@ -106,6 +166,10 @@ public class TagServiceImp implements TagService {
         tagValidator.validateId(tagId);
         try {
             tagRepository.deleteById(tagId);
+            certificateRepository.touchByTagId(tagId, ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+            paginationService.evictCounts(Tag.class);
+            paginationService.evictCounts(GiftCertificate.class);
+            tagIndex.removeTag(tagId);
         } catch (DataAccessException | NoResultException | IllegalArgumentException e) {
             log.error("Following exception was thrown in deleteTag(): " + e.getMessage());
             throw new ServiceException("Failed to delete tag by it id: " + tagId, ErrorCodeEnum.FAILED_TO_DELETE_TAG);
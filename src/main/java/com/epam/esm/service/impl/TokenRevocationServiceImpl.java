@@ -0,0 +1,145 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.model.RevokedToken;
+import com.epam.esm.repository.RevokedTokenRepository;
+import com.epam.esm.service.TokenRevocationService;
+import com.epam.esm.service.cache.BloomFilter;
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.PersistenceException;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final static Logger log = LogManager.getLogger(TokenRevocationServiceImpl.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexUpdates updates = new IndexUpdates();
+
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private Denylist denylist;
+
+    @Autowired
+    public TokenRevocationServiceImpl(RevokedTokenRepository revokedTokenRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${giftshop.security.revocation.expected-tokens:10000}")
+                                              int expectedRevocations,
+                                      @Value("${giftshop.security.revocation.false-positive-rate:0.01}")
+                                              double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.denylist = new Denylist(expectedRevocations, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            log.info("Loaded " + refresh() + " revoked tokens");
+        } catch (ServiceException e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${giftshop.security.revocation.refresh-millis:60000}",
+            initialDelayString = "${giftshop.security.revocation.refresh-millis:60000}"
+    )
+    public void refreshOnSchedule() {
+        try {
+            refresh();
+        } catch (ServiceException e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = ServiceException.class)
+    public void revoke(String tokenId, ZonedDateTime expiresAt) throws ServiceException {
+        try {
+            revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Failed to revoke token " + tokenId);
+            throw new ServiceException("Failed to revoke token", ErrorCodeEnum.JWT_AUTHENTICATION_ERROR);
+        }
+        var expiresAtMillis = expiresAt.toInstant().toEpochMilli();
+        updates.afterCommit(() -> denylist.add(tokenId, expiresAtMillis));
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        var now = System.currentTimeMillis();
+        return updates.read(() -> denylist.contains(tokenId, now));
+    }
+
+    @Override
+    public synchronized int refresh() throws ServiceException {
+        var now = ZonedDateTime.now();
+
+        updates.beginRebuild();
+        List<RevokedToken> revokedTokens;
+        try {
+            revokedTokens = transactionTemplate.execute(status -> {
+                revokedTokenRepository.deleteExpired(now);
+                return revokedTokenRepository.findAllByExpiresAtAfter(now);
+            });
+        } catch (DataAccessException | PersistenceException e) {
+            updates.cancelRebuild();
+            log.error("Failed to load revoked tokens");
+            throw new ServiceException("Failed to load revoked tokens", ErrorCodeEnum.JWT_AUTHENTICATION_ERROR);
+        }
+
+        var loaded = revokedTokens == null ? List.<RevokedToken>of() : revokedTokens;
+        var newDenylist = new Denylist(Math.max(expectedRevocations, loaded.size() * 2), falsePositiveRate);
+        loaded.forEach(t -> newDenylist.add(t.getTokenId(), t.getExpiresAt().toInstant().toEpochMilli()));
+        updates.finishRebuild(() -> denylist = newDenylist);
+
+        return loaded.size();
+    }
+
+    /* bloom filter answers for tokens which were never revoked, the map for the rest */
+    private static class Denylist {
+
+        private final BloomFilter filter;
+        private final Map<String, Long> expirations = new HashMap<>();
+
+        private Denylist(int expectedRevocations, double falsePositiveRate) {
+            this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        }
+
+        private void add(String tokenId, long expiresAt) {
+            filter.put(tokenId);
+            expirations.put(tokenId, expiresAt);
+        }
+
+        private boolean contains(String tokenId, long now) {
+            if (!filter.mightContain(tokenId)) {
+                return false;
+            }
+            var expiresAt = expirations.get(tokenId);
+
+            return expiresAt != null && expiresAt > now;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.repository.UserPrincipal;
+import com.epam.esm.repository.UserRepository;
+import com.epam.esm.service.UserPrincipalService;
+import com.epam.esm.service.cache.ExpiringCache;
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.util.UserValidator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class UserPrincipalServiceImpl implements UserPrincipalService {
+
+    private final static Logger log = LogManager.getLogger(UserPrincipalServiceImpl.class);
+
+    private static final String CACHE_NAME = "userPrincipals";
+
+    private final UserRepository userRepository;
+    private final UserValidator userValidator;
+    private final ExpiringCache<String, UserPrincipal> cache;
+
+    @Autowired
+    public UserPrincipalServiceImpl(UserRepository userRepository, UserValidator userValidator,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${giftshop.security.principal-cache.max-size:10000}") int maxSize,
+                                    @Value("${giftshop.security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.userValidator = userValidator;
+        this.cache = new ExpiringCache<>(maxSize, ttlSeconds * 1000);
+        registerMetrics(meterRegistry);
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::getHits)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::getMisses)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", cache, ExpiringCache::getEvictions)
+                .tags("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", cache, ExpiringCache::size)
+                .tags("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserPrincipal getPrincipalByLogin(String login) throws ServiceException {
+        userValidator.validateLogin(login);
+        var principal = cache.get(login);
+        if (principal != null) {
+            return principal;
+        }
+
+        try {
+            principal = userRepository.findPrincipalByLogin(login).orElseThrow(() -> {
+                log.error("Failed to get user by it login: " + login);
+                return new ServiceException(
+                        "Failed to get user by it login: " + login, ErrorCodeEnum.FAILED_TO_RETRIEVE_USER
+                );
+            });
+        } catch (DataAccessException e) {
+            log.error("Following exception was thrown in getPrincipalByLogin(): " + e.getMessage());
+            throw new ServiceException(
+                    "Failed to get user by it login: " + login, ErrorCodeEnum.FAILED_TO_RETRIEVE_USER
+            );
+        }
+        cache.put(login, principal);
+
+        return principal;
+    }
+
+    @Override
+    public void evictPrincipal(String login) {
+        cache.evict(login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(login);
+                }
+            });
+        }
+    }
+}
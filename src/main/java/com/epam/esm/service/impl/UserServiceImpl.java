@@ -4,53 +4,58 @@ import com.epam.esm.model.Role;
 import com.epam.esm.model.User;
 import com.epam.esm.repository.UserRepository;
 import com.epam.esm.service.AuditedOrderService;
+import com.epam.esm.service.PaginationService;
+import com.epam.esm.service.UserPrincipalService;
 import com.epam.esm.service.UserService;
 import com.epam.esm.service.exception.ErrorCodeEnum;
 import com.epam.esm.service.exception.ServiceException;
-import com.epam.esm.service.search.criteria.OrderSearchCriteria;
 import com.epam.esm.service.search.criteria.UserSearchCriteria;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-import com.epam.esm.service.util.PaginationUtil;
 import com.epam.esm.service.util.PaginationValidator;
 import com.epam.esm.service.util.UserValidator;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.NoResultException;
-import javax.persistence.PersistenceException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final static Logger log = LogManager.getLogger(UserServiceImpl.class);
 
-    private static final int DEFAULT_PAGE = 1;
     private static final int DEFAULT_SIZE = 10;
+    private static final String ORDERS = "orders";
 
     private final UserRepository userRepository;
     private final UserValidator userValidator;
     private final PaginationValidator paginationValidator;
     private final PasswordEncoder passwordEncoder;
     private final AuditedOrderService auditedOrderService;
+    private final PaginationService paginationService;
+    private final UserPrincipalService userPrincipalService;
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository, UserValidator userValidator,
                            PaginationValidator paginationValidator, PasswordEncoder passwordEncoder,
-                           AuditedOrderService auditedOrderService) {
+                           AuditedOrderService auditedOrderService, PaginationService paginationService,
+                           UserPrincipalService userPrincipalService) {
         this.userRepository = userRepository;
         this.userValidator = userValidator;
         this.paginationValidator = paginationValidator;
         this.passwordEncoder = passwordEncoder;
         this.auditedOrderService = auditedOrderService;
+        this.paginationService = paginationService;
+        this.userPrincipalService = userPrincipalService;
     }
 
     @Override
@@ -67,6 +72,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getUserById(int userId) throws ServiceException {
         userValidator.validateId(userId);
         try {
@@ -76,7 +82,7 @@ public class UserServiceImpl implements UserService {
                         ErrorCodeEnum.FAILED_TO_RETRIEVE_USER
                 );
             });
-            setAuditedOrdersToUser(user);
+            setAuditedOrdersToUsers(List.of(user));
 
             return user;
         } catch (DataAccessException e) {
@@ -86,8 +92,9 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<User> getAllUsersByPage(UserSearchCriteria searchCriteria, int page, int size,
-                                        SortType sortType, SortBy sortBy) throws ServiceException {
+    @Transactional(readOnly = true)
+    public Slice<User> getAllUsersByPage(UserSearchCriteria searchCriteria, int page, int size,
+                                         SortType sortType, SortBy sortBy) throws ServiceException {
         paginationValidator.validatePagination(page, size);
 
         if (searchCriteria == null) {
@@ -98,10 +105,12 @@ public class UserServiceImpl implements UserService {
         userValidator.validateUserSearchCriteria(searchCriteria);
 
         try {
-            var users = userRepository.findAll(
-                    PageRequest.of(--page, size, searchCriteria.getSort())
-            ).getContent();
-            users.forEach(this::setAuditedOrdersToUser);
+            var users = paginationService.getPage(
+                    userRepository, User.class, null, searchCriteria.getFilterKey(), searchCriteria, page, size
+            );
+            if (searchCriteria.isEmbedded(ORDERS)) {
+                setAuditedOrdersToUsers(users.getContent());
+            }
 
             return users;
         } catch (DataAccessException e) {
@@ -110,30 +119,13 @@ public class UserServiceImpl implements UserService {
         }
     }
 
-    private void setAuditedOrdersToUser(User user) {
-        var orderSearchCriteria = OrderSearchCriteria.getDefaultOrderRequestBody();
+    private void setAuditedOrdersToUsers(List<User> users) {
+        var userIds = users.stream().map(User::getId).collect(Collectors.toList());
         try {
-            user.setOrders(
-                    new HashSet<>(
-                            auditedOrderService.getAuditedOrdersByUserId(
-                                    user.getId(), orderSearchCriteria, DEFAULT_PAGE, DEFAULT_SIZE,
-                                    orderSearchCriteria.getSortType(), orderSearchCriteria.getSortBy()
-                            )
-                    )
-            );
+            var orders = auditedOrderService.getAuditedOrdersByUserIds(userIds, DEFAULT_SIZE);
+            users.forEach(u -> u.setOrders(new HashSet<>(orders.getOrDefault(u.getId(), List.of()))));
         } catch (ServiceException e) {
-            log.error("Failed to get audited order by user id: " + user.getId());
-        }
-    }
-
-    @Override
-    public int getLastPage(int size) throws ServiceException {
-        paginationValidator.validateSize(size);
-        try {
-            return PaginationUtil.getLastPage((int) userRepository.count(), size);
-        } catch (DataAccessException | PersistenceException e) {
-            log.error("Failed to get last page");
-            throw new ServiceException("Failed to get last page", ErrorCodeEnum.FAILED_TO_RETRIEVE_PAGE);
+            log.error("Failed to get audited orders by user ids: " + userIds);
         }
     }
 
@@ -144,10 +136,35 @@ public class UserServiceImpl implements UserService {
         try {
             user.setRole(Role.getUserRole());
             user.setPassword(passwordEncoder.encode(user.getPassword()));
+            paginationService.evictCounts(User.class);
+            userPrincipalService.evictPrincipal(user.getLogin());
             return userRepository.save(user);
         } catch (DataAccessException | NoResultException | IllegalArgumentException e) {
             log.error("Following exception was thrown in addUser(): " + e.getMessage());
             throw new ServiceException("Failed to add user", ErrorCodeEnum.FAILED_TO_ADD_USER);
         }
     }
+
+    @Override
+    @Transactional(rollbackFor = ServiceException.class)
+    public User updatePassword(String login, String encodedPassword) throws ServiceException {
+        userValidator.validateLogin(login);
+        userValidator.validatePassword(encodedPassword);
+        try {
+            var user = userRepository.getUserByLogin(login);
+            if (user == null) {
+                log.error("Failed to get user by it login: " + login);
+                throw new ServiceException(
+                        "Failed to get user by it login: " + login, ErrorCodeEnum.FAILED_TO_RETRIEVE_USER
+                );
+            }
+            user.setPassword(encodedPassword);
+            userPrincipalService.evictPrincipal(login);
+            return userRepository.save(user);
+        } catch (DataAccessException e) {
+            log.error("Following exception was thrown in updatePassword(): " + e.getMessage());
+            throw new ServiceException("Failed to update password of user " + login,
+                    ErrorCodeEnum.FAILED_TO_UPDATE_USER);
+        }
+    }
 }
@@ -12,6 +12,7 @@ public class CertificateSearchCriteria extends SortingSearchCriteria {
 
     private String content;
     private List<String> tagNames;
+    private TagMatchMode tagMatchMode = TagMatchMode.ANY;
 
     public static CertificateSearchCriteria getDefaultCertificateRequestBody() {
         CertificateSearchCriteria certificateSearchCriteria = new CertificateSearchCriteria();
@@ -36,4 +37,28 @@ public class CertificateSearchCriteria extends SortingSearchCriteria {
     public void setTagNames(List<String> tagNames) {
         this.tagNames = tagNames;
     }
+
+    public TagMatchMode getTagMatchMode() {
+        return tagMatchMode;
+    }
+
+    public void setTagMatchMode(TagMatchMode tagMatchMode) {
+        this.tagMatchMode = tagMatchMode;
+    }
+
+    @Override
+    public String getFilterKey() {
+        var filter = new StringBuilder();
+        appendFilterValue(filter, content == null ? "" : content);
+        appendFilterValue(filter, String.valueOf(tagMatchMode));
+        if (tagNames != null) {
+            tagNames.stream().distinct().sorted().forEach(t -> appendFilterValue(filter, t));
+        }
+
+        return filter.toString();
+    }
+
+    private static void appendFilterValue(StringBuilder filter, String value) {
+        filter.append(value.length()).append(':').append(value);
+    }
 }
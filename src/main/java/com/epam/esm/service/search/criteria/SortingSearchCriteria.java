@@ -1,13 +1,23 @@
 package com.epam.esm.service.search.criteria;
 
+import com.epam.esm.service.search.pagination.PaginationMode;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.domain.Sort;
 
+import java.util.Set;
+
 public abstract class SortingSearchCriteria {
 
+    private static final String ID = "id";
+
     private SortType sortType;
     private SortBy sortBy;
+    private String after;
+    private PaginationMode paginationMode = PaginationMode.EXACT;
+    @JsonIgnore
+    private Set<String> embedded;
 
     public SortType getSortType() {
         return sortType;
@@ -25,9 +35,49 @@ public abstract class SortingSearchCriteria {
         this.sortBy = sortBy;
     }
 
+    public String getAfter() {
+        return after;
+    }
+
+    public void setAfter(String after) {
+        this.after = after;
+    }
+
+    public PaginationMode getPaginationMode() {
+        return paginationMode;
+    }
+
+    public void setPaginationMode(PaginationMode paginationMode) {
+        this.paginationMode = paginationMode;
+    }
+
+    public Set<String> getEmbedded() {
+        return embedded;
+    }
+
+    /**
+     * @param embedded associations to load with found entities, null for all of them.
+     */
+    public void setEmbedded(Set<String> embedded) {
+        this.embedded = embedded;
+    }
+
+    public boolean isEmbedded(String association) {
+        return embedded == null || embedded.contains(association);
+    }
+
+    /**
+     * Describes filter of this criteria, so that equal filters
+     * produce equal keys regardless of sorting and pagination.
+     *
+     * @return normalized filter of this criteria.
+     */
+    public String getFilterKey() {
+        return "";
+    }
+
     public Sort getSort() {
-        return sortType.equals(SortType.ASC) ?
-                Sort.by(sortBy.getName()).ascending() :
-                Sort.by(sortBy.getName()).descending();
+        var direction = sortType.equals(SortType.ASC) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, sortBy.getName()).and(Sort.by(direction, ID));
     }
 }
@@ -0,0 +1,5 @@
+package com.epam.esm.service.search.criteria;
+
+public enum TagMatchMode {
+    ALL, ANY, NONE
+}
@@ -0,0 +1,113 @@
+package com.epam.esm.service.search.cursor;
+
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.search.sort.SortBy;
+import com.epam.esm.service.search.sort.SortType;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a sorted list: the sort key and
+ * id of the last item of a page. Next page starts right
+ * after it, so its cost does not depend on how deep it is.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class KeysetCursor {
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = ":";
+
+    private final int id;
+    private final String key;
+
+    private KeysetCursor(int id, String key) {
+        this.id = id;
+        this.key = key;
+    }
+
+    public static KeysetCursor of(int id, Object key) {
+        return new KeysetCursor(id, String.valueOf(key));
+    }
+
+    public static KeysetCursor decode(String cursor) throws ServiceException {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = decoded.indexOf(SEPARATOR);
+            return new KeysetCursor(
+                    Integer.parseInt(decoded.substring(0, separator)), decoded.substring(separator + 1)
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ServiceException("Failed to validate: malformed cursor " + cursor,
+                    ErrorCodeEnum.PAGINATION_VALIDATION_ERROR);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + SEPARATOR + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds condition selecting items which go after this cursor:
+     * {@code key > k or (key = k and id > id)} for ascending sort.
+     *
+     * @param sortBy by witch field list is sorted.
+     * @param sortType type of a sort.
+     * @throws ServiceException when cursor key does not match {@code sortBy}.
+     * @return specification of items after this cursor.
+     */
+    @SuppressWarnings("rawtypes")
+    public <T> Specification<T> toSpecification(SortBy sortBy, SortType sortType) throws ServiceException {
+        var value = parseKey(sortBy);
+        var ascending = sortType.equals(SortType.ASC);
+
+        return (root, query, builder) -> {
+            Expression<Comparable> attribute = root.get(sortBy.getAttributeName());
+            Expression<Comparable> idAttribute = root.get(ID);
+            return builder.or(
+                    compare(builder, attribute, value, ascending),
+                    builder.and(builder.equal(attribute, value), compare(builder, idAttribute, id, ascending))
+            );
+        };
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate compare(CriteriaBuilder builder, Expression<Comparable> attribute,
+                                     Comparable value, boolean ascending) {
+        return ascending ? builder.greaterThan(attribute, value) : builder.lessThan(attribute, value);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Comparable parseKey(SortBy sortBy) throws ServiceException {
+        try {
+            switch (sortBy) {
+                case CREATE_DATE:
+                    return ZonedDateTime.parse(key);
+                case COST:
+                    return Double.parseDouble(key);
+                default:
+                    return key;
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ServiceException("Failed to validate: cursor does not match sort by " + sortBy,
+                    ErrorCodeEnum.PAGINATION_VALIDATION_ERROR);
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,5 @@
+package com.epam.esm.service.search.pagination;
+
+public enum PaginationMode {
+    EXACT, CHEAP
+}
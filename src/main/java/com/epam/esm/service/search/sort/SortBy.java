@@ -2,7 +2,7 @@ package com.epam.esm.service.search.sort;
 
 public enum SortBy {
 
-    NAME("Name"), CREATE_DATE("CreateDate"), COST("TotalCost"), LOGIN("Login");
+    NAME("Name"), CREATE_DATE("CreateDate"), COST("TotalCost"), LOGIN("Login"), RELEVANCE("Relevance");
 
     private final String name;
 
@@ -13,5 +13,9 @@ public enum SortBy {
     public String getName() {
         return name;
     }
+
+    public String getAttributeName() {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
 }
 
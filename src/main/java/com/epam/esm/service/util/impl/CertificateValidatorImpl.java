@@ -58,6 +58,15 @@ public class CertificateValidatorImpl implements CertificateValidator {
 
     @Override
     public void validateCertificateSearchCriteria(CertificateSearchCriteria searchCriteria) throws ServiceException {
+        if (searchCriteria.getTagMatchMode() == null) {
+            throw new ServiceException(
+                    "Failed to validate: tag match mode is empty", ErrorCodeEnum.CERTIFICATE_VALIDATION_ERROR
+            );
+        }
+        if (searchCriteria.getSortBy().equals(SortBy.RELEVANCE)) {
+            validateRelevanceSearchCriteria(searchCriteria);
+            return;
+        }
         if (!searchCriteria.getSortBy().equals(SortBy.NAME) && !searchCriteria.getSortBy().equals(SortBy.CREATE_DATE)) {
             throw new ServiceException(
                     "Cant sort certificates by " + searchCriteria.getSortBy(), ErrorCodeEnum.CERTIFICATE_VALIDATION_ERROR
@@ -65,6 +74,19 @@ public class CertificateValidatorImpl implements CertificateValidator {
         }
     }
 
+    private void validateRelevanceSearchCriteria(CertificateSearchCriteria searchCriteria) throws ServiceException {
+        if (searchCriteria.getContent() == null || searchCriteria.getContent().isBlank()) {
+            throw new ServiceException(
+                    "Cant sort certificates by relevance without content", ErrorCodeEnum.CERTIFICATE_VALIDATION_ERROR
+            );
+        }
+        if (searchCriteria.getAfter() != null) {
+            throw new ServiceException(
+                    "Cant sort certificates by relevance after cursor", ErrorCodeEnum.CERTIFICATE_VALIDATION_ERROR
+            );
+        }
+    }
+
     private void validatePrice(double price) throws ServiceException {
         if (price < 0) {
             throw new ServiceException(
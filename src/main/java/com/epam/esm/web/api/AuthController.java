@@ -1,8 +1,12 @@
 package com.epam.esm.web.api;
 
 import com.epam.esm.model.User;
+import com.epam.esm.security.AccessTokenServices;
+import com.epam.esm.security.AuthThrottle;
 import com.epam.esm.security.JwtTokenProvider;
+import com.epam.esm.service.TokenRevocationService;
 import com.epam.esm.service.UserService;
+import com.epam.esm.service.exception.ErrorCodeEnum;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.web.dto.AuthRequestDto;
 import com.epam.esm.web.dto.JwtTokenResponseObject;
@@ -10,14 +14,18 @@ import com.epam.esm.web.dto.UserDto;
 import com.epam.esm.web.hateoas.ModelAssembler;
 import com.epam.esm.web.hateoas.UserLinkBuilder;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/auth")
@@ -27,13 +35,22 @@ public class AuthController {
     private final ModelAssembler<UserDto> modelAssembler;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final AuthThrottle authThrottle;
+    private final AccessTokenServices accessTokenServices;
 
     public AuthController(UserService userService, ModelAssembler<UserDto> modelAssembler,
-                          JwtTokenProvider jwtTokenProvider, AuthenticationManager authenticationManager) {
+                          JwtTokenProvider jwtTokenProvider, AuthenticationManager authenticationManager,
+                          AuthThrottle authThrottle, SignatureVerifier accessTokenVerifier,
+                          JwtAccessTokenConverter jwtAccessTokenConverter,
+                          TokenRevocationService tokenRevocationService) {
         this.userService = userService;
         this.modelAssembler = modelAssembler;
         this.jwtTokenProvider = jwtTokenProvider;
         this.authenticationManager = authenticationManager;
+        this.authThrottle = authThrottle;
+        this.accessTokenServices = new AccessTokenServices(
+                jwtTokenProvider, accessTokenVerifier, jwtAccessTokenConverter, tokenRevocationService
+        );
     }
 
     @PostConstruct
@@ -42,18 +59,20 @@ public class AuthController {
     }
 
     @PostMapping("/signup")
-    public EntityModel<JwtTokenResponseObject> signup(@RequestBody AuthRequestDto requestDto) throws ServiceException {
+    public EntityModel<JwtTokenResponseObject> signup(@RequestBody AuthRequestDto requestDto,
+                                                      HttpServletRequest request) throws ServiceException {
+        authThrottle.acquire("signup", request.getRemoteAddr(), requestDto.getLogin());
         var user = new User();
         user.setLogin(requestDto.getLogin());
         user.setPassword(requestDto.getPassword());
-        userService.addUser(user);
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getLogin(), user.getPassword()));
 
-        return EntityModel.of(getResponse(user));
+        return EntityModel.of(getResponse(userService.addUser(user)));
     }
 
     @PostMapping("/login")
-    public EntityModel<JwtTokenResponseObject> login(@RequestBody AuthRequestDto requestDto) throws ServiceException {
+    public EntityModel<JwtTokenResponseObject> login(@RequestBody AuthRequestDto requestDto,
+                                                     HttpServletRequest request) throws ServiceException {
+        authThrottle.acquire("login", request.getRemoteAddr(), requestDto.getLogin());
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(requestDto.getLogin(), requestDto.getPassword())
         );
@@ -62,9 +81,24 @@ public class AuthController {
         return EntityModel.of(getResponse(user));
     }
 
+    @PostMapping("/logout")
+    public HttpStatus logout(HttpServletRequest request) throws ServiceException {
+        var token = jwtTokenProvider.resolveToken(request);
+        if (token == null) {
+            throw new ServiceException(
+                    "Failed to logout: jwt token is not passed", ErrorCodeEnum.JWT_AUTHENTICATION_ERROR
+            );
+        }
+        accessTokenServices.revokeToken(token);
+
+        return HttpStatus.OK;
+    }
+
     private JwtTokenResponseObject getResponse(User user) {
         return new JwtTokenResponseObject(
-                jwtTokenProvider.createJwtToken(user.getLogin(), user.getRole().getRoleType().toString())
+                jwtTokenProvider.createJwtToken(
+                        user.getId(), user.getLogin(), user.getRole().getRoleType().toString()
+                )
         );
     }
 }
@@ -1,13 +1,18 @@
 package com.epam.esm.web.api;
 
 import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Role;
+import com.epam.esm.security.AccessControl;
 import com.epam.esm.service.GiftCertificateService;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.CertificateSearchCriteria;
+import com.epam.esm.service.search.pagination.PaginationMode;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-import com.epam.esm.service.util.PaginationValidator;
+import com.epam.esm.web.cache.EntityTags;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.dto.GiftCertificateDto;
+import com.epam.esm.web.export.NdjsonWriterFactory;
 import com.epam.esm.web.hateoas.CertificateLinkBuilder;
 import com.epam.esm.web.hateoas.ModelAssembler;
 import com.epam.esm.web.hateoas.pagination.PaginationConfigurer;
@@ -16,10 +21,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/certificates")
@@ -28,14 +36,16 @@ public class CertificateController {
     private final GiftCertificateService giftCertificateService;
     private final ModelAssembler<GiftCertificateDto> modelAssembler;
     private final PaginationConfigurer paginationConfigurer;
+    private final NdjsonWriterFactory ndjsonWriterFactory;
 
     @Autowired
     public CertificateController(
             GiftCertificateService giftCertificateService, ModelAssembler<GiftCertificateDto> modelAssembler,
-            PaginationValidator paginationValidator) {
+            NdjsonWriterFactory ndjsonWriterFactory) {
         this.giftCertificateService = giftCertificateService;
         this.modelAssembler = modelAssembler;
-        this.paginationConfigurer = new PaginationConfigurerImpl<>(modelAssembler, paginationValidator);
+        this.paginationConfigurer = new PaginationConfigurerImpl();
+        this.ndjsonWriterFactory = ndjsonWriterFactory;
     }
 
     @PostConstruct
@@ -47,37 +57,69 @@ public class CertificateController {
     public CollectionModel<EntityModel<GiftCertificateDto>> getGiftCertificates(
             @RequestBody(required = false) CertificateSearchCriteria request,
             @RequestParam int page, @RequestParam int size,
-            @RequestParam SortType sortType, @RequestParam SortBy sortBy) throws ServiceException {
-        paginationConfigurer.configure(page, size, giftCertificateService.getLastPage(size), sortType, sortBy);
+            @RequestParam SortType sortType, @RequestParam SortBy sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) PaginationMode paginationMode,
+            Fieldset fieldset, WebRequest webRequest) throws ServiceException {
+        var version = giftCertificateService.getGiftCertificatesVersion(request);
+        var entityTag = EntityTags.of(version, page, size, sortType, sortBy, after, paginationMode, fieldset);
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        if (after != null || paginationMode != null) {
+            request = request == null ? CertificateSearchCriteria.getDefaultCertificateRequestBody() : request;
+            request.setAfter(after);
+            request.setPaginationMode(paginationMode);
+        }
+        var embedded = fieldset.getEmbedded(GiftCertificateDto.TAGS);
+        if (embedded != null) {
+            request = request == null ? CertificateSearchCriteria.getDefaultCertificateRequestBody() : request;
+            request.setEmbedded(embedded);
+        }
 
-        return modelAssembler.toCollectionModel(
-                GiftCertificateDto.of(
-                        giftCertificateService.getGiftCertificatesByPage(request, page, size, sortType, sortBy)
-                )
-        );
+        var certificates = giftCertificateService.getGiftCertificatesByPage(request, page, size, sortType, sortBy);
+        var certificatesDto = GiftCertificateDto.of(certificates.getContent(), fieldset);
+        var pagination = paginationConfigurer.configure(certificates, sortType, sortBy, fieldset);
+        return modelAssembler.toCollectionModel(certificatesDto, pagination);
+    }
+
+    @GetMapping("/export")
+    public void exportGiftCertificates(
+            @RequestBody(required = false) CertificateSearchCriteria request,
+            @RequestParam SortType sortType, @RequestParam SortBy sortBy,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws ServiceException, IOException {
+        ndjsonWriterFactory.export(httpRequest, httpResponse, writer -> giftCertificateService.exportGiftCertificates(
+                request, sortType, sortBy,
+                certificates -> certificates.forEach(c -> writer.write(GiftCertificateDto.of(c)))
+        ));
     }
 
     @GetMapping("/{id}")
-    public EntityModel<GiftCertificateDto> getGiftCertificate(@PathVariable int id) throws ServiceException {
+    public EntityModel<GiftCertificateDto> getGiftCertificate(@PathVariable int id, WebRequest webRequest)
+            throws ServiceException {
+        var lastModified = giftCertificateService.getGiftCertificateLastUpdateDate(id).toInstant().toEpochMilli();
+        if (webRequest.checkNotModified(EntityTags.of(id, lastModified), lastModified)) {
+            return null;
+        }
         return modelAssembler.toModel(GiftCertificateDto.of(giftCertificateService.getGiftCertificateById(id)));
     }
 
     @PostMapping
-    @PreAuthorize("hasAuthority('certificates:write')")
+    @AccessControl(allOf = Role.Permission.CERTIFICATES_WRITE)
     public EntityModel<GiftCertificateDto> addGiftCertificate(@RequestBody GiftCertificate giftCertificate)
             throws ServiceException {
         return modelAssembler.toModel(GiftCertificateDto.of(giftCertificateService.addGiftCertificate(giftCertificate)));
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('certificates:write')")
+    @AccessControl(allOf = Role.Permission.CERTIFICATES_WRITE)
     public HttpStatus deleteGiftCertificate(@PathVariable int id) throws ServiceException {
         giftCertificateService.deleteGiftCertificate(id);
         return HttpStatus.OK;
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('certificates:write')")
+    @AccessControl(allOf = Role.Permission.CERTIFICATES_WRITE)
     public EntityModel<GiftCertificateDto> updateGiftCertificate(
             @RequestBody GiftCertificate giftCertificate, @PathVariable int id) throws ServiceException {
         return modelAssembler.toModel(
@@ -2,20 +2,44 @@ package com.epam.esm.web.api;
 
 import com.epam.esm.service.exception.ErrorCodeEnum;
 import com.epam.esm.service.exception.ServiceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 @ControllerAdvice
 public class ExceptionHandlerController {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String THROTTLED_RETRY_AFTER_SECONDS = "60";
+
     @ExceptionHandler(ServiceException.class)
     public ResponseEntity<ServiceException> handleServiceException(ServiceException exception) {
+        if (exception.getErrorCode() == ErrorCodeEnum.AUTHENTICATION_OVERLOADED) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(exception);
+        }
+        if (exception.getErrorCode() == ErrorCodeEnum.AUTHENTICATION_THROTTLED) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, THROTTLED_RETRY_AFTER_SECONDS)
+                    .body(exception);
+        }
         return new ResponseEntity<>(exception, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InternalAuthenticationServiceException.class)
+    public ResponseEntity<ServiceException> handleInternalAuthenticationException(
+            InternalAuthenticationServiceException exception) {
+        if (exception.getCause() instanceof ServiceException) {
+            return handleServiceException((ServiceException) exception.getCause());
+        }
+        throw exception;
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ServiceException> handleServiceException() {
         var exception = new ServiceException("Invalid field type passed in a JSON", ErrorCodeEnum.INVALID_INPUT);
@@ -1,12 +1,18 @@
 package com.epam.esm.web.api;
 
+import com.epam.esm.model.Role;
+import com.epam.esm.security.AccessControl;
 import com.epam.esm.service.AuditedOrderService;
+import com.epam.esm.service.OrderSummaryService;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.OrderSearchCriteria;
+import com.epam.esm.service.search.pagination.PaginationMode;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-import com.epam.esm.service.util.PaginationValidator;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.dto.OrderDto;
+import com.epam.esm.web.dto.SummaryRebuildResponseObject;
+import com.epam.esm.web.export.NdjsonWriterFactory;
 import com.epam.esm.web.hateoas.ModelAssembler;
 import com.epam.esm.web.hateoas.OrderLinkBuilder;
 import com.epam.esm.web.hateoas.pagination.PaginationConfigurer;
@@ -14,25 +20,31 @@ import com.epam.esm.web.hateoas.pagination.impl.PaginationConfigurerImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
     private final AuditedOrderService auditedOrderService;
+    private final OrderSummaryService orderSummaryService;
     private final ModelAssembler<OrderDto> modelAssembler;
     private final PaginationConfigurer paginationConfigurer;
+    private final NdjsonWriterFactory ndjsonWriterFactory;
 
     @Autowired
-    public OrderController(ModelAssembler<OrderDto> modelAssembler, PaginationValidator paginationValidator,
-                           AuditedOrderService auditedOrderService) {
+    public OrderController(ModelAssembler<OrderDto> modelAssembler, AuditedOrderService auditedOrderService,
+                           OrderSummaryService orderSummaryService, NdjsonWriterFactory ndjsonWriterFactory) {
         this.modelAssembler = modelAssembler;
-        this.paginationConfigurer = new PaginationConfigurerImpl<>(modelAssembler, paginationValidator);
+        this.paginationConfigurer = new PaginationConfigurerImpl();
         this.auditedOrderService = auditedOrderService;
+        this.orderSummaryService = orderSummaryService;
+        this.ndjsonWriterFactory = ndjsonWriterFactory;
     }
 
     @PostConstruct
@@ -41,20 +53,50 @@ public class OrderController {
     }
 
     @GetMapping
-    @PreAuthorize("hasAuthority('orders:read')")
+    @AccessControl(allOf = Role.Permission.ORDERS_READ)
     public CollectionModel<EntityModel<OrderDto>> getOrders(
             @RequestBody(required = false) OrderSearchCriteria requestBody,
             @RequestParam int page, @RequestParam int size,
-            @RequestParam SortType sortType, @RequestParam SortBy sortBy) throws ServiceException {
-        paginationConfigurer.configure(page, size, auditedOrderService.getLastPage(size), sortType, sortBy);
+            @RequestParam SortType sortType, @RequestParam SortBy sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) PaginationMode paginationMode,
+            Fieldset fieldset) throws ServiceException {
+        if (after != null || paginationMode != null) {
+            requestBody = requestBody == null ? OrderSearchCriteria.getDefaultOrderRequestBody() : requestBody;
+            requestBody.setAfter(after);
+            requestBody.setPaginationMode(paginationMode);
+        }
+        var embedded = fieldset.getEmbedded(OrderDto.ORDER_LINES);
+        if (embedded != null) {
+            requestBody = requestBody == null ? OrderSearchCriteria.getDefaultOrderRequestBody() : requestBody;
+            requestBody.setEmbedded(embedded);
+        }
 
-        return modelAssembler.toCollectionModel(
-                OrderDto.of(auditedOrderService.getAuditedOrdersByPage(requestBody, page, size, sortType, sortBy))
-        );
+        var orders = auditedOrderService.getAuditedOrdersByPage(requestBody, page, size, sortType, sortBy);
+        var ordersDto = OrderDto.of(orders.getContent(), fieldset);
+        var pagination = paginationConfigurer.configure(orders, sortType, sortBy, fieldset);
+        return modelAssembler.toCollectionModel(ordersDto, pagination);
+    }
+
+    @GetMapping("/export")
+    @AccessControl(allOf = Role.Permission.ORDERS_READ)
+    public void exportOrders(
+            @RequestBody(required = false) OrderSearchCriteria requestBody,
+            @RequestParam SortType sortType, @RequestParam SortBy sortBy,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws ServiceException, IOException {
+        ndjsonWriterFactory.export(httpRequest, httpResponse, writer -> auditedOrderService.exportAuditedOrders(
+                requestBody, sortType, sortBy, orders -> orders.forEach(o -> writer.write(OrderDto.of(o)))
+        ));
+    }
+
+    @PostMapping("/summaries/rebuild")
+    @AccessControl(allOf = {Role.Permission.ORDERS_READ, Role.Permission.ORDERS_WRITE})
+    public SummaryRebuildResponseObject rebuildSummaries() throws ServiceException {
+        return new SummaryRebuildResponseObject(orderSummaryService.rebuildSummaries());
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('orders:read')")
+    @AccessControl(allOf = Role.Permission.ORDERS_READ)
     public EntityModel<OrderDto> getOrder(@PathVariable int id) throws ServiceException {
         return modelAssembler.toModel(OrderDto.of(auditedOrderService.getAuditedOrderById(id)));
     }
@@ -1,13 +1,18 @@
 package com.epam.esm.web.api;
 
+import com.epam.esm.model.Role;
 import com.epam.esm.model.Tag;
+import com.epam.esm.security.AccessControl;
 import com.epam.esm.service.TagService;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.TagSearchCriteria;
+import com.epam.esm.service.search.pagination.PaginationMode;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-import com.epam.esm.service.util.PaginationValidator;
+import com.epam.esm.web.cache.EntityTags;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.dto.TagDto;
+import com.epam.esm.web.export.NdjsonWriterFactory;
 import com.epam.esm.web.hateoas.ModelAssembler;
 import com.epam.esm.web.hateoas.TagLinkBuilder;
 import com.epam.esm.web.hateoas.pagination.PaginationConfigurer;
@@ -16,10 +21,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/tags")
@@ -28,13 +36,15 @@ public class TagController {
     private final TagService tagService;
     private final ModelAssembler<TagDto> modelAssembler;
     private final PaginationConfigurer paginationConfigurer;
+    private final NdjsonWriterFactory ndjsonWriterFactory;
 
     @Autowired
     public TagController(TagService tagService, ModelAssembler<TagDto> modelAssembler,
-                         PaginationValidator paginationValidator) {
+                         NdjsonWriterFactory ndjsonWriterFactory) {
         this.tagService = tagService;
         this.modelAssembler = modelAssembler;
-        this.paginationConfigurer = new PaginationConfigurerImpl<>(modelAssembler, paginationValidator);
+        this.paginationConfigurer = new PaginationConfigurerImpl();
+        this.ndjsonWriterFactory = ndjsonWriterFactory;
     }
 
     @PostConstruct
@@ -46,27 +56,54 @@ public class TagController {
     public CollectionModel<EntityModel<TagDto>> getTags(
             @RequestBody(required = false) TagSearchCriteria requestBody,
             @RequestParam int page, @RequestParam int size,
-            @RequestParam SortType sortType, @RequestParam SortBy sortBy) throws ServiceException {
-        paginationConfigurer.configure(page, size, tagService.getLastPage(size), sortType, sortBy);
+            @RequestParam SortType sortType, @RequestParam SortBy sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) PaginationMode paginationMode,
+            Fieldset fieldset, WebRequest webRequest) throws ServiceException {
+        var version = tagService.getTagsVersion();
+        var entityTag = EntityTags.of(version, page, size, sortType, sortBy, after, paginationMode, fieldset);
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        if (after != null || paginationMode != null) {
+            requestBody = requestBody == null ? TagSearchCriteria.getDefaultTagRequestBody() : requestBody;
+            requestBody.setAfter(after);
+            requestBody.setPaginationMode(paginationMode);
+        }
 
-        return modelAssembler.toCollectionModel(
-                TagDto.of(tagService.getAllTagsByPage(requestBody, page, size, sortType, sortBy))
-        );
+        var tags = tagService.getAllTagsByPage(requestBody, page, size, sortType, sortBy);
+        var tagsDto = TagDto.of(tags.getContent(), fieldset);
+        var pagination = paginationConfigurer.configure(tags, sortType, sortBy, fieldset);
+        return modelAssembler.toCollectionModel(tagsDto, pagination);
+    }
+
+    @GetMapping("/export")
+    public void exportTags(
+            @RequestBody(required = false) TagSearchCriteria requestBody,
+            @RequestParam SortType sortType, @RequestParam SortBy sortBy,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws ServiceException, IOException {
+        ndjsonWriterFactory.export(httpRequest, httpResponse, writer -> tagService.exportTags(
+                requestBody, sortType, sortBy, tags -> tags.forEach(t -> writer.write(TagDto.of(t)))
+        ));
     }
 
     @GetMapping("/{id}")
-    public EntityModel<TagDto> getTag(@PathVariable int id) throws ServiceException {
+    public EntityModel<TagDto> getTag(@PathVariable int id, WebRequest webRequest) throws ServiceException {
+        tagService.checkTagExists(id);
+        if (webRequest.checkNotModified(EntityTags.of(id))) {
+            return null;
+        }
         return modelAssembler.toModel(TagDto.of(tagService.getTagById(id)));
     }
 
     @PostMapping
-    @PreAuthorize("hasAuthority('tags:write')")
+    @AccessControl(allOf = Role.Permission.TAGS_WRITE)
     public EntityModel<TagDto> addTag(@RequestBody Tag tag) throws ServiceException {
         return modelAssembler.toModel(TagDto.of(tagService.addTag(tag)));
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('tags:write')")
+    @AccessControl(allOf = Role.Permission.TAGS_WRITE)
     public HttpStatus deleteTag(@PathVariable int id) throws ServiceException {
         tagService.deleteTag(id);
         return HttpStatus.OK;
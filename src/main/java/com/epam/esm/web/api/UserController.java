@@ -1,15 +1,18 @@
 package com.epam.esm.web.api;
 
 import com.epam.esm.model.Order;
+import com.epam.esm.model.Role;
+import com.epam.esm.security.AccessControl;
 import com.epam.esm.service.AuditedOrderService;
 import com.epam.esm.service.OrderService;
 import com.epam.esm.service.UserService;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.criteria.OrderSearchCriteria;
 import com.epam.esm.service.search.criteria.UserSearchCriteria;
+import com.epam.esm.service.search.pagination.PaginationMode;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-import com.epam.esm.service.util.PaginationValidator;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.dto.OrderDto;
 import com.epam.esm.web.dto.UserDto;
 import com.epam.esm.web.hateoas.ModelAssembler;
@@ -21,7 +24,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.PostConstruct;
@@ -40,13 +42,13 @@ public class UserController {
     @Autowired
     public UserController(UserService userService, AuditedOrderService auditedOrderService,
                           ModelAssembler<UserDto> modelAssembler, ModelAssembler<OrderDto> orderModelAssembler,
-                          OrderService orderService, PaginationValidator paginationValidator) {
+                          OrderService orderService) {
         this.userService = userService;
         this.auditedOrderService = auditedOrderService;
         this.modelAssembler = modelAssembler;
         this.orderModelAssembler = orderModelAssembler;
         this.orderService = orderService;
-        this.paginationConfigurer = new PaginationConfigurerImpl<>(modelAssembler, paginationValidator);
+        this.paginationConfigurer = new PaginationConfigurerImpl();
     }
 
     @PostConstruct
@@ -56,47 +58,71 @@ public class UserController {
     }
 
     @GetMapping
-    @PreAuthorize("hasAuthority('users:read')")
+    @AccessControl(allOf = Role.Permission.USERS_READ)
     public CollectionModel<EntityModel<UserDto>> getUsers(
             @RequestBody(required = false) UserSearchCriteria request,
             @RequestParam int page, @RequestParam int size,
-            @RequestParam SortType sortType, @RequestParam SortBy sortBy) throws ServiceException {
-        paginationConfigurer.configure(page, size, userService.getLastPage(size), sortType, sortBy);
+            @RequestParam SortType sortType, @RequestParam SortBy sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) PaginationMode paginationMode,
+            Fieldset fieldset) throws ServiceException {
+        if (after != null || paginationMode != null) {
+            request = request == null ? UserSearchCriteria.getDefaultUserRequestBody() : request;
+            request.setAfter(after);
+            request.setPaginationMode(paginationMode);
+        }
+        var embedded = fieldset.getEmbedded(UserDto.ORDERS);
+        if (embedded != null) {
+            request = request == null ? UserSearchCriteria.getDefaultUserRequestBody() : request;
+            request.setEmbedded(embedded);
+        }
 
-        return modelAssembler.toCollectionModel(
-                UserDto.of(userService.getAllUsersByPage(request, page, size, sortType, sortBy))
-        );
+        var users = userService.getAllUsersByPage(request, page, size, sortType, sortBy);
+        var usersDto = UserDto.of(users.getContent(), fieldset);
+        var pagination = paginationConfigurer.configure(users, sortType, sortBy, fieldset);
+        return modelAssembler.toCollectionModel(usersDto, pagination);
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("(@userSecurityUtil.authenticateUserId(authentication, #id) or hasAuthority('users:read'))")
+    @AccessControl(user = "id", orAnyOf = Role.Permission.USERS_READ)
     public EntityModel<UserDto> getUser(@PathVariable int id) throws ServiceException {
         return modelAssembler.toModel(UserDto.of(userService.getUserById(id)));
     }
 
     @GetMapping("/{id}/orders")
-    @PreAuthorize("(hasAuthority('orders:read') or @userSecurityUtil.authenticateUserId(authentication, #id))")
+    @AccessControl(user = "id", orAnyOf = Role.Permission.ORDERS_READ)
     public CollectionModel<EntityModel<OrderDto>> getUserOrders(
             @RequestBody(required = false) OrderSearchCriteria requestBody,
             @RequestParam int page, @RequestParam int size, @PathVariable int id,
-            @RequestParam SortType sortType, @RequestParam SortBy sortBy) throws ServiceException {
-        return orderModelAssembler.toCollectionModel(
-                OrderDto.of(auditedOrderService.getAuditedOrdersByUserId(id, requestBody, page, size, sortType, sortBy))
-        );
+            @RequestParam SortType sortType, @RequestParam SortBy sortBy,
+            @RequestParam(required = false) String after, Fieldset fieldset) throws ServiceException {
+        if (after != null) {
+            requestBody = requestBody == null ? OrderSearchCriteria.getDefaultOrderRequestBody() : requestBody;
+            requestBody.setAfter(after);
+        }
+        var embedded = fieldset.getEmbedded(OrderDto.ORDER_LINES);
+        if (embedded != null) {
+            requestBody = requestBody == null ? OrderSearchCriteria.getDefaultOrderRequestBody() : requestBody;
+            requestBody.setEmbedded(embedded);
+        }
+
+        var orders = auditedOrderService.getAuditedOrdersByUserId(id, requestBody, page, size, sortType, sortBy);
+        var ordersDto = OrderDto.of(orders.getContent(), fieldset);
+        if (!fieldset.hasLinks()) {
+            return orderModelAssembler.toCollectionModelWithoutLinks(ordersDto);
+        }
+        return orderModelAssembler.toCollectionModel(ordersDto);
     }
 
     @PostMapping("/{id}/orders")
-    @PreAuthorize("hasAuthority('orders:write') and @userSecurityUtil.authenticateUserId(authentication, #id)")
+    @AccessControl(allOf = Role.Permission.ORDERS_WRITE, user = "id")
     public EntityModel<OrderDto> addUserOrder(@RequestBody Order order, @PathVariable int id)
             throws ServiceException {
         return orderModelAssembler.toModel(OrderDto.of(orderService.addUserOrder(order, id)));
     }
 
     @DeleteMapping("/{id}/orders/{orderId}")
-    @PreAuthorize(
-            "hasAuthority('orders:write') and @userSecurityUtil.authenticateOrderId(authentication, #orderId) " +
-                    "and @userSecurityUtil.authenticateUserId(authentication, #id)"
-    )
+    @AccessControl(allOf = Role.Permission.ORDERS_WRITE, user = "id", order = "orderId")
     public HttpStatus deleteOrder(@PathVariable int id, @PathVariable int orderId) throws ServiceException {
         orderService.deleteOrder(orderId);
         return HttpStatus.OK;
@@ -0,0 +1,32 @@
+package com.epam.esm.web.cache;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Builds strong entity tags from versions of resources and
+ * parameters of requests, so that they are known before
+ * representations are built.
+ *
+ * @author Aleksey Sayarkin
+ */
+public final class EntityTags {
+
+    private static final String SEPARATOR = "|";
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param parts version of a resource and everything else its representation depends on.
+     * @return quoted digest of the parts.
+     */
+    public static String of(Object... parts) {
+        var value = Arrays.stream(parts).map(Objects::toString).collect(Collectors.joining(SEPARATOR));
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
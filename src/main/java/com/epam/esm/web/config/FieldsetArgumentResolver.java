@@ -0,0 +1,33 @@
+package com.epam.esm.web.config;
+
+import com.epam.esm.web.dto.Fieldset;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@code Fieldset} arguments of controller methods from
+ * {@code fields}, {@code embed} and {@code links} request parameters.
+ * Link templates of the methods carry them as optional parameters.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class FieldsetArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Fieldset.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Fieldset resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                    NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return Fieldset.of(
+                webRequest.getParameter(Fieldset.FIELDS),
+                webRequest.getParameter(Fieldset.EMBED),
+                webRequest.getParameter(Fieldset.LINKS)
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package com.epam.esm.web.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Parts of a representation asked for by a client: {@code fields}
+ * lists fields of the resource, {@code embed} lists its nested
+ * collections and {@code links=none} leaves links out. Missing
+ * {@code fields} or {@code embed} mean all of them. Id is always
+ * included, links and cursors are built from it. Fields of embedded
+ * resources are not filtered. Raw parameters are kept for links to
+ * other pages.
+ *
+ * @author Aleksey Sayarkin
+ */
+public final class Fieldset {
+
+    public static final String FIELDS = "fields";
+    public static final String EMBED = "embed";
+    public static final String LINKS = "links";
+
+    public static final Fieldset ALL = new Fieldset(null, null, null, null, null);
+
+    private static final String ID = "id";
+    private static final String NO_LINKS = "none";
+
+    private final Set<String> fields;
+    private final Set<String> embedded;
+    private final boolean links;
+    private final String fieldsParameter;
+    private final String embedParameter;
+    private final String linksParameter;
+
+    private Fieldset(Set<String> fields, Set<String> embedded,
+                     String fieldsParameter, String embedParameter, String linksParameter) {
+        this.fields = fields;
+        this.embedded = embedded;
+        this.links = !NO_LINKS.equalsIgnoreCase(linksParameter);
+        this.fieldsParameter = fieldsParameter;
+        this.embedParameter = embedParameter;
+        this.linksParameter = linksParameter;
+    }
+
+    /**
+     * @param fields comma separated fields, null for all of them.
+     * @param embed comma separated nested collections, null for all of them.
+     * @param links {@code none} to leave links out.
+     * @return fieldset of the parameters.
+     */
+    public static Fieldset of(String fields, String embed, String links) {
+        if (fields == null && embed == null && links == null) {
+            return ALL;
+        }
+        return new Fieldset(split(fields), split(embed), fields, embed, links);
+    }
+
+    public boolean includes(String field) {
+        return fields == null || ID.equals(field) || fields.contains(field);
+    }
+
+    public boolean embeds(String association) {
+        return includes(association) && (embedded == null || embedded.contains(association));
+    }
+
+    public boolean hasLinks() {
+        return links;
+    }
+
+    public String getFieldsParameter() {
+        return fieldsParameter;
+    }
+
+    public String getEmbedParameter() {
+        return embedParameter;
+    }
+
+    public String getLinksParameter() {
+        return linksParameter;
+    }
+
+    /**
+     * @param associations nested collections of the resource.
+     * @return those of them that are embedded, null when all are.
+     */
+    public Set<String> getEmbedded(String... associations) {
+        var result = Arrays.stream(associations).filter(this::embeds).collect(Collectors.toSet());
+        return result.size() == associations.length ? null : result;
+    }
+
+    private static Set<String> split(String values) {
+        if (values == null) {
+            return null;
+        }
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .collect(Collectors.collectingAndThen(Collectors.toCollection(TreeSet::new),
+                        Collections::unmodifiableSet));
+    }
+
+    @Override
+    public String toString() {
+        return FIELDS + "=" + fields + ";" + EMBED + "=" + embedded + ";" + LINKS + "=" + links;
+    }
+}
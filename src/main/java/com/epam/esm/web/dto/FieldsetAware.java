@@ -0,0 +1,13 @@
+package com.epam.esm.web.dto;
+
+/**
+ * Representation mapped with a fieldset. Fields it leaves out are
+ * omitted from JSON by {@code FieldsetPropertyFilter}, fields of the
+ * default representation are written even if they are null.
+ *
+ * @author Aleksey Sayarkin
+ */
+public interface FieldsetAware {
+
+    Fieldset getFieldset();
+}
@@ -0,0 +1,44 @@
+package com.epam.esm.web.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Omits properties of a {@code FieldsetAware} representation left out
+ * by its fieldset. Only null values are omitted, so links and other
+ * properties unknown to the fieldset are always written. Collections
+ * are checked as embedded associations, other values as fields.
+ *
+ * @author Aleksey Sayarkin
+ */
+public class FieldsetPropertyFilter extends SimpleBeanPropertyFilter {
+
+    public static final String ID = "fieldset";
+
+    public static final FilterProvider PROVIDER =
+            new SimpleFilterProvider().addFilter(ID, new FieldsetPropertyFilter());
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                 PropertyWriter writer) throws Exception {
+        if (pojo instanceof FieldsetAware && isLeftOut(((FieldsetAware) pojo).getFieldset(), pojo, writer)) {
+            writer.serializeAsOmittedField(pojo, generator, provider);
+        } else {
+            writer.serializeAsField(pojo, generator, provider);
+        }
+    }
+
+    private static boolean isLeftOut(Fieldset fieldset, Object pojo, PropertyWriter writer) throws Exception {
+        if (fieldset == Fieldset.ALL || !(writer instanceof BeanPropertyWriter)) {
+            return false;
+        }
+        var name = writer.getName();
+        var leftOut = writer.getType().isContainerType() ? !fieldset.embeds(name) : !fieldset.includes(name);
+        return leftOut && ((BeanPropertyWriter) writer).get(pojo) == null;
+    }
+}
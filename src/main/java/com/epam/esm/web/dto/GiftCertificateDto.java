@@ -1,6 +1,8 @@
 package com.epam.esm.web.dto;
 
 import com.epam.esm.model.GiftCertificate;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.RepresentationModel;
 
@@ -11,35 +13,73 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-public class GiftCertificateDto extends RepresentationModel<GiftCertificateDto> {
+@JsonFilter(FieldsetPropertyFilter.ID)
+public class GiftCertificateDto extends RepresentationModel<GiftCertificateDto> implements FieldsetAware {
+
+    public static final String TAGS = "tags";
+
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String PRICE = "price";
+    private static final String CREATE_DATE = "createDate";
+    private static final String LAST_UPDATE_DATE = "lastUpdateDate";
+    private static final String DURATION = "duration";
 
     private int id;
     private String name;
     private String description;
-    private double price;
+    private Double price;
     private ZonedDateTime createDate;
     private ZonedDateTime lastUpdateDate;
-    private int duration;
+    private Integer duration;
     private Set<EntityModel<TagDto>> tags = new HashSet<>();
 
+    @JsonIgnore
+    private Fieldset fieldset = Fieldset.ALL;
+
     public static GiftCertificateDto of(GiftCertificate giftCertificate) {
+        return of(giftCertificate, Fieldset.ALL);
+    }
+
+    public static GiftCertificateDto of(GiftCertificate giftCertificate, Fieldset fieldset) {
         var giftCertificateDto = new GiftCertificateDto();
         giftCertificateDto.setId(giftCertificate.getId());
-        giftCertificateDto.setName(giftCertificate.getName());
-        giftCertificateDto.setDescription(giftCertificate.getDescription());
-        giftCertificateDto.setPrice(giftCertificate.getPrice());
-        giftCertificateDto.setCreateDate(giftCertificate.getCreateDate());
-        giftCertificateDto.setLastUpdateDate(giftCertificate.getLastUpdateDate());
-        giftCertificateDto.setDuration(giftCertificate.getDuration());
-        Set<EntityModel<TagDto>> tagsDto = new HashSet<>();
-        giftCertificate.getTags().forEach(t -> tagsDto.add(EntityModel.of(TagDto.of(t))));
-        giftCertificateDto.setTags(tagsDto);
+        giftCertificateDto.setFieldset(fieldset);
+        if (fieldset.includes(NAME)) {
+            giftCertificateDto.setName(giftCertificate.getName());
+        }
+        if (fieldset.includes(DESCRIPTION)) {
+            giftCertificateDto.setDescription(giftCertificate.getDescription());
+        }
+        if (fieldset.includes(PRICE)) {
+            giftCertificateDto.setPrice(giftCertificate.getPrice());
+        }
+        if (fieldset.includes(CREATE_DATE)) {
+            giftCertificateDto.setCreateDate(giftCertificate.getCreateDate());
+        }
+        if (fieldset.includes(LAST_UPDATE_DATE)) {
+            giftCertificateDto.setLastUpdateDate(giftCertificate.getLastUpdateDate());
+        }
+        if (fieldset.includes(DURATION)) {
+            giftCertificateDto.setDuration(giftCertificate.getDuration());
+        }
+        if (fieldset.embeds(TAGS)) {
+            Set<EntityModel<TagDto>> tagsDto = new HashSet<>();
+            giftCertificate.getTags().forEach(t -> tagsDto.add(EntityModel.of(TagDto.of(t))));
+            giftCertificateDto.setTags(tagsDto);
+        } else {
+            giftCertificateDto.setTags(null);
+        }
 
         return giftCertificateDto;
     }
 
     public static List<GiftCertificateDto> of(List<GiftCertificate> certificates) {
-        return certificates.stream().map(GiftCertificateDto::of).collect(Collectors.toList());
+        return of(certificates, Fieldset.ALL);
+    }
+
+    public static List<GiftCertificateDto> of(List<GiftCertificate> certificates, Fieldset fieldset) {
+        return certificates.stream().map(c -> of(c, fieldset)).collect(Collectors.toList());
     }
 
     public int getId() {
@@ -66,11 +106,11 @@ public class GiftCertificateDto extends RepresentationModel<GiftCertificateDto>
         this.description = description;
     }
 
-    public double getPrice() {
+    public Double getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
+    public void setPrice(Double price) {
         this.price = price;
     }
 
@@ -90,14 +130,23 @@ public class GiftCertificateDto extends RepresentationModel<GiftCertificateDto>
         this.lastUpdateDate = lastUpdateDate;
     }
 
-    public int getDuration() {
+    public Integer getDuration() {
         return duration;
     }
 
-    public void setDuration(int duration) {
+    public void setDuration(Integer duration) {
         this.duration = duration;
     }
 
+    @Override
+    public Fieldset getFieldset() {
+        return fieldset;
+    }
+
+    public void setFieldset(Fieldset fieldset) {
+        this.fieldset = fieldset;
+    }
+
     public Set<EntityModel<TagDto>> getTags() {
         return tags;
     }
@@ -112,7 +161,10 @@ public class GiftCertificateDto extends RepresentationModel<GiftCertificateDto>
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         GiftCertificateDto that = (GiftCertificateDto) o;
-        return id == that.id && Double.compare(that.price, price) == 0 && duration == that.duration && name.equals(that.name) && description.equals(that.description) && createDate.equals(that.createDate) && lastUpdateDate.equals(that.lastUpdateDate) && tags.equals(that.tags);
+        return id == that.id && Objects.equals(price, that.price) && Objects.equals(duration, that.duration)
+                && Objects.equals(name, that.name) && Objects.equals(description, that.description)
+                && Objects.equals(createDate, that.createDate) && Objects.equals(lastUpdateDate, that.lastUpdateDate)
+                && Objects.equals(tags, that.tags);
     }
 
     @Override
@@ -1,44 +1,99 @@
 package com.epam.esm.web.dto;
 
 import com.epam.esm.model.Order;
+import com.epam.esm.model.OrderLine;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.RepresentationModel;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-public class OrderDto extends RepresentationModel<OrderDto> {
+@JsonFilter(FieldsetPropertyFilter.ID)
+public class OrderDto extends RepresentationModel<OrderDto> implements FieldsetAware {
+
+    public static final String ORDER_LINES = "orderLines";
+
+    private static final String TOTAL_COST = "totalCost";
+    private static final String CREATE_DATE = "createDate";
+    private static final Fieldset SNAPSHOT_FIELDS = Fieldset.of("name,price,duration,tags", null, null);
 
     private int id;
-    private double totalCost;
+    private Double totalCost;
     private ZonedDateTime createDate;
+    private List<EntityModel<OrderLineDto>> orderLines = new ArrayList<>();
     private Set<EntityModel<GiftCertificateDto>> giftCertificateList = new HashSet<>();
 
     @JsonIgnore
     private int userId;
 
+    @JsonIgnore
+    private Fieldset fieldset = Fieldset.ALL;
+
     public static OrderDto of(Order order) {
+        return of(order, Fieldset.ALL);
+    }
+
+    public static OrderDto of(Order order, Fieldset fieldset) {
         var orderDto = new OrderDto();
         orderDto.setId(order.getId());
-        orderDto.setTotalCost(order.getTotalCost());
-        orderDto.setCreateDate(order.getCreateDate());
-        Set<EntityModel<GiftCertificateDto>> giftCertificateDto = new HashSet<>();
-        order.getGiftCertificateList().forEach(g ->
-                giftCertificateDto.add(EntityModel.of(GiftCertificateDto.of(g)))
-        );
-        orderDto.setGiftCertificateList(giftCertificateDto);
+        orderDto.setFieldset(fieldset);
+        if (fieldset.includes(TOTAL_COST)) {
+            orderDto.setTotalCost(order.getTotalCost());
+        }
+        if (fieldset.includes(CREATE_DATE)) {
+            orderDto.setCreateDate(order.getCreateDate());
+        }
+        if (fieldset.embeds(ORDER_LINES)) {
+            List<EntityModel<OrderLineDto>> orderLinesDto = new ArrayList<>();
+            order.getOrderLines().forEach(l -> orderLinesDto.add(EntityModel.of(OrderLineDto.of(l))));
+            orderDto.setOrderLines(orderLinesDto);
+            Set<EntityModel<GiftCertificateDto>> giftCertificateDto = new HashSet<>();
+            order.getOrderLines().forEach(l -> giftCertificateDto.add(EntityModel.of(toGiftCertificateDto(l))));
+            orderDto.setGiftCertificateList(giftCertificateDto);
+        } else {
+            orderDto.setOrderLines(null);
+            orderDto.setGiftCertificateList(null);
+        }
         orderDto.setUserId(order.getUser().getId());
 
         return orderDto;
     }
 
     public static List<OrderDto> of(List<Order> orders) {
-        return orders.stream().map(OrderDto::of).collect(Collectors.toList());
+        return of(orders, Fieldset.ALL);
+    }
+
+    public static List<OrderDto> of(List<Order> orders, Fieldset fieldset) {
+        return orders.stream().map(o -> of(o, fieldset)).collect(Collectors.toList());
+    }
+
+    /*
+     * Certificates were served as they are now before order lines, the
+     * old field is kept and built from snapshots. Tags have names only.
+     */
+    private static GiftCertificateDto toGiftCertificateDto(OrderLine orderLine) {
+        var giftCertificateDto = new GiftCertificateDto();
+        giftCertificateDto.setId(orderLine.getCertificateId());
+        giftCertificateDto.setFieldset(SNAPSHOT_FIELDS);
+        giftCertificateDto.setName(orderLine.getName());
+        giftCertificateDto.setPrice(orderLine.getPrice());
+        giftCertificateDto.setDuration(orderLine.getDuration());
+        Set<EntityModel<TagDto>> tagsDto = new HashSet<>();
+        orderLine.getTagNames().forEach(n -> {
+            var tagDto = new TagDto();
+            tagDto.setName(n);
+            tagsDto.add(EntityModel.of(tagDto));
+        });
+        giftCertificateDto.setTags(tagsDto);
+
+        return giftCertificateDto;
     }
 
     public int getId() {
@@ -49,11 +104,11 @@ public class OrderDto extends RepresentationModel<OrderDto> {
         this.id = id;
     }
 
-    public double getTotalCost() {
+    public Double getTotalCost() {
         return totalCost;
     }
 
-    public void setTotalCost(double totalCost) {
+    public void setTotalCost(Double totalCost) {
         this.totalCost = totalCost;
     }
 
@@ -65,6 +120,18 @@ public class OrderDto extends RepresentationModel<OrderDto> {
         this.createDate = createDate;
     }
 
+    public List<EntityModel<OrderLineDto>> getOrderLines() {
+        return orderLines;
+    }
+
+    public void setOrderLines(List<EntityModel<OrderLineDto>> orderLines) {
+        this.orderLines = orderLines;
+    }
+
+    /**
+     * @deprecated certificates as they were ordered, use {@link #getOrderLines()}.
+     */
+    @Deprecated
     public Set<EntityModel<GiftCertificateDto>> getGiftCertificateList() {
         return giftCertificateList;
     }
@@ -73,6 +140,15 @@ public class OrderDto extends RepresentationModel<OrderDto> {
         this.giftCertificateList = giftCertificateList;
     }
 
+    @Override
+    public Fieldset getFieldset() {
+        return fieldset;
+    }
+
+    public void setFieldset(Fieldset fieldset) {
+        this.fieldset = fieldset;
+    }
+
     public int getUserId() {
         return userId;
     }
@@ -87,12 +163,13 @@ public class OrderDto extends RepresentationModel<OrderDto> {
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         OrderDto orderDto = (OrderDto) o;
-        return id == orderDto.id && Double.compare(orderDto.totalCost, totalCost) == 0 && createDate.equals(orderDto.createDate)
-                && giftCertificateList.equals(orderDto.giftCertificateList);
+        return id == orderDto.id && Objects.equals(totalCost, orderDto.totalCost)
+                && Objects.equals(createDate, orderDto.createDate) && Objects.equals(orderLines, orderDto.orderLines)
+                && Objects.equals(giftCertificateList, orderDto.giftCertificateList);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), id, totalCost, createDate, giftCertificateList);
+        return Objects.hash(super.hashCode(), id, totalCost, createDate, orderLines, giftCertificateList);
     }
 }
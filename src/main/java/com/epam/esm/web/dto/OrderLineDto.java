@@ -0,0 +1,88 @@
+package com.epam.esm.web.dto;
+
+import com.epam.esm.model.OrderLine;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+public class OrderLineDto extends RepresentationModel<OrderLineDto> {
+
+    private int certificateId;
+    private String name;
+    private double price;
+    private int duration;
+    private List<String> tagNames = new ArrayList<>();
+
+    public static OrderLineDto of(OrderLine orderLine) {
+        var orderLineDto = new OrderLineDto();
+        orderLineDto.setCertificateId(orderLine.getCertificateId());
+        orderLineDto.setName(orderLine.getName());
+        orderLineDto.setPrice(orderLine.getPrice());
+        orderLineDto.setDuration(orderLine.getDuration());
+        orderLineDto.setTagNames(new ArrayList<>(orderLine.getTagNames()));
+
+        return orderLineDto;
+    }
+
+    public static List<OrderLineDto> of(List<OrderLine> orderLines) {
+        return orderLines.stream().map(OrderLineDto::of).collect(Collectors.toList());
+    }
+
+    public int getCertificateId() {
+        return certificateId;
+    }
+
+    public void setCertificateId(int certificateId) {
+        this.certificateId = certificateId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public void setDuration(int duration) {
+        this.duration = duration;
+    }
+
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+
+    public void setTagNames(List<String> tagNames) {
+        this.tagNames = tagNames;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        OrderLineDto that = (OrderLineDto) o;
+        return certificateId == that.certificateId && Double.compare(that.price, price) == 0 &&
+                duration == that.duration && Objects.equals(name, that.name) && tagNames.equals(that.tagNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), certificateId, name, price, duration, tagNames);
+    }
+}
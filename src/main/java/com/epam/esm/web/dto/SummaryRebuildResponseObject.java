@@ -0,0 +1,14 @@
+package com.epam.esm.web.dto;
+
+public class SummaryRebuildResponseObject {
+
+    private final int mismatches;
+
+    public SummaryRebuildResponseObject(int mismatches) {
+        this.mismatches = mismatches;
+    }
+
+    public int getMismatches() {
+        return mismatches;
+    }
+}
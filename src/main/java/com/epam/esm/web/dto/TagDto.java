@@ -1,25 +1,44 @@
 package com.epam.esm.web.dto;
 
 import com.epam.esm.model.Tag;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.hateoas.RepresentationModel;
 
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
-public class TagDto extends RepresentationModel<TagDto> {
+@JsonFilter(FieldsetPropertyFilter.ID)
+public class TagDto extends RepresentationModel<TagDto> implements FieldsetAware {
+
+    private static final String NAME = "name";
 
     private int id;
     private String name;
 
+    @JsonIgnore
+    private Fieldset fieldset = Fieldset.ALL;
+
     public static List<TagDto> of(List<Tag> tags) {
-        return tags.stream().map(TagDto::of).collect(Collectors.toList());
+        return of(tags, Fieldset.ALL);
+    }
+
+    public static List<TagDto> of(List<Tag> tags, Fieldset fieldset) {
+        return tags.stream().map(t -> of(t, fieldset)).collect(Collectors.toList());
     }
 
     public static TagDto of(Tag tag) {
+        return of(tag, Fieldset.ALL);
+    }
+
+    public static TagDto of(Tag tag, Fieldset fieldset) {
         var tagDto = new TagDto();
         tagDto.setId(tag.getId());
-        tagDto.setName(tag.getName());
+        tagDto.setFieldset(fieldset);
+        if (fieldset.includes(NAME)) {
+            tagDto.setName(tag.getName());
+        }
         return tagDto;
     }
 
@@ -39,13 +58,22 @@ public class TagDto extends RepresentationModel<TagDto> {
         this.name = name;
     }
 
+    @Override
+    public Fieldset getFieldset() {
+        return fieldset;
+    }
+
+    public void setFieldset(Fieldset fieldset) {
+        this.fieldset = fieldset;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         TagDto tagDto = (TagDto) o;
-        return id == tagDto.id && name.equals(tagDto.name);
+        return id == tagDto.id && Objects.equals(name, tagDto.name);
     }
 
     @Override
@@ -1,6 +1,8 @@
 package com.epam.esm.web.dto;
 
 import com.epam.esm.model.User;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.RepresentationModel;
 
@@ -9,25 +11,49 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-public class UserDto extends RepresentationModel<UserDto> {
+@JsonFilter(FieldsetPropertyFilter.ID)
+public class UserDto extends RepresentationModel<UserDto> implements FieldsetAware {
+
+    public static final String ORDERS = "orders";
+
+    private static final String LOGIN = "login";
+    private static final String ROLE = "roleDto";
 
     private int id;
     private String login;
     private Set<EntityModel<OrderDto>> orders;
     private RoleDto roleDto;
 
+    @JsonIgnore
+    private Fieldset fieldset = Fieldset.ALL;
+
     public static List<UserDto> of(List<User> users) {
-        return users.stream().map(UserDto::of).collect(Collectors.toList());
+        return of(users, Fieldset.ALL);
+    }
+
+    public static List<UserDto> of(List<User> users, Fieldset fieldset) {
+        return users.stream().map(u -> of(u, fieldset)).collect(Collectors.toList());
     }
 
     public static UserDto of(User user) {
+        return of(user, Fieldset.ALL);
+    }
+
+    public static UserDto of(User user, Fieldset fieldset) {
         var userDto = new UserDto();
         userDto.setId(user.getId());
-        userDto.setLogin(user.getLogin());
-        Set<EntityModel<OrderDto>> orderDto = new HashSet<>();
-        user.getOrders().forEach(o -> orderDto.add(EntityModel.of(OrderDto.of(o))));
-        userDto.setOrders(orderDto);
-        userDto.setRoleDto(RoleDto.of(user.getRole()));
+        userDto.setFieldset(fieldset);
+        if (fieldset.includes(LOGIN)) {
+            userDto.setLogin(user.getLogin());
+        }
+        if (fieldset.embeds(ORDERS)) {
+            Set<EntityModel<OrderDto>> orderDto = new HashSet<>();
+            user.getOrders().forEach(o -> orderDto.add(EntityModel.of(OrderDto.of(o))));
+            userDto.setOrders(orderDto);
+        }
+        if (fieldset.includes(ROLE)) {
+            userDto.setRoleDto(RoleDto.of(user.getRole()));
+        }
 
         return userDto;
     }
@@ -56,6 +82,15 @@ public class UserDto extends RepresentationModel<UserDto> {
         this.orders = orders;
     }
 
+    @Override
+    public Fieldset getFieldset() {
+        return fieldset;
+    }
+
+    public void setFieldset(Fieldset fieldset) {
+        this.fieldset = fieldset;
+    }
+
     public RoleDto getRoleDto() {
         return roleDto;
     }
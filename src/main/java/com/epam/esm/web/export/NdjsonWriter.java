@@ -0,0 +1,116 @@
+package com.epam.esm.web.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes values as newline-delimited JSON straight to the servlet
+ * output stream, gzip-compressed when the client accepts it. The
+ * response is started by the first value, so that errors thrown
+ * before it are still handled as usual.
+ *
+ * @author Aleksey Sayarkin
+ */
+public final class NdjsonWriter implements Closeable {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final Pattern NO_QUALITY = Pattern.compile("q\\s*=\\s*0(\\.0{0,3})?");
+
+    private final JsonFactory jsonFactory;
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private JsonGenerator generator;
+
+    NdjsonWriter(JsonFactory jsonFactory, HttpServletRequest request, HttpServletResponse response) {
+        this.jsonFactory = jsonFactory;
+        this.request = request;
+        this.response = response;
+    }
+
+    /**
+     * @param value value to write as one line.
+     * @throws UncheckedIOException when failed to write to the response.
+     */
+    public void write(Object value) {
+        try {
+            start();
+            generator.writeObject(value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts the response when nothing was written, an empty export
+     * is still answered with its media type.
+     *
+     * @throws IOException when failed to write to the response.
+     */
+    public void finish() throws IOException {
+        start();
+    }
+
+    /**
+     * Completes the response if it was started. A response that was not
+     * is left untouched for the error handler.
+     *
+     * @throws IOException when failed to write to the response.
+     */
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.close();
+        }
+    }
+
+    private void start() throws IOException {
+        if (generator != null) {
+            return;
+        }
+
+        response.setContentType(MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        var out = response.getOutputStream();
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            generator = jsonFactory.createGenerator(new GZIPOutputStream(out, GZIP_BUFFER_SIZE));
+        } else {
+            generator = jsonFactory.createGenerator(out);
+        }
+        generator.setRootValueSeparator(null);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase(GZIP)) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                if (NO_QUALITY.matcher(parameters[i].trim()).matches()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,72 @@
+package com.epam.esm.web.export;
+
+import com.epam.esm.service.exception.ServiceException;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Creates {@code NdjsonWriter} serializing values with the application
+ * object mapper. Links of representation models are left out, export
+ * is read by machines, which do not follow them.
+ *
+ * @author Aleksey Sayarkin
+ */
+@Component
+public class NdjsonWriterFactory {
+
+    private final static Logger log = LogManager.getLogger(NdjsonWriterFactory.class);
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public NdjsonWriterFactory(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy().addMixIn(RepresentationModel.class, WithoutLinks.class);
+    }
+
+    public NdjsonWriter create(HttpServletRequest request, HttpServletResponse response) {
+        return new NdjsonWriter(objectMapper.getFactory(), request, response);
+    }
+
+    /**
+     * Writes an export to the response. Failures to write after the
+     * response was committed mostly mean that the client went away,
+     * there is no way to answer with an error, so the export stops
+     * quietly. Earlier failures are thrown to the error handler.
+     *
+     * @param export writes values of the export.
+     * @throws ServiceException when failed to read the export.
+     * @throws IOException when failed to write to the response before it was committed.
+     */
+    public void export(HttpServletRequest request, HttpServletResponse response, Export export)
+            throws ServiceException, IOException {
+        try (var writer = create(request, response)) {
+            export.writeTo(writer);
+            writer.finish();
+        } catch (IOException | UncheckedIOException e) {
+            if (!response.isCommitted()) {
+                throw e;
+            }
+            log.debug("Export to " + request.getRequestURI() + " stopped: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface Export {
+
+        void writeTo(NdjsonWriter writer) throws ServiceException;
+    }
+
+    @JsonIgnoreProperties("links")
+    private abstract static class WithoutLinks {
+    }
+}
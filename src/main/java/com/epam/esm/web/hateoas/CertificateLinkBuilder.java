@@ -1,10 +1,10 @@
 package com.epam.esm.web.hateoas;
 
-import com.epam.esm.service.exception.ServiceException;
-import com.epam.esm.service.search.criteria.CertificateSearchCriteria;
+import com.epam.esm.service.search.cursor.KeysetCursor;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
 import com.epam.esm.web.api.CertificateController;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.dto.GiftCertificateDto;
 import com.epam.esm.web.dto.TagDto;
 import org.springframework.hateoas.CollectionModel;
@@ -15,21 +15,23 @@ import org.springframework.stereotype.Component;
 import javax.annotation.PostConstruct;
 import java.util.Objects;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class CertificateLinkBuilder implements ModelLinkBuilder<GiftCertificateDto> {
 
     private static ModelLinkBuilder<TagDto> tagLinkBuilder;
 
+    private static final LinkTemplate CERTIFICATE =
+            LinkTemplateRegistry.get(CertificateController.class, "getGiftCertificate", "id");
+    private static final LinkTemplate CERTIFICATES = LinkTemplateRegistry.get(
+            CertificateController.class, "getGiftCertificates",
+            "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+    );
+
     private static final String ALL_CERTIFICATES = "certificates";
     private static final String CURRENT_CERTIFICATE = "self";
 
     private static final int DEFAULT_PAGE = 1;
     private static final int DEFAULT_SIZE = 10;
-    private static final CertificateSearchCriteria defaultRequestBody =
-            CertificateSearchCriteria.getDefaultCertificateRequestBody();
 
     @PostConstruct
     public void init() {
@@ -38,64 +40,61 @@ public class CertificateLinkBuilder implements ModelLinkBuilder<GiftCertificateD
 
     @Override
     public void linkToModel(EntityModel<GiftCertificateDto> modelDto) {
-        Objects.requireNonNull(modelDto.getContent()).getTags().forEach(t -> tagLinkBuilder.linkToModel(t));
-        try {
-            modelDto.add(
-                    linkTo(methodOn(CertificateController.class)
-                                .getGiftCertificate(Objects.requireNonNull(modelDto.getContent()).getId())
-                    ).withRel(CURRENT_CERTIFICATE));
-        } catch (ServiceException ignored) {
+        var tags = Objects.requireNonNull(modelDto.getContent()).getTags();
+        if (tags != null) {
+            tags.forEach(t -> tagLinkBuilder.linkToModel(t));
         }
+        modelDto.add(CERTIFICATE.expand(CURRENT_CERTIFICATE, Objects.requireNonNull(modelDto.getContent()).getId()));
     }
 
     @Override
     public void linkToModelPage(CollectionModel<EntityModel<GiftCertificateDto>> collectionModel,
-                                int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToCertificatesPage(page, size, ALL_CERTIFICATES, sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToCertificatesPage(page, size, ALL_CERTIFICATES, sortType, sortBy, null, fieldset));
     }
 
     @Override
     public void linkToFirstModelPage(EntityModel<GiftCertificateDto> model, SortType sortType, SortBy sortBy) {
-        try {
-            model.add(getLinkToCertificatesPage(DEFAULT_PAGE, DEFAULT_SIZE, ALL_CERTIFICATES, sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+        model.add(getLinkToCertificatesPage(
+                DEFAULT_PAGE, DEFAULT_SIZE, ALL_CERTIFICATES, sortType, sortBy, null, Fieldset.ALL
+        ));
     }
 
     @Override
     public void linkToNextModelPage(CollectionModel<EntityModel<GiftCertificateDto>> collectionModel,
-                                    int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToCertificatesPage(page + 1, size, "next", sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                    int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToCertificatesPage(
+                page + 1, size, "next", sortType, sortBy, getNextCursor(collectionModel, sortBy), fieldset
+        ));
     }
 
     @Override
     public void linkToPrevModelPage(CollectionModel<EntityModel<GiftCertificateDto>> collectionModel,
-                                    int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToCertificatesPage(page - 1, size, "prev", sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                    int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToCertificatesPage(page - 1, size, "prev", sortType, sortBy, null, fieldset));
     }
 
     @Override
     public void linkToLastModelPage(CollectionModel<EntityModel<GiftCertificateDto>> collectionModel,
-                                    int lastPage, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToCertificatesPage(lastPage, size, "last", sortType, sortBy));
-        } catch (ServiceException ignored) {
+                                    int lastPage, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToCertificatesPage(lastPage, size, "last", sortType, sortBy, null, fieldset));
+    }
+
+    @Override
+    public String getCursor(GiftCertificateDto model, SortBy sortBy) {
+        if (sortBy.equals(SortBy.RELEVANCE)) {
+            return null;
+        }
+        var key = sortBy.equals(SortBy.CREATE_DATE) ? model.getCreateDate() : model.getName();
+        if (key == null) {
+            return null;
         }
+        return KeysetCursor.of(model.getId(), key).encode();
     }
 
-    private Link getLinkToCertificatesPage(int page, int size, String rel, SortType sortType, SortBy sortBy)
-            throws ServiceException {
-        return linkTo(
-                methodOn(CertificateController.class).getGiftCertificates(defaultRequestBody, page, size, sortType, sortBy)
-        ).withRel(rel);
+    private Link getLinkToCertificatesPage(int page, int size, String rel, SortType sortType, SortBy sortBy,
+                                           String after, Fieldset fieldset) {
+        return CERTIFICATES.expand(rel, page, size, sortType, sortBy, after, null,
+                fieldset.getFieldsParameter(), fieldset.getEmbedParameter(), fieldset.getLinksParameter());
     }
 }
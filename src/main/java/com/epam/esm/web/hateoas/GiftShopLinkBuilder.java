@@ -15,12 +15,26 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class GiftShopLinkBuilder {
 
+    private static final LinkTemplate USERS = LinkTemplateRegistry.get(
+            UserController.class, "getUsers",
+            "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+    );
+    private static final LinkTemplate ORDERS = LinkTemplateRegistry.get(
+            OrderController.class, "getOrders",
+            "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+    );
+    private static final LinkTemplate TAGS = LinkTemplateRegistry.get(
+            TagController.class, "getTags",
+            "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+    );
+    private static final LinkTemplate CERTIFICATES = LinkTemplateRegistry.get(
+            CertificateController.class, "getGiftCertificates",
+            "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+    );
+
     private static final int DEFAULT_PAGE = 1;
     private static final int DEFAULT_SIZE = 10;
     private static final UserSearchCriteria userRequestBody = UserSearchCriteria.getDefaultUserRequestBody();
@@ -31,40 +45,18 @@ public class GiftShopLinkBuilder {
     public List<Link> getRestApi() throws ServiceException {
         List<Link> links = new ArrayList<>();
 
-        links.add(
-                linkTo(methodOn(UserController.class)
-                        .getUsers(
-                                userRequestBody, DEFAULT_PAGE, DEFAULT_SIZE,
-                                userRequestBody.getSortType(), userRequestBody.getSortBy()
-                        )
-                ).withRel("users")
-        );
+        links.add(USERS.expand("users", DEFAULT_PAGE, DEFAULT_SIZE,
+                userRequestBody.getSortType(), userRequestBody.getSortBy(), null, null, null, null, null));
 
-        links.add(
-                linkTo(methodOn(OrderController.class)
-                        .getOrders(
-                                orderRequestBody, DEFAULT_PAGE, DEFAULT_SIZE,
-                                orderRequestBody.getSortType(), orderRequestBody.getSortBy()
-                        )
-                ).withRel("orders")
-        );
+        links.add(ORDERS.expand("orders", DEFAULT_PAGE, DEFAULT_SIZE,
+                orderRequestBody.getSortType(), orderRequestBody.getSortBy(), null, null, null, null, null));
 
-        links.add(
-                linkTo(methodOn(TagController.class)
-                        .getTags(tagRequestBody, DEFAULT_PAGE, DEFAULT_SIZE,
-                                tagRequestBody.getSortType(), tagRequestBody.getSortBy()
-                        )
-                ).withRel("tags")
-        );
+        links.add(TAGS.expand("tags", DEFAULT_PAGE, DEFAULT_SIZE,
+                tagRequestBody.getSortType(), tagRequestBody.getSortBy(), null, null, null, null, null));
 
-        links.add(
-                linkTo(methodOn(CertificateController.class)
-                        .getGiftCertificates(
-                                certificateRequestBody, DEFAULT_PAGE, DEFAULT_SIZE,
-                                certificateRequestBody.getSortType(), certificateRequestBody.getSortBy()
-                        )
-                ).withRel("certificates")
-        );
+        links.add(CERTIFICATES.expand("certificates", DEFAULT_PAGE, DEFAULT_SIZE,
+                certificateRequestBody.getSortType(), certificateRequestBody.getSortBy(),
+                null, null, null, null, null));
 
         return links;
     }
@@ -0,0 +1,85 @@
+package com.epam.esm.web.hateoas;
+
+import org.springframework.hateoas.Link;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapping of a controller method resolved once: literal
+ * pieces of its path, its path variables and its request
+ * parameters. Expanding it only appends strings.
+ * <p>
+ * Arguments of {@code expand} are values of the variables named
+ * when the template was got from {@code LinkTemplateRegistry}, in
+ * that order. Optional parameters without a value stay template
+ * variables, as in links built by {@code WebMvcLinkBuilder}.
+ *
+ * @author Aleksey Sayarkin
+ */
+public final class LinkTemplate {
+
+    private final int arity;
+    private final String[] literals;
+    private final int[] pathArguments;
+    private final String[] queryNames;
+    private final boolean[] queryRequired;
+    private final int[] queryArguments;
+
+    LinkTemplate(int arity, String[] literals, int[] pathArguments,
+                 String[] queryNames, boolean[] queryRequired, int[] queryArguments) {
+        this.arity = arity;
+        this.literals = literals;
+        this.pathArguments = pathArguments;
+        this.queryNames = queryNames;
+        this.queryRequired = queryRequired;
+        this.queryArguments = queryArguments;
+    }
+
+    public Link expand(String rel, Object... arguments) {
+        return Link.of(expandHref(LinkTemplateRegistry.getBaseUri(), arguments), rel);
+    }
+
+    String expandHref(String baseUri, Object... arguments) {
+        if (arguments.length != arity) {
+            throw new IllegalArgumentException("Expected " + arity + " arguments, got " + arguments.length);
+        }
+        var href = new StringBuilder(baseUri.length() + 64).append(baseUri);
+        for (int i = 0; i < pathArguments.length; i++) {
+            href.append(literals[i]);
+            appendPathSegment(href, arguments[pathArguments[i]]);
+        }
+        href.append(literals[pathArguments.length]);
+
+        var separator = '?';
+        List<String> unset = null;
+        for (int i = 0; i < queryNames.length; i++) {
+            var value = arguments[queryArguments[i]];
+            if (value == null) {
+                if (!queryRequired[i]) {
+                    unset = unset == null ? new ArrayList<>() : unset;
+                    unset.add(queryNames[i]);
+                }
+                continue;
+            }
+            href.append(separator).append(queryNames[i]).append('=')
+                    .append(UriUtils.encodeQueryParam(String.valueOf(value), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        if (unset != null) {
+            href.append('{').append(separator).append(String.join(",", unset)).append('}');
+        }
+
+        return href.toString();
+    }
+
+    private static void appendPathSegment(StringBuilder href, Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            href.append(value);
+        } else {
+            href.append(UriUtils.encodePathSegment(String.valueOf(value), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.epam.esm.web.hateoas;
+
+import com.epam.esm.web.dto.Fieldset;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves mappings of controller methods to {@code LinkTemplate}
+ * once, link builders keep them in static fields, so templates
+ * are resolved when the builders are created at startup. Builders
+ * name the variables they expand, a mismatch with the mapping
+ * fails there too. A {@code Fieldset} argument stands for its
+ * optional {@code fields}, {@code embed} and {@code links}
+ * parameters. The base URI of links is resolved once per request.
+ *
+ * @author Aleksey Sayarkin
+ */
+public final class LinkTemplateRegistry {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplateRegistry.class.getName() + ".baseUri";
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+    private static final List<String> FIELDSET_PARAMETERS = List.of(Fieldset.FIELDS, Fieldset.EMBED, Fieldset.LINKS);
+    private static final Map<List<Object>, LinkTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private LinkTemplateRegistry() {
+    }
+
+    /**
+     * @param controller controller class.
+     * @param methodName name of a request mapping method, which must not be overloaded.
+     * @param variables every path variable and request parameter of the method, in the
+     *                  order their values are passed to {@code expand}.
+     * @throws IllegalArgumentException when there is no such method, it is overloaded
+     * or its variables differ from given ones.
+     * @return template of the method mapping.
+     */
+    public static LinkTemplate get(Class<?> controller, String methodName, String... variables)
+            throws IllegalArgumentException {
+        var methods = Arrays.stream(controller.getMethods())
+                .filter(m -> m.getName().equals(methodName))
+                .toArray(Method[]::new);
+        if (methods.length != 1) {
+            throw new IllegalArgumentException(
+                    "Expected one method " + methodName + " in " + controller.getName() + ", found " + methods.length
+            );
+        }
+
+        return TEMPLATES.computeIfAbsent(List.of(methods[0], List.of(variables)),
+                k -> compile(controller, methods[0], variables));
+    }
+
+    /**
+     * @return scheme, host, port and context path of the current
+     * request, empty outside of a request.
+     */
+    public static String getBaseUri() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "";
+        }
+        var baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return baseUri;
+    }
+
+    private static LinkTemplate compile(Class<?> controller, Method method, String[] variables) {
+        var path = joinPaths(getPath(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class)),
+                getPath(AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class)));
+
+        var names = PARAMETER_NAMES.getParameterNames(method);
+        var parameters = method.getParameters();
+        var pathVariables = new ArrayList<String>();
+        var pathVariableArguments = new ArrayList<Integer>();
+        var queryNames = new ArrayList<String>();
+        var queryRequired = new ArrayList<Boolean>();
+        var queryArguments = new ArrayList<Integer>();
+        var declared = Arrays.asList(variables);
+        for (int i = 0; i < parameters.length; i++) {
+            var pathVariable = parameters[i].getAnnotation(PathVariable.class);
+            var requestParam = parameters[i].getAnnotation(RequestParam.class);
+            if (pathVariable != null) {
+                var name = getName(pathVariable.value(), pathVariable.name(), parameters[i], names, i);
+                pathVariables.add(name);
+                pathVariableArguments.add(getArgument(declared, name, method));
+            } else if (requestParam != null) {
+                var name = getName(requestParam.value(), requestParam.name(), parameters[i], names, i);
+                queryNames.add(name);
+                queryRequired.add(requestParam.required());
+                queryArguments.add(getArgument(declared, name, method));
+            } else if (Fieldset.class.equals(parameters[i].getType())) {
+                for (var name : FIELDSET_PARAMETERS) {
+                    queryNames.add(name);
+                    queryRequired.add(false);
+                    queryArguments.add(getArgument(declared, name, method));
+                }
+            }
+        }
+        if (pathVariables.size() + queryNames.size() != variables.length) {
+            throw new IllegalArgumentException("Variables " + declared + " don't match " + pathVariables + " and "
+                    + queryNames + " of " + method);
+        }
+
+        var literals = new ArrayList<String>();
+        var pathArguments = new ArrayList<Integer>();
+        var start = 0;
+        var open = path.indexOf('{');
+        while (open >= 0) {
+            var close = path.indexOf('}', open);
+            var variable = path.substring(open + 1, close);
+            var colon = variable.indexOf(':');
+            variable = colon < 0 ? variable : variable.substring(0, colon);
+            var index = pathVariables.indexOf(variable);
+            if (index < 0) {
+                throw new IllegalArgumentException("Path variable " + variable + " of " + method + " is not bound");
+            }
+            literals.add(path.substring(start, open));
+            pathArguments.add(pathVariableArguments.get(index));
+            start = close + 1;
+            open = path.indexOf('{', start);
+        }
+        literals.add(path.substring(start));
+
+        return new LinkTemplate(
+                variables.length,
+                literals.toArray(String[]::new),
+                pathArguments.stream().mapToInt(Integer::intValue).toArray(),
+                queryNames.toArray(String[]::new),
+                toArray(queryRequired),
+                queryArguments.stream().mapToInt(Integer::intValue).toArray()
+        );
+    }
+
+    private static int getArgument(List<String> variables, String name, Method method) {
+        var argument = variables.indexOf(name);
+        if (argument < 0 || variables.lastIndexOf(name) != argument) {
+            throw new IllegalArgumentException("Variable " + name + " of " + method + " is declared "
+                    + (argument < 0 ? "nowhere" : "twice") + " in " + variables);
+        }
+
+        return argument;
+    }
+
+    private static String getName(String value, String name, Parameter parameter, String[] names, int index) {
+        if (!value.isEmpty()) {
+            return value;
+        }
+        if (!name.isEmpty()) {
+            return name;
+        }
+        if (names == null) {
+            throw new IllegalArgumentException("Name of " + parameter + " is not known");
+        }
+
+        return names[index];
+    }
+
+    private static String getPath(RequestMapping mapping) {
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+
+    private static String joinPaths(String controllerPath, String methodPath) {
+        var path = controllerPath.endsWith("/") || methodPath.startsWith("/") || methodPath.isEmpty()
+                ? controllerPath + methodPath
+                : controllerPath + "/" + methodPath;
+
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static boolean[] toArray(List<Boolean> values) {
+        var array = new boolean[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+
+        return array;
+    }
+}
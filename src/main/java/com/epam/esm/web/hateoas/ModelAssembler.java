@@ -1,9 +1,26 @@
 package com.epam.esm.web.hateoas;
 
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.SimpleRepresentationModelAssembler;
 
 public interface ModelAssembler<T> extends SimpleRepresentationModelAssembler<T> {
 
-    void setRepresentationModel(RepresentationModel representationModel);
+    /**
+     * @param entities content of the page.
+     * @param representationModel pagination of the page, links
+     *                            to other pages are built from it.
+     * @return collection model with links to the pages, links to the
+     * entities are left out when the fieldset has no links.
+     */
+    CollectionModel<EntityModel<T>> toCollectionModel(Iterable<? extends T> entities,
+                                                      RepresentationModel representationModel);
+
+    /**
+     * @param entities content of the page.
+     * @return collection model of the entities, the link builder is not called.
+     */
+    CollectionModel<EntityModel<T>> toCollectionModelWithoutLinks(Iterable<? extends T> entities);
+
     void setModelLinkBuilder(ModelLinkBuilder<T> modelLinkBuilder);
 }
@@ -2,6 +2,7 @@ package com.epam.esm.web.hateoas;
 
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
+import com.epam.esm.web.dto.Fieldset;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 
@@ -10,16 +11,26 @@ public interface ModelLinkBuilder<T> {
     void linkToModel(EntityModel<T> modelDto);
 
     void linkToModelPage(CollectionModel<EntityModel<T>> collectionModel, int page, int size,
-                         SortType sortType, SortBy sortBy);
+                         SortType sortType, SortBy sortBy, Fieldset fieldset);
 
     void linkToFirstModelPage(EntityModel<T> tagDto, SortType sortType, SortBy sortBy);
 
     void linkToNextModelPage(CollectionModel<EntityModel<T>> collectionModel, int page, int size,
-                             SortType sortType, SortBy sortBy);
+                             SortType sortType, SortBy sortBy, Fieldset fieldset);
 
     void linkToPrevModelPage(CollectionModel<EntityModel<T>> collectionModel, int page, int size,
-                             SortType sortType, SortBy sortBy);
+                             SortType sortType, SortBy sortBy, Fieldset fieldset);
 
     void linkToLastModelPage(CollectionModel<EntityModel<T>> collectionModel, int lastPage, int size,
-                             SortType sortType, SortBy sortBy);
+                             SortType sortType, SortBy sortBy, Fieldset fieldset);
+
+    String getCursor(T model, SortBy sortBy);
+
+    default String getNextCursor(CollectionModel<EntityModel<T>> collectionModel, SortBy sortBy) {
+        EntityModel<T> last = null;
+        for (var model : collectionModel) {
+            last = model;
+        }
+        return last == null ? null : getCursor(last.getContent(), sortBy);
+    }
 }
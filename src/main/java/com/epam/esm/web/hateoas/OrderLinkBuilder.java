@@ -1,107 +1,98 @@
 package com.epam.esm.web.hateoas;
 
-import com.epam.esm.service.exception.ServiceException;
-import com.epam.esm.service.search.criteria.OrderSearchCriteria;
+import com.epam.esm.service.search.cursor.KeysetCursor;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
+import com.epam.esm.web.api.CertificateController;
 import com.epam.esm.web.api.OrderController;
-import com.epam.esm.web.dto.GiftCertificateDto;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.dto.OrderDto;
-import com.epam.esm.web.dto.TagDto;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
 import java.util.Objects;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class OrderLinkBuilder implements ModelLinkBuilder<OrderDto> {
 
-    private static ModelLinkBuilder<GiftCertificateDto> certificateLinkBuilder;
-    private static ModelLinkBuilder<TagDto> tagLinkBuilder;
+    private static final LinkTemplate ORDER = LinkTemplateRegistry.get(OrderController.class, "getOrder", "id");
+    private static final LinkTemplate ORDERS = LinkTemplateRegistry.get(
+            OrderController.class, "getOrders",
+            "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+    );
+    private static final LinkTemplate CERTIFICATE_OF_LINE =
+            LinkTemplateRegistry.get(CertificateController.class, "getGiftCertificate", "id");
 
     private static final String ALL_ORDERS = "orders";
     private static final String CURRENT_ORDER = "self";
+    private static final String CERTIFICATE = "certificate";
 
     private static final int DEFAULT_PAGE = 1;
     private static final int DEFAULT_SIZE = 10;
-    private static final OrderSearchCriteria defaultRequestBody = OrderSearchCriteria.getDefaultOrderRequestBody();
-
-    @PostConstruct
-    public void init() {
-        OrderLinkBuilder.certificateLinkBuilder = new CertificateLinkBuilder();
-        OrderLinkBuilder.tagLinkBuilder = new TagLinkBuilder();
-    }
 
     @Override
     public void linkToModel(EntityModel<OrderDto> modelDto) {
-        try {
-            modelDto.add(
-                    linkTo(methodOn(OrderController.class)
-                            .getOrder(Objects.requireNonNull(modelDto.getContent()).getId())
-            ).withRel(CURRENT_ORDER));
+        modelDto.add(ORDER.expand(CURRENT_ORDER, Objects.requireNonNull(modelDto.getContent()).getId()));
 
-            modelDto.getContent().getGiftCertificateList().forEach(c -> {
-                Objects.requireNonNull(c.getContent()).getTags().forEach(t -> tagLinkBuilder.linkToModel(t));
-                certificateLinkBuilder.linkToModel(c);
-            });
-        } catch (ServiceException ignored) {
+        if (modelDto.getContent().getOrderLines() == null) {
+            return;
+        }
+        for (var orderLine : modelDto.getContent().getOrderLines()) {
+            orderLine.add(CERTIFICATE_OF_LINE.expand(
+                    CERTIFICATE, Objects.requireNonNull(orderLine.getContent()).getCertificateId()
+            ));
+        }
+        for (var giftCertificate : modelDto.getContent().getGiftCertificateList()) {
+            giftCertificate.add(CERTIFICATE_OF_LINE.expand(
+                    CERTIFICATE, Objects.requireNonNull(giftCertificate.getContent()).getId()
+            ));
         }
     }
 
     @Override
     public void linkToModelPage(CollectionModel<EntityModel<OrderDto>> collectionModel,
-                                int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToOrdersPage(page, size, ALL_ORDERS, sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToOrdersPage(page, size, ALL_ORDERS, sortType, sortBy, null, fieldset));
     }
 
     @Override
     public void linkToFirstModelPage(EntityModel<OrderDto> tagDto, SortType sortType, SortBy sortBy) {
-        try {
-            tagDto.add(getLinkToOrdersPage(DEFAULT_PAGE, DEFAULT_SIZE, ALL_ORDERS, sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+        tagDto.add(getLinkToOrdersPage(DEFAULT_PAGE, DEFAULT_SIZE, ALL_ORDERS, sortType, sortBy, null, Fieldset.ALL));
     }
 
     @Override
     public void linkToNextModelPage(CollectionModel<EntityModel<OrderDto>> collectionModel,
-                                    int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToOrdersPage(page + 1, size, "next", sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                    int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToOrdersPage(
+                page + 1, size, "next", sortType, sortBy, getNextCursor(collectionModel, sortBy), fieldset
+        ));
     }
 
     @Override
     public void linkToPrevModelPage(CollectionModel<EntityModel<OrderDto>> collectionModel,
-                                    int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToOrdersPage(page - 1, size, "prev", sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                    int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToOrdersPage(page - 1, size, "prev", sortType, sortBy, null, fieldset));
     }
 
     @Override
     public void linkToLastModelPage(CollectionModel<EntityModel<OrderDto>> collectionModel,
-                                    int lastPage, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToOrdersPage(lastPage, size, "last", sortType, sortBy));
-        } catch (ServiceException ignored) {
+                                    int lastPage, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToOrdersPage(lastPage, size, "last", sortType, sortBy, null, fieldset));
+    }
+
+    @Override
+    public String getCursor(OrderDto model, SortBy sortBy) {
+        if (model.getTotalCost() == null) {
+            return null;
         }
+        return KeysetCursor.of(model.getId(), model.getTotalCost()).encode();
     }
 
-    private Link getLinkToOrdersPage(int page, int size, String rel, SortType sortType, SortBy sortBy)
-            throws ServiceException {
-        return linkTo(
-                methodOn(OrderController.class).getOrders(defaultRequestBody, page, size, sortType, sortBy)
-        ).withRel(rel);
+    private Link getLinkToOrdersPage(int page, int size, String rel, SortType sortType, SortBy sortBy,
+                                     String after, Fieldset fieldset) {
+        return ORDERS.expand(rel, page, size, sortType, sortBy, after, null,
+                fieldset.getFieldsParameter(), fieldset.getEmbedParameter(), fieldset.getLinksParameter());
     }
 }
@@ -2,41 +2,66 @@ package com.epam.esm.web.hateoas;
 
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-import org.springframework.hateoas.PagedModel;
+import com.epam.esm.web.dto.Fieldset;
 
-public class RepresentationModel {
+/**
+ * Pagination of one response, passed to the assembler with
+ * the page it describes instead of being kept in the assembler.
+ * Links to other pages keep the fieldset of the response.
+ *
+ * @author Aleksey Sayarkin
+ */
+public final class RepresentationModel {
 
-    private PagedModel.PageMetadata pageMetadata;
-    private SortType sortType;
-    private SortBy sortBy;
+    private final int page;
+    private final int size;
+    private final Integer lastPage;
+    private final boolean hasNext;
+    private final SortType sortType;
+    private final SortBy sortBy;
+    private final Fieldset fieldset;
 
-    public RepresentationModel(PagedModel.PageMetadata pageMetadata, SortType sortType, SortBy sortBy) {
-        this.pageMetadata = pageMetadata;
+    public RepresentationModel(int page, int size, Integer lastPage, boolean hasNext,
+                               SortType sortType, SortBy sortBy) {
+        this(page, size, lastPage, hasNext, sortType, sortBy, Fieldset.ALL);
+    }
+
+    public RepresentationModel(int page, int size, Integer lastPage, boolean hasNext,
+                               SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        this.page = page;
+        this.size = size;
+        this.lastPage = lastPage;
+        this.hasNext = hasNext;
         this.sortType = sortType;
         this.sortBy = sortBy;
+        this.fieldset = fieldset;
     }
 
-    public PagedModel.PageMetadata getPageMetadata() {
-        return pageMetadata;
+    public int getPage() {
+        return page;
     }
 
-    public void setPageMetadata(PagedModel.PageMetadata pageMetadata) {
-        this.pageMetadata = pageMetadata;
+    public int getSize() {
+        return size;
     }
 
-    public SortType getSortType() {
-        return sortType;
+    public Integer getLastPage() {
+        return lastPage;
     }
 
-    public void setSortType(SortType sortType) {
-        this.sortType = sortType;
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public SortType getSortType() {
+        return sortType;
     }
 
     public SortBy getSortBy() {
         return sortBy;
     }
 
-    public void setSortBy(SortBy sortBy) {
-        this.sortBy = sortBy;
+    public Fieldset getFieldset() {
+        return fieldset;
     }
 }
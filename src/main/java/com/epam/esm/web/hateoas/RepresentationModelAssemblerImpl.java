@@ -5,12 +5,13 @@ import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+
 @Component
 @Scope("prototype")
 public class RepresentationModelAssemblerImpl<T> implements ModelAssembler<T> {
 
     private ModelLinkBuilder<T> modelLinkBuilder;
-    private RepresentationModel representationModel;
 
     @Override
     public void setModelLinkBuilder(ModelLinkBuilder<T> modelLinkBuilder) {
@@ -18,8 +19,36 @@ public class RepresentationModelAssemblerImpl<T> implements ModelAssembler<T> {
     }
 
     @Override
-    public void setRepresentationModel(RepresentationModel representationModel) {
-        this.representationModel = representationModel;
+    public CollectionModel<EntityModel<T>> toCollectionModel(Iterable<? extends T> entities,
+                                                             RepresentationModel representationModel) {
+        var fieldset = representationModel.getFieldset();
+        var resources = fieldset.hasLinks() ? toCollectionModel(entities) : toCollectionModelWithoutLinks(entities);
+        int size = representationModel.getSize();
+        int page = representationModel.getPage();
+        var lastPage = representationModel.getLastPage();
+        var sortType = representationModel.getSortType();
+        var sortBy = representationModel.getSortBy();
+
+        modelLinkBuilder.linkToModelPage(resources, page, size, sortType, sortBy, fieldset);
+        if (hasPrevious(page)) {
+            modelLinkBuilder.linkToPrevModelPage(resources, page, size, sortType, sortBy, fieldset);
+        }
+        if (representationModel.isHasNext()) {
+            if (lastPage != null) {
+                modelLinkBuilder.linkToLastModelPage(resources, lastPage, size, sortType, sortBy, fieldset);
+            }
+            modelLinkBuilder.linkToNextModelPage(resources, page, size, sortType, sortBy, fieldset);
+        }
+
+        return resources;
+    }
+
+    @Override
+    public CollectionModel<EntityModel<T>> toCollectionModelWithoutLinks(Iterable<? extends T> entities) {
+        var resources = new ArrayList<EntityModel<T>>();
+        entities.forEach(e -> resources.add(EntityModel.of(e)));
+
+        return CollectionModel.of(resources);
     }
 
     @Override
@@ -29,27 +58,6 @@ public class RepresentationModelAssemblerImpl<T> implements ModelAssembler<T> {
 
     @Override
     public void addLinks(CollectionModel<EntityModel<T>> resources) {
-        if (representationModel != null) {
-            var metadata = representationModel.getPageMetadata();
-            int size = (int) metadata.getSize();
-            int page = (int) metadata.getNumber();
-            int lastPage = (int) metadata.getTotalPages();
-            var sortType = representationModel.getSortType();
-            var sortBy = representationModel.getSortBy();
-
-            modelLinkBuilder.linkToModelPage(resources, page, size, sortType, sortBy);
-            if (hasPrevious(page)) {
-                modelLinkBuilder.linkToPrevModelPage(resources, page, size, sortType, sortBy);
-            }
-            if (resources.getContent().size() == size && hasNext(page, lastPage)) {
-                modelLinkBuilder.linkToLastModelPage(resources, lastPage, size, sortType, sortBy);
-                modelLinkBuilder.linkToNextModelPage(resources, page, size, sortType, sortBy);
-            }
-        }
-    }
-
-    private boolean hasNext(int page, int lastPage) {
-        return page < lastPage;
     }
 
     private boolean hasPrevious(int page) {
@@ -1,10 +1,10 @@
 package com.epam.esm.web.hateoas;
 
-import com.epam.esm.service.exception.ServiceException;
-import com.epam.esm.service.search.criteria.TagSearchCriteria;
+import com.epam.esm.service.search.cursor.KeysetCursor;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
 import com.epam.esm.web.api.TagController;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.dto.TagDto;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
@@ -13,76 +13,68 @@ import org.springframework.stereotype.Component;
 
 import java.util.Objects;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class TagLinkBuilder implements ModelLinkBuilder<TagDto> {
 
+    private static final LinkTemplate TAG = LinkTemplateRegistry.get(TagController.class, "getTag", "id");
+    private static final LinkTemplate TAGS = LinkTemplateRegistry.get(
+            TagController.class, "getTags",
+            "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+    );
+
     private static final String ALL_TAGS = "tags";
     private static final String CURRENT_TAG = "self";
 
     private static final int DEFAULT_PAGE = 1;
     private static final int DEFAULT_SIZE = 10;
-    private static final TagSearchCriteria defaultRequestBody = TagSearchCriteria.getDefaultTagRequestBody();
 
     @Override
     public void linkToModel(EntityModel<TagDto> modelDto) {
-        try {
-            modelDto.add(linkTo(methodOn(TagController.class).getTag(
-                    Objects.requireNonNull(modelDto.getContent()).getId())).withRel(CURRENT_TAG));
-        } catch (ServiceException ignored) {
-        }
+        modelDto.add(TAG.expand(CURRENT_TAG, Objects.requireNonNull(modelDto.getContent()).getId()));
     }
 
     @Override
     public void linkToModelPage(CollectionModel<EntityModel<TagDto>> collectionModel,
-                                int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToTagsPage(page, size, ALL_TAGS, sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToTagsPage(page, size, ALL_TAGS, sortType, sortBy, null, fieldset));
     }
 
     @Override
     public void linkToFirstModelPage(EntityModel<TagDto> tagDto, SortType sortType, SortBy sortBy) {
-        try {
-            tagDto.add(getLinkToTagsPage(DEFAULT_PAGE, DEFAULT_SIZE, ALL_TAGS, sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+        tagDto.add(getLinkToTagsPage(DEFAULT_PAGE, DEFAULT_SIZE, ALL_TAGS, sortType, sortBy, null, Fieldset.ALL));
     }
 
     @Override
     public void linkToNextModelPage(CollectionModel<EntityModel<TagDto>> collectionModel,
-                                    int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToTagsPage(page + 1, size, "next", sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                    int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToTagsPage(
+                page + 1, size, "next", sortType, sortBy, getNextCursor(collectionModel, sortBy), fieldset
+        ));
     }
 
     @Override
     public void linkToPrevModelPage(CollectionModel<EntityModel<TagDto>> collectionModel,
-                                    int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToTagsPage(page - 1, size, "prev", sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                    int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToTagsPage(page - 1, size, "prev", sortType, sortBy, null, fieldset));
     }
 
     @Override
     public void linkToLastModelPage(CollectionModel<EntityModel<TagDto>> collectionModel,
-                                    int lastPage, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToTagsPage(lastPage, size, "last", sortType, sortBy));
-        } catch (ServiceException ignored) {
+                                    int lastPage, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToTagsPage(lastPage, size, "last", sortType, sortBy, null, fieldset));
+    }
+
+    @Override
+    public String getCursor(TagDto model, SortBy sortBy) {
+        if (model.getName() == null) {
+            return null;
         }
+        return KeysetCursor.of(model.getId(), model.getName()).encode();
     }
 
-    private Link getLinkToTagsPage(int page, int size, String rel, SortType sortType, SortBy sortBy)
-            throws ServiceException {
-        return linkTo(
-                methodOn(TagController.class).getTags(defaultRequestBody, page, size, sortType, sortBy)
-        ).withRel(rel);
+    private Link getLinkToTagsPage(int page, int size, String rel, SortType sortType, SortBy sortBy,
+                                   String after, Fieldset fieldset) {
+        return TAGS.expand(rel, page, size, sortType, sortBy, after, null,
+                fieldset.getFieldsParameter(), fieldset.getEmbedParameter(), fieldset.getLinksParameter());
     }
 }
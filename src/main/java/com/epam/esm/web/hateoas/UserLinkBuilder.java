@@ -1,10 +1,10 @@
 package com.epam.esm.web.hateoas;
 
-import com.epam.esm.service.exception.ServiceException;
-import com.epam.esm.service.search.criteria.UserSearchCriteria;
+import com.epam.esm.service.search.cursor.KeysetCursor;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
 import com.epam.esm.web.api.UserController;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.dto.OrderDto;
 import com.epam.esm.web.dto.UserDto;
 import org.springframework.hateoas.CollectionModel;
@@ -15,20 +15,22 @@ import org.springframework.stereotype.Component;
 import javax.annotation.PostConstruct;
 import java.util.Objects;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
 public class UserLinkBuilder implements ModelLinkBuilder<UserDto> {
 
     private static ModelLinkBuilder<OrderDto> orderLinkBuilder;
 
+    private static final LinkTemplate USER = LinkTemplateRegistry.get(UserController.class, "getUser", "id");
+    private static final LinkTemplate USERS = LinkTemplateRegistry.get(
+            UserController.class, "getUsers",
+            "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+    );
+
     private static final String ALL_USERS = "users";
     private static final String CURRENT_USERS = "self";
 
     private static final int DEFAULT_PAGE = 1;
     private static final int DEFAULT_SIZE = 10;
-    private static final UserSearchCriteria defaultRequestBody = UserSearchCriteria.getDefaultUserRequestBody();
 
     @PostConstruct
     public void init() {
@@ -37,63 +39,56 @@ public class UserLinkBuilder implements ModelLinkBuilder<UserDto> {
 
     @Override
     public void linkToModel(EntityModel<UserDto> modelDto) {
-        try {
-            modelDto.add(
-                    linkTo(methodOn(UserController.class)
-                            .getUser(Objects.requireNonNull(modelDto.getContent()).getId())).withRel(CURRENT_USERS)
-            );
+        modelDto.add(USER.expand(CURRENT_USERS, Objects.requireNonNull(modelDto.getContent()).getId()));
+        if (modelDto.getContent().getOrders() != null) {
             modelDto.getContent().getOrders().forEach(o -> orderLinkBuilder.linkToModel(o));
-        } catch (ServiceException ignored) {
         }
     }
 
     @Override
     public void linkToModelPage(CollectionModel<EntityModel<UserDto>> collectionModel,
-                                int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToUsersPage(page, size, ALL_USERS, sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToUsersPage(page, size, ALL_USERS, sortType, sortBy, null, fieldset));
     }
 
     @Override
     public void linkToFirstModelPage(EntityModel<UserDto> entityModel, SortType sortType, SortBy sortBy) {
-        try {
-            entityModel.add(getLinkToUsersPage(DEFAULT_PAGE, DEFAULT_SIZE, ALL_USERS, sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+        entityModel.add(getLinkToUsersPage(
+                DEFAULT_PAGE, DEFAULT_SIZE, ALL_USERS, sortType, sortBy, null, Fieldset.ALL
+        ));
     }
 
     @Override
     public void linkToNextModelPage(CollectionModel<EntityModel<UserDto>> collectionModel,
-                                    int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToUsersPage(page + 1, size, "next", sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                    int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToUsersPage(
+                page + 1, size, "next", sortType, sortBy, getNextCursor(collectionModel, sortBy), fieldset
+        ));
     }
 
     @Override
     public void linkToPrevModelPage(CollectionModel<EntityModel<UserDto>> collectionModel,
-                                    int page, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToUsersPage(page - 1, size, "prev", sortType, sortBy));
-        } catch (ServiceException ignored) {
-        }
+                                    int page, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToUsersPage(page - 1, size, "prev", sortType, sortBy, null, fieldset));
     }
 
     @Override
     public void linkToLastModelPage(CollectionModel<EntityModel<UserDto>> collectionModel,
-                                    int lastPage, int size, SortType sortType, SortBy sortBy) {
-        try {
-            collectionModel.add(getLinkToUsersPage(lastPage, size, "last", sortType, sortBy));
-        } catch (ServiceException ignored) {
+                                    int lastPage, int size, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        collectionModel.add(getLinkToUsersPage(lastPage, size, "last", sortType, sortBy, null, fieldset));
+    }
+
+    @Override
+    public String getCursor(UserDto model, SortBy sortBy) {
+        if (model.getLogin() == null) {
+            return null;
         }
+        return KeysetCursor.of(model.getId(), model.getLogin()).encode();
     }
 
-    private Link getLinkToUsersPage(int page, int size, String rel,
-                                    SortType sortType, SortBy sortBy) throws ServiceException {
-        return linkTo(methodOn(UserController.class)
-                .getUsers(defaultRequestBody, page, size, sortType, sortBy)).withRel(rel);
+    private Link getLinkToUsersPage(int page, int size, String rel, SortType sortType, SortBy sortBy,
+                                    String after, Fieldset fieldset) {
+        return USERS.expand(rel, page, size, sortType, sortBy, after, null,
+                fieldset.getFieldsParameter(), fieldset.getEmbedParameter(), fieldset.getLinksParameter());
     }
 }
@@ -1,10 +1,12 @@
 package com.epam.esm.web.hateoas.pagination;
 
-import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
+import com.epam.esm.web.dto.Fieldset;
+import com.epam.esm.web.hateoas.RepresentationModel;
+import org.springframework.data.domain.Slice;
 
 public interface PaginationConfigurer {
 
-    void configure(int page, int size, int lastPage, SortType sortType, SortBy sortBy) throws ServiceException;
+    RepresentationModel configure(Slice<?> slice, SortType sortType, SortBy sortBy, Fieldset fieldset);
 }
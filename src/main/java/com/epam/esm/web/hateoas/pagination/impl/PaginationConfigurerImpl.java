@@ -1,30 +1,20 @@
 package com.epam.esm.web.hateoas.pagination.impl;
 
-import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.search.sort.SortBy;
 import com.epam.esm.service.search.sort.SortType;
-import com.epam.esm.service.util.PaginationValidator;
-import com.epam.esm.web.hateoas.ModelAssembler;
+import com.epam.esm.web.dto.Fieldset;
 import com.epam.esm.web.hateoas.RepresentationModel;
 import com.epam.esm.web.hateoas.pagination.PaginationConfigurer;
-import org.springframework.hateoas.PagedModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
-public class PaginationConfigurerImpl<T> implements PaginationConfigurer {
-
-    private final ModelAssembler<T> modelAssembler;
-    private final PaginationValidator paginationValidator;
-
-    public PaginationConfigurerImpl(ModelAssembler<T> modelAssembler, PaginationValidator paginationValidator) {
-        this.modelAssembler = modelAssembler;
-        this.paginationValidator = paginationValidator;
-    }
+public class PaginationConfigurerImpl implements PaginationConfigurer {
 
     @Override
-    public void configure(int page, int size, int lastPage, SortType sortType, SortBy sortBy)
-            throws ServiceException {
-        paginationValidator.validatePagination(page, size);
-        var pageMetadata = new PagedModel.PageMetadata(size, page, (long) lastPage * size, lastPage);
-        var model = new RepresentationModel(pageMetadata, sortType, sortBy);
-        modelAssembler.setRepresentationModel(model);
+    public RepresentationModel configure(Slice<?> slice, SortType sortType, SortBy sortBy, Fieldset fieldset) {
+        Integer lastPage = slice instanceof Page ? ((Page<?>) slice).getTotalPages() : null;
+        return new RepresentationModel(
+                slice.getNumber() + 1, slice.getSize(), lastPage, slice.hasNext(), sortType, sortBy, fieldset
+        );
     }
 }
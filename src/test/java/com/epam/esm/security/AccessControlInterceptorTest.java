@@ -0,0 +1,106 @@
+package com.epam.esm.security;
+
+import com.epam.esm.model.Role;
+import com.epam.esm.service.OrderOwnershipService;
+import com.epam.esm.service.exception.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class AccessControlInterceptorTest {
+
+    private AccessControlInterceptor interceptor;
+
+    @Mock
+    private OrderOwnershipService orderOwnershipService;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new AccessControlInterceptor(new UserSecurityUtil(orderOwnershipService));
+    }
+
+    private static Authentication authenticate(int id, Role.RoleType roleType) {
+        var details = new UserDetailsImpl(id, "login", "", new ArrayList<>(roleType.getAuthorities()), true);
+        return new UsernamePasswordAuthenticationToken(details, "", details.getAuthorities());
+    }
+
+    @Test
+    void givenUnannotatedMethod_thenNotRegister() throws NoSuchMethodException {
+        assertFalse(interceptor.register(Endpoints.class.getMethod("getTag", int.class)));
+    }
+
+    @Test
+    void givenPermission_thenCheckItAsBit() throws NoSuchMethodException {
+        var method = Endpoints.class.getMethod("addTag");
+        assertTrue(interceptor.register(method));
+
+        interceptor.check(method, new Object[0], authenticate(1, Role.RoleType.ADMIN));
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.check(method, new Object[0], authenticate(1, Role.RoleType.USER)));
+        assertThrows(AccessDeniedException.class, () -> interceptor.check(method, new Object[0], null));
+    }
+
+    @Test
+    void givenUserOrPermission_thenGrantOwnerOrPermitted() throws NoSuchMethodException {
+        var method = Endpoints.class.getMethod("getUser", int.class);
+
+        interceptor.check(method, new Object[]{1}, authenticate(1, Role.RoleType.USER));
+        interceptor.check(method, new Object[]{2}, authenticate(1, Role.RoleType.ADMIN));
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.check(method, new Object[]{2}, authenticate(1, Role.RoleType.USER)));
+    }
+
+    @Test
+    void givenOrderOwnership_thenCheckItLast() throws NoSuchMethodException, ServiceException {
+        var method = Endpoints.class.getMethod("deleteOrder", int.class, int.class);
+        when(orderOwnershipService.isOwnedBy(5, 1)).thenReturn(true);
+
+        interceptor.check(method, new Object[]{1, 5}, authenticate(1, Role.RoleType.USER));
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.check(method, new Object[]{2, 5}, authenticate(1, Role.RoleType.USER)));
+        verify(orderOwnershipService, times(1)).isOwnedBy(5, 1);
+    }
+
+    @Test
+    void givenMissingParameter_thenFailToRegister() throws NoSuchMethodException {
+        var method = Endpoints.class.getMethod("getOrder", int.class);
+
+        assertThrows(IllegalStateException.class, () -> interceptor.register(method));
+    }
+
+    public static class Endpoints {
+
+        public void getTag(int id) {
+        }
+
+        @AccessControl(allOf = Role.Permission.TAGS_WRITE)
+        public void addTag() {
+        }
+
+        @AccessControl(user = "id", orAnyOf = Role.Permission.USERS_READ)
+        public void getUser(@PathVariable("id") int userId) {
+        }
+
+        @AccessControl(allOf = Role.Permission.ORDERS_WRITE, user = "id", order = "orderId")
+        public void deleteOrder(@PathVariable("id") int id, @PathVariable("orderId") int orderId) {
+        }
+
+        @AccessControl(user = "userId")
+        public void getOrder(@PathVariable("id") int id) {
+        }
+    }
+}
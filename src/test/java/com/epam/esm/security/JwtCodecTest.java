@@ -0,0 +1,57 @@
+package com.epam.esm.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+class JwtCodecTest {
+
+    private static final byte[] KEY = "secret".getBytes(StandardCharsets.UTF_8);
+
+    private final JwtCodec codec = new JwtCodec(KEY);
+
+    @Test
+    void whenEncodeToken_thenDecodeItsClaims() {
+        var token = codec.encode(7, "user \"name\"", "USER", "token-id", 1_000_000L, 4_600_000L);
+
+        var claims = codec.decode(token);
+        assertEquals("user \"name\"", claims.getSubject());
+        assertEquals(7, claims.get(JwtCodec.ID_KEY));
+        assertEquals("USER", claims.get(JwtCodec.ROLE_KEY));
+        assertTrue(((List<?>) claims.get(JwtCodec.AUTHORITIES_KEY)).contains("orders:write"));
+        assertEquals("token-id", claims.getId());
+        assertEquals(new Date(4_600_000L), claims.getExpiration());
+    }
+
+    @Test
+    void givenTokenIssuedByJjwt_thenDecodeIt() {
+        var token = Jwts.builder()
+                .setSubject("username")
+                .setId("token-id")
+                .signWith(SignatureAlgorithm.HS256, Base64.getEncoder().encodeToString(KEY))
+                .compact();
+
+        assertEquals("username", codec.decode(token).getSubject());
+    }
+
+    @Test
+    void givenTamperedToken_thenThrowException() {
+        var token = codec.encode(7, "username", "USER", "token-id", 1_000_000L, 4_600_000L);
+        var parts = token.split("\\.");
+        var forged = codec.encode(7, "admin", "ADMIN", "token-id", 1_000_000L, 4_600_000L).split("\\.")[1];
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(parts[0] + "." + forged + "." + parts[2]));
+    }
+}
@@ -1,11 +1,13 @@
 package com.epam.esm.security;
 
+import com.epam.esm.service.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.springframework.security.authentication.AuthenticationServiceException;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,18 +20,18 @@ public class JwtTokenProviderImplTest {
     private JwtTokenProviderImpl jwtTokenProvider;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
 
     @BeforeEach
     void setUp() {
-        jwtTokenProvider = new JwtTokenProviderImpl(userDetailsService);
+        jwtTokenProvider = new JwtTokenProviderImpl(100, tokenRevocationService);
     }
 
     @Test
     void whenCreateToken_thenCorrectlyValidateIt(){
         var username = "username";
         var role = "USER";
-        var token = jwtTokenProvider.createJwtToken(username, role);
+        var token = jwtTokenProvider.createJwtToken(1, username, role);
         var validation = jwtTokenProvider.validateJwtToken(token);
 
         assertTrue(validation);
@@ -46,42 +48,19 @@ public class JwtTokenProviderImplTest {
         }
     }
 
-    @Test
-    void whenCreateToken_CorrectlyRetrieveUsername(){
-        var username = "username";
-        var role = "USER";
-        var token = jwtTokenProvider.createJwtToken(username, role);
-        var retrievedUsername = jwtTokenProvider.getUserName(token);
-
-        assertEquals(username, retrievedUsername);
-    }
-
-    @Test
-    void givenIncorrectToken_throwExceptionWhileRetrievingUsername() {
-        var token = "incorrect token";
-
-        try {
-            jwtTokenProvider.getUserName(token);
-        } catch (AuthenticationServiceException e) {
-            assertEquals(e.getMessage(), "Failed to get username from jwt token");
-        }
-    }
-
     @Test
     void givenToken_RetrieveAuthentication() {
         var username = "username";
         var role = "USER";
-        var token = jwtTokenProvider.createJwtToken(username, role);
-
-        when(userDetailsService.loadUserByUsername(username))
-                .thenReturn(new UserDetailsImpl(1, username, "password", null, true));
+        var token = jwtTokenProvider.createJwtToken(1, username, role);
 
         var auth = jwtTokenProvider.getAuthentication(token);
         var userDetails = (UserDetailsImpl) auth.getPrincipal();
         assertNotNull(auth);
         assertEquals(auth.getCredentials(), "");
         assertEquals(username, userDetails.getUsername());
-        verify(userDetailsService).loadUserByUsername(username);
+        assertEquals(1, userDetails.getId());
+        assertTrue(auth.getAuthorities().contains(new SimpleGrantedAuthority("orders:write")));
     }
 
     @Test
@@ -91,7 +70,20 @@ public class JwtTokenProviderImplTest {
         try {
             jwtTokenProvider.getAuthentication(token);
         } catch (AuthenticationServiceException e) {
-            assertEquals(e.getMessage(), "Failed to get username from jwt token");
+            assertEquals(e.getMessage(), "Failed to validate jwt token");
         }
     }
+
+    @Test
+    void givenRevokedToken_thenThrowExceptionWhileGettingAuthentication() {
+        var token = jwtTokenProvider.createJwtToken(1, "username", "USER");
+        jwtTokenProvider.revokeJwtToken(token);
+
+        verify(tokenRevocationService).revoke(Mockito.anyString(), Mockito.any());
+        when(tokenRevocationService.isRevoked(Mockito.anyString())).thenReturn(true);
+
+        var exception = assertThrows(AuthenticationServiceException.class,
+                () -> jwtTokenProvider.getAuthentication(token));
+        assertEquals("Failed to validate jwt token: jwt token revoked", exception.getMessage());
+    }
 }
@@ -0,0 +1,84 @@
+package com.epam.esm.security;
+
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+class PooledPasswordEncoderTest {
+
+    @Test
+    void whenEncodePassword_thenItMatches() {
+        var encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1);
+
+        var encoded = encoder.encode("password");
+        assertTrue(encoder.matches("password", encoded));
+        assertFalse(encoder.matches("other", encoded));
+        encoder.shutdown();
+    }
+
+    @Test
+    void whenHashedWithLowerStrength_thenUpgradeEncoding() {
+        var encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password")));
+        encoder.shutdown();
+    }
+
+    @Test
+    void whenPoolIsBusy_thenRejectAtOnce() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var encoder = new PooledPasswordEncoder(new BlockingEncoder(started, release), 1, 0);
+
+        var busy = new Thread(() -> encoder.encode("password"));
+        busy.start();
+        started.await();
+
+        var exception = assertThrows(ServiceException.class, () -> encoder.encode("password"));
+        assertEquals(ErrorCodeEnum.AUTHENTICATION_OVERLOADED, exception.getErrorCode());
+
+        release.countDown();
+        busy.join();
+        encoder.shutdown();
+    }
+
+    private static class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        private BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.epam.esm.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void whenBucketIsEmpty_thenRejectUntilRefilled() {
+        var now = new AtomicLong();
+        var limiter = new TokenBucketRateLimiter(2, 6, 10, now::get);
+
+        assertTrue(limiter.tryAcquire("login"));
+        assertTrue(limiter.tryAcquire("login"));
+        assertFalse(limiter.tryAcquire("login"));
+        assertTrue(limiter.tryAcquire("other"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(limiter.tryAcquire("login"));
+        assertFalse(limiter.tryAcquire("login"));
+    }
+
+    @Test
+    void whenTooManyKeys_thenDropRefilledBuckets() {
+        var now = new AtomicLong();
+        var limiter = new TokenBucketRateLimiter(1, 60, 2, now::get);
+
+        limiter.tryAcquire("first");
+        limiter.tryAcquire("second");
+        limiter.tryAcquire("third");
+        assertEquals(3, limiter.size());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("fourth");
+        assertEquals(1, limiter.size());
+    }
+}
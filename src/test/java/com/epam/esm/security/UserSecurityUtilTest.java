@@ -3,12 +3,12 @@ package com.epam.esm.security;
 import com.epam.esm.model.Order;
 import com.epam.esm.model.Role;
 import com.epam.esm.model.User;
-import com.epam.esm.service.AuditedOrderService;
+import com.epam.esm.service.OrderOwnershipService;
+import com.epam.esm.service.exception.ServiceException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -29,7 +29,7 @@ public class UserSecurityUtilTest {
     private UserSecurityUtil userSecurityUtil;
 
     @Mock
-    private AuditedOrderService auditedOrderService;
+    private OrderOwnershipService orderOwnershipService;
 
     private Authentication authentication;
 
@@ -48,7 +48,7 @@ public class UserSecurityUtilTest {
         simpleGrantedAuthorities.forEach(a -> authorities.add(new SimpleGrantedAuthority(a.getAuthority())));
         authentication = new UsernamePasswordAuthenticationToken(details, "", authorities);
 
-        userSecurityUtil = new UserSecurityUtil(auditedOrderService);
+        userSecurityUtil = new UserSecurityUtil(orderOwnershipService);
     }
 
     @Test
@@ -66,34 +66,24 @@ public class UserSecurityUtilTest {
     }
 
     @Test
-    void givenOrderAuthentication_ReturnTrue() {
+    void givenOrderAuthentication_ReturnTrue() throws ServiceException {
         var orderId = 1;
-        var order = new Order();
-        order.setId(1);
-        var user = new User();
-        user.setId(1);
-        order.setUser(user);
 
-        when(auditedOrderService.getAuditedOrderById(orderId)).thenReturn(order);
+        when(orderOwnershipService.isOwnedBy(orderId, 1)).thenReturn(true);
         var auth = userSecurityUtil.authenticateOrderId(authentication, orderId);
 
         assertTrue(auth);
-        verify(auditedOrderService).getAuditedOrderById(orderId);
+        verify(orderOwnershipService).isOwnedBy(orderId, 1);
     }
 
     @Test
-    void givenOrderAuthentication_ReturnFalse() {
+    void givenOrderAuthentication_ReturnFalse() throws ServiceException {
         var orderId = 2;
-        var order = new Order();
-        order.setId(1);
-        var user = new User();
-        user.setId(1);
-        order.setUser(user);
 
-        Mockito.when(auditedOrderService.getAuditedOrderById(orderId)).thenReturn(order);
+        when(orderOwnershipService.isOwnedBy(orderId, 1)).thenReturn(false);
         var auth = userSecurityUtil.authenticateOrderId(authentication, orderId);
 
-        assertTrue(auth);
-        verify(auditedOrderService).getAuditedOrderById(orderId);
+        assertFalse(auth);
+        verify(orderOwnershipService).isOwnedBy(orderId, 1);
     }
 }
@@ -0,0 +1,86 @@
+package com.epam.esm.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(SpringExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Test
+    void whenTokenExpires_thenForgetItsClaims() {
+        var now = new AtomicLong(1000);
+        var cache = new VerifiedTokenCache(10, now::get);
+        var claims = Jwts.claims().setSubject("username").setExpiration(new Date(2000));
+
+        cache.put("token", claims);
+        assertEquals(claims, cache.get("token"));
+
+        now.set(2000);
+        assertNull(cache.get("token"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void whenCacheIsFull_thenSweepExpiredTokensBeforeCaching() {
+        var now = new AtomicLong(1000);
+        var cache = new VerifiedTokenCache(1, now::get);
+
+        cache.put("first", Jwts.claims().setExpiration(new Date(2000)));
+        cache.put("second", Jwts.claims().setExpiration(new Date(3000)));
+        assertNull(cache.get("second"));
+
+        now.set(2500);
+        cache.put("second", Jwts.claims().setExpiration(new Date(3000)));
+        assertEquals(1, cache.size());
+        assertEquals(new Date(3000), cache.get("second").getExpiration());
+    }
+
+    @Test
+    void whenCacheIsFull_thenSweepAtMostOncePerSecond() {
+        var now = new AtomicLong(10_000);
+        var cache = new VerifiedTokenCache(1, now::get);
+
+        now.set(20_000);
+        cache.put("first", Jwts.claims().setExpiration(new Date(21_000)));
+        now.set(20_100);
+        cache.put("second", Jwts.claims().setExpiration(new Date(50_000)));
+
+        now.set(21_000);
+        cache.put("second", Jwts.claims().setExpiration(new Date(50_000)));
+        assertNull(cache.get("second"));
+
+        now.set(21_100);
+        cache.put("second", Jwts.claims().setExpiration(new Date(50_000)));
+        assertEquals(new Date(50_000), cache.get("second").getExpiration());
+    }
+
+    @Test
+    void whenCachedClaimsAreChanged_thenKeepThemIntact() {
+        var now = new AtomicLong(1000);
+        var cache = new VerifiedTokenCache(10, now::get);
+        var claims = Jwts.claims().setSubject("username").setExpiration(new Date(2000));
+        claims.put("authorities", new ArrayList<>(List.of("tag:read")));
+
+        cache.put("token", claims);
+        claims.setSubject("admin");
+        var cached = cache.get("token");
+        cached.setSubject("admin");
+
+        assertNotSame(cached, cache.get("token"));
+        assertEquals("username", cache.get("token").getSubject());
+        assertThrows(UnsupportedOperationException.class,
+                () -> cache.get("token").get("authorities", List.class).add("tag:write"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.epam.esm.security.config;
+
+import com.epam.esm.security.AccessTokenServices;
+import com.epam.esm.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.config.annotation.builders.ClientDetailsServiceBuilder;
+import org.springframework.security.oauth2.config.annotation.configurers.ClientDetailsServiceConfigurer;
+import org.springframework.security.oauth2.provider.ClientDetailsService;
+import org.springframework.security.oauth2.provider.client.ClientDetailsUserDetailsService;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(SpringExtension.class)
+public class AuthorizationServerConfigTest {
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    private ClientDetailsService clientDetailsService;
+
+    @BeforeEach
+    @SuppressWarnings("rawtypes")
+    void setUp() throws Exception {
+        var clients = new ClientDetailsServiceConfigurer(new ClientDetailsServiceBuilder());
+        new AuthorizationServerConfig(userDetailsService, authenticationManager).configure(clients);
+        clientDetailsService = clients.and().build();
+    }
+
+    /*
+     * The token endpoint authenticates clients through ClientDetailsUserDetailsService,
+     * an unknown client can't get a token with any password.
+     */
+    @Test
+    void givenFirstPartyClient_thenTokenEndpointRejectsIt() {
+        var clientUsers = new ClientDetailsUserDetailsService(clientDetailsService);
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> clientUsers.loadUserByUsername(AccessTokenServices.FIRST_PARTY_CLIENT_ID));
+    }
+
+    @Test
+    void givenOAuthClient_thenAllowOnlyPasswordGrant() {
+        var client = clientDetailsService.loadClientByClientId("client-id");
+
+        assertEquals(Set.of("password"), client.getAuthorizedGrantTypes());
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Tag;
+import com.epam.esm.repository.GiftCertificateRepository;
+import com.epam.esm.repository.TagRepository;
+import com.epam.esm.service.impl.CertificateTagIndexImpl;
+import com.epam.esm.service.search.criteria.TagMatchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+class CertificateTagIndexImplTest {
+
+    private CertificateTagIndexImpl tagIndex;
+
+    @Mock
+    private GiftCertificateRepository certificateRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Tag spa = new Tag(1, "spa");
+    private final Tag sport = new Tag(2, "sport");
+
+    @BeforeEach
+    public void setUp() {
+        tagIndex = new CertificateTagIndexImpl(certificateRepository, tagRepository, transactionManager);
+        tagIndex.indexTag(spa);
+        tagIndex.indexTag(sport);
+        tagIndex.index(initCertificate(1, spa));
+        tagIndex.index(initCertificate(2, spa, sport));
+        tagIndex.index(initCertificate(3, sport));
+        tagIndex.index(initCertificate(4));
+    }
+
+    private GiftCertificate initCertificate(int id, Tag... tags) {
+        var giftCertificate = new GiftCertificate();
+        giftCertificate.setId(id);
+        giftCertificate.setTags(Set.of(tags));
+
+        return giftCertificate;
+    }
+
+    @Test
+    void whenMatchAllTags_thenReturnIntersection() {
+        var actual = tagIndex.getCertificates(List.of("spa", "sport"), TagMatchMode.ALL);
+        assertEquals(RoaringBitmap.bitmapOf(2), actual);
+    }
+
+    @Test
+    void whenMatchAnyTag_thenReturnUnion() {
+        var actual = tagIndex.getCertificates(List.of("spa", "sport", "unknown"), TagMatchMode.ANY);
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), actual);
+    }
+
+    @Test
+    void whenMatchNoneOfTags_thenReturnOtherActiveCertificates() {
+        var actual = tagIndex.getCertificates(List.of("spa"), TagMatchMode.NONE);
+        assertEquals(RoaringBitmap.bitmapOf(3, 4), actual);
+    }
+
+    @Test
+    void whenRemoveCertificateAndTag_thenNeverMatchThem() {
+        tagIndex.remove(2);
+        tagIndex.removeTag(sport.getId());
+
+        assertEquals(RoaringBitmap.bitmapOf(1), tagIndex.getCertificates(List.of("spa", "sport"), TagMatchMode.ANY));
+        assertEquals(RoaringBitmap.bitmapOf(1, 3, 4), tagIndex.getCertificates(List.of(), TagMatchMode.ALL));
+    }
+}
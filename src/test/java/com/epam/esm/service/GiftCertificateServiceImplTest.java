@@ -3,9 +3,15 @@ package com.epam.esm.service;
 import com.epam.esm.model.GiftCertificate;
 import com.epam.esm.model.Tag;
 import com.epam.esm.repository.GiftCertificateRepository;
+import com.epam.esm.repository.TagRepository;
 import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.impl.CertificateTagIndexImpl;
+import com.epam.esm.service.impl.CertificateTextIndexImpl;
 import com.epam.esm.service.impl.GiftCertificateServiceImpl;
+import com.epam.esm.service.impl.PaginationServiceImpl;
 import com.epam.esm.service.search.criteria.CertificateSearchCriteria;
+import com.epam.esm.service.search.sort.SortBy;
+import com.epam.esm.service.search.sort.SortType;
 import com.epam.esm.service.util.impl.CertificateValidatorImpl;
 import com.epam.esm.service.util.impl.PaginationValidatorImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,17 +19,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,22 +52,37 @@ class GiftCertificateServiceImplTest {
     @Mock
     private GiftCertificateRepository certificateRepository;
 
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CertificateTextIndexImpl textIndex;
+
     private final static int PAGE = 1;
     private final static int SIZE = 10;
+    private final static int MAX_ID_PREDICATE = 1000;
 
     @BeforeEach
     public void setUp() {
         var certificateValidator = new CertificateValidatorImpl();
         var paginationValidator = new PaginationValidatorImpl();
+        textIndex = new CertificateTextIndexImpl(certificateRepository);
+        var tagIndex = new CertificateTagIndexImpl(certificateRepository, tagRepository, transactionManager);
         giftCertificateService = new GiftCertificateServiceImpl(
-                certificateRepository, certificateValidator, paginationValidator
+                certificateRepository, certificateValidator, paginationValidator, new PaginationServiceImpl(),
+                textIndex, tagIndex
         );
+        ReflectionTestUtils.setField(giftCertificateService, "maxIdPredicate", MAX_ID_PREDICATE);
+        ReflectionTestUtils.setField(giftCertificateService, "maxMatchingOffset", MAX_ID_PREDICATE);
     }
 
     private List<GiftCertificate> initCertificates() {
         var certificates = new ArrayList<GiftCertificate>();
         IntStream.rangeClosed(1, 10).forEach(i -> {
             var certificate = initCertificate();
+            certificate.setId(i);
             certificate.setName("name" + i);
             certificates.add(certificate);
         });
@@ -88,18 +120,170 @@ class GiftCertificateServiceImplTest {
     @SuppressWarnings("unchecked")
     void whenAddGiftCertificates_thenCorrectlyReturnThem() throws ServiceException {
         var given = initCertificates();
+        given.forEach(textIndex::index);
         var givenSearchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
-        givenSearchCriteria.setContent("content");
+        givenSearchCriteria.setContent("name");
 
         when(
-                certificateRepository.findAll(Mockito.isA(Specification.class), Mockito.isA(Pageable.class))
-        ).thenReturn(new PageImpl<>(given));
+                certificateRepository.findSlice(Mockito.isA(Specification.class), Mockito.isA(Pageable.class))
+        ).thenReturn(new SliceImpl<>(given));
 
         var actual = giftCertificateService.getGiftCertificatesByPage(
                 givenSearchCriteria, PAGE, SIZE, givenSearchCriteria.getSortType(), givenSearchCriteria.getSortBy()
         );
+        assertEquals(given, actual.getContent());
+        assertEquals(given.size(), ((Page<GiftCertificate>) actual).getTotalElements());
+        verify(certificateRepository).findSlice(Mockito.isA(Specification.class), Mockito.isA(Pageable.class));
+        verify(certificateRepository, never()).count(Mockito.isA(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenSearchMatchesTooManyCertificates_thenFilterOrderedIdsByIndex() throws ServiceException {
+        ReflectionTestUtils.setField(giftCertificateService, "maxIdPredicate", 2);
+        var given = initCertificates();
+        given.forEach(textIndex::index);
+        var givenSearchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
+        givenSearchCriteria.setContent("name");
+
+        doAnswer(invocation -> {
+            Predicate<Integer> consumer = invocation.getArgument(3);
+            for (int id : new int[]{10, 42, 9, 8, 43, 7, 6}) {
+                if (!consumer.test(id)) {
+                    break;
+                }
+            }
+            return null;
+        }).when(certificateRepository).scrollIds(
+                Mockito.isNull(), Mockito.isA(Sort.class), Mockito.anyInt(), Mockito.isA(Predicate.class)
+        );
+        when(certificateRepository.findAllById(List.of(8, 7))).thenReturn(List.of(given.get(6), given.get(7)));
+
+        var actual = giftCertificateService.getGiftCertificatesByPage(
+                givenSearchCriteria, 2, 2, givenSearchCriteria.getSortType(), givenSearchCriteria.getSortBy()
+        );
+        assertEquals(List.of(given.get(7), given.get(6)), actual.getContent());
+        assertEquals(given.size(), ((Page<GiftCertificate>) actual).getTotalElements());
+        verify(certificateRepository, never()).findSlice(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void whenSearchMatchesTooManyCertificatesDeepWithoutCursor_thenThrowException() {
+        ReflectionTestUtils.setField(giftCertificateService, "maxIdPredicate", 2);
+        ReflectionTestUtils.setField(giftCertificateService, "maxMatchingOffset", 2);
+        initCertificates().forEach(textIndex::index);
+        var givenSearchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
+        givenSearchCriteria.setContent("name");
+
+        assertThrows(ServiceException.class, () -> giftCertificateService.getGiftCertificatesByPage(
+                givenSearchCriteria, 3, 2, givenSearchCriteria.getSortType(), givenSearchCriteria.getSortBy()
+        ));
+        verify(certificateRepository, never()).scrollIds(
+                Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any()
+        );
+    }
+
+    @Test
+    void whenSearchCertificatesByRelevance_thenHydrateOnlyRankedPage() throws ServiceException {
+        var spaInName = initCertificate();
+        spaInName.setId(1);
+        spaInName.setName("Spa day");
+        var spaInDescription = initCertificate();
+        spaInDescription.setId(2);
+        spaInDescription.setDescription("Massage and spa");
+        var other = initCertificate();
+        other.setId(3);
+        List.of(spaInName, spaInDescription, other).forEach(textIndex::index);
+
+        var givenSearchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
+        givenSearchCriteria.setContent("spa");
+
+        when(certificateRepository.findAllById(List.of(1))).thenReturn(List.of(spaInName));
+
+        var actual = giftCertificateService.getGiftCertificatesByPage(
+                givenSearchCriteria, PAGE, 1, SortType.ASC, SortBy.RELEVANCE
+        );
+        assertEquals(List.of(spaInName), actual.getContent());
+        assertTrue(actual.hasNext());
+        verify(certificateRepository).findAllById(List.of(1));
+    }
+
+    @Test
+    void whenSearchCertificatesByRelevanceWithoutTags_thenDontFetchTags() throws ServiceException {
+        var spaInName = initCertificate();
+        spaInName.setId(1);
+        spaInName.setName("Spa day");
+        textIndex.index(spaInName);
+
+        var givenSearchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
+        givenSearchCriteria.setContent("spa");
+        givenSearchCriteria.setEmbedded(Set.of());
+
+        when(certificateRepository.findByIdIn(List.of(1))).thenReturn(List.of(spaInName));
+
+        var actual = giftCertificateService.getGiftCertificatesByPage(
+                givenSearchCriteria, PAGE, 1, SortType.ASC, SortBy.RELEVANCE
+        );
+        assertEquals(List.of(spaInName), actual.getContent());
+        verify(certificateRepository, never()).findAllById(Mockito.anyIterable());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenExportCertificates_thenPassOnEveryChunkOfCursor() throws ServiceException {
+        var given = initCertificates();
+        var givenSearchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
+
+        doAnswer(invocation -> {
+            Consumer<List<GiftCertificate>> consumer = invocation.getArgument(3);
+            consumer.accept(given.subList(0, 5));
+            consumer.accept(given.subList(5, 10));
+            return null;
+        }).when(certificateRepository).scroll(
+                Mockito.isNull(), Mockito.isA(Sort.class), Mockito.anyInt(), Mockito.isA(Consumer.class)
+        );
+
+        var actual = new ArrayList<GiftCertificate>();
+        giftCertificateService.exportGiftCertificates(givenSearchCriteria, SortType.ASC, SortBy.NAME, actual::addAll);
         assertEquals(given, actual);
-        verify(certificateRepository).findAll(Mockito.isA(Specification.class), Mockito.isA(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenExportTooManyMatches_thenFilterStreamedCertificatesIntoChunks() throws ServiceException {
+        ReflectionTestUtils.setField(giftCertificateService, "maxIdPredicate", 2);
+        ReflectionTestUtils.setField(giftCertificateService, "exportChunkSize", 4);
+        var given = initCertificates();
+        given.subList(0, 6).forEach(textIndex::index);
+        var givenSearchCriteria = CertificateSearchCriteria.getDefaultCertificateRequestBody();
+        givenSearchCriteria.setContent("name");
+
+        doAnswer(invocation -> {
+            Consumer<List<GiftCertificate>> consumer = invocation.getArgument(3);
+            consumer.accept(given.subList(0, 5));
+            consumer.accept(given.subList(5, 10));
+            return null;
+        }).when(certificateRepository).scroll(
+                Mockito.isNull(), Mockito.isA(Sort.class), Mockito.anyInt(), Mockito.isA(Consumer.class)
+        );
+
+        var actual = new ArrayList<List<GiftCertificate>>();
+        giftCertificateService.exportGiftCertificates(
+                givenSearchCriteria, SortType.ASC, SortBy.NAME, chunk -> actual.add(new ArrayList<>(chunk))
+        );
+        assertEquals(List.of(given.subList(0, 4), given.subList(4, 6)), actual);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenExportCertificatesByRelevance_thenThrowException() {
+        assertThrows(ServiceException.class, () -> giftCertificateService.exportGiftCertificates(
+                null, SortType.ASC, SortBy.RELEVANCE, certificates -> {
+                }
+        ));
+        verify(certificateRepository, never()).scroll(
+                Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.isA(Consumer.class)
+        );
     }
 
     @Test
@@ -113,6 +297,21 @@ class GiftCertificateServiceImplTest {
         verify(certificateRepository).save(givenCertificate);
     }
 
+    @Test
+    void whenUpdateCertificateTwiceInOneSecond_thenMoveLastUpdateDateEveryTime() throws ServiceException {
+        var existing = initCertificate();
+        var lastUpdateDate = existing.getLastUpdateDate().plusMinutes(1).withNano(0);
+        existing.setLastUpdateDate(lastUpdateDate);
+
+        when(certificateRepository.findById(existing.getId())).thenReturn(java.util.Optional.of(existing));
+        when(certificateRepository.save(existing)).thenReturn(existing);
+
+        giftCertificateService.updateGiftCertificate(initCertificate(), existing.getId());
+        assertEquals(lastUpdateDate.plusSeconds(1), existing.getLastUpdateDate());
+        giftCertificateService.updateGiftCertificate(initCertificate(), existing.getId());
+        assertEquals(lastUpdateDate.plusSeconds(2), existing.getLastUpdateDate());
+    }
+
     @Test
     void whenTryAddEmptyCertificate_thenThrowException() {
         var giftCertificate = new GiftCertificate();
@@ -0,0 +1,60 @@
+package com.epam.esm.service;
+
+import com.epam.esm.repository.OrderRepository;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.impl.OrderOwnershipServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class OrderOwnershipServiceImplTest {
+
+    private OrderOwnershipServiceImpl orderOwnershipService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderOwnershipService = new OrderOwnershipServiceImpl(orderRepository, 10, 60);
+    }
+
+    @Test
+    void whenCheckOwnerTwice_thenQueryItOnce() throws ServiceException {
+        when(orderRepository.findUserIdById(1)).thenReturn(Optional.of(5));
+
+        assertTrue(orderOwnershipService.isOwnedBy(1, 5));
+        assertFalse(orderOwnershipService.isOwnedBy(1, 6));
+        verify(orderRepository).findUserIdById(1);
+    }
+
+    @Test
+    void whenOrderIsMissing_thenNotOwnedAndNotCached() throws ServiceException {
+        when(orderRepository.findUserIdById(1)).thenReturn(Optional.empty());
+
+        assertFalse(orderOwnershipService.isOwnedBy(1, 5));
+        assertFalse(orderOwnershipService.isOwnedBy(1, 5));
+        verify(orderRepository, times(2)).findUserIdById(1);
+    }
+
+    @Test
+    void whenOrderIsDeleted_thenQueryItOwnerAgain() throws ServiceException {
+        when(orderRepository.findUserIdById(1)).thenReturn(Optional.of(5)).thenReturn(Optional.empty());
+
+        assertTrue(orderOwnershipService.isOwnedBy(1, 5));
+        orderOwnershipService.evictOwner(1);
+        assertFalse(orderOwnershipService.isOwnedBy(1, 5));
+        verify(orderRepository, times(2)).findUserIdById(1);
+    }
+}
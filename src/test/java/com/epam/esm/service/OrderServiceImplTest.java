@@ -9,6 +9,7 @@ import com.epam.esm.repository.UserRepository;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.impl.AuditedOrderServiceImpl;
 import com.epam.esm.service.impl.OrderServiceImpl;
+import com.epam.esm.service.impl.PaginationServiceImpl;
 import com.epam.esm.service.search.criteria.OrderSearchCriteria;
 import com.epam.esm.service.util.impl.OrderValidatorImpl;
 import com.epam.esm.service.util.impl.PaginationValidatorImpl;
@@ -17,9 +18,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.history.Revisions;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.ArrayList;
@@ -27,6 +27,7 @@ import java.util.Optional;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +43,12 @@ public class OrderServiceImplTest {
     @Mock
     private GiftCertificateRepository certificateRepository;
 
+    @Mock
+    private OrderSummaryService orderSummaryService;
+
+    @Mock
+    private OrderOwnershipService orderOwnershipService;
+
     private AuditedOrderServiceImpl auditedOrderService;
     private OrderServiceImpl orderService;
 
@@ -52,9 +59,13 @@ public class OrderServiceImplTest {
     public void setUp() {
         var orderValidator =  new OrderValidatorImpl();
         var paginationValidator = new PaginationValidatorImpl();
-        orderService = new OrderServiceImpl(orderRepository, orderValidator, userRepository);
+        var paginationService = new PaginationServiceImpl();
+        orderService = new OrderServiceImpl(
+                orderRepository, orderValidator, userRepository, certificateRepository, paginationService,
+                orderSummaryService, orderOwnershipService
+        );
         auditedOrderService = new AuditedOrderServiceImpl(
-                orderRepository, certificateRepository, orderValidator, paginationValidator
+                orderRepository, orderValidator, paginationValidator, paginationService
         );
     }
 
@@ -89,7 +100,6 @@ public class OrderServiceImplTest {
         var givenOrder = initOrder();
 
         when(orderRepository.findById(givenOrder.getId())).thenReturn(java.util.Optional.of(givenOrder));
-        when(certificateRepository.findRevisions(Mockito.isA(Integer.class))).thenReturn(Revisions.none());
 
         Order actual = auditedOrderService.getAuditedOrderById(givenOrder.getId());
         assertEquals(givenOrder, actual);
@@ -102,26 +112,44 @@ public class OrderServiceImplTest {
         IntStream.rangeClosed(1, 10).forEach(i -> given.add(initOrder(i)));
         var givenSearchCriteria = OrderSearchCriteria.getDefaultOrderRequestBody();
 
-        when(orderRepository.findAll(Mockito.isA(Pageable.class))).thenReturn(new PageImpl<>(given));
-        when(certificateRepository.findRevisions(Mockito.isA(Integer.class))).thenReturn(Revisions.none());
+        when(orderRepository.findSlice(Mockito.any(), Mockito.isA(Pageable.class))).thenReturn(new SliceImpl<>(given));
 
         var actual = auditedOrderService.getAuditedOrdersByPage(
                 givenSearchCriteria, SIZE, PAGE, givenSearchCriteria.getSortType(), givenSearchCriteria.getSortBy()
         );
-        assertEquals(given, actual);
-        verify(orderRepository).findAll(Mockito.isA(Pageable.class));
+        assertEquals(given, actual.getContent());
+        verify(orderRepository).findSlice(Mockito.any(), Mockito.isA(Pageable.class));
     }
 
     @Test
     void whenAddOrder_thenReturnItId() throws ServiceException {
         var given = initOrder();
 
+        var certificates = new ArrayList<>(given.getGiftCertificateList());
+
         when(orderRepository.save(given)).thenReturn(given);
         when(userRepository.findById(given.getUser().getId())).thenReturn(Optional.of(given.getUser()));
+        when(certificateRepository.findAllById(Mockito.anyIterable())).thenReturn(certificates);
 
         var actual = orderService.addUserOrder(given, 1);
         assertEquals(actual, given);
+        assertEquals(1, actual.getOrderLines().size());
+        assertEquals("certificate", actual.getOrderLines().get(0).getName());
         verify(orderRepository).save(given);
+        verify(orderSummaryService).addOrder(given);
+    }
+
+    @Test
+    void whenDeleteOrderTwice_thenSubtractItFromSummariesOnce() throws ServiceException {
+        var given = initOrder();
+
+        when(orderRepository.findById(given.getId())).thenReturn(Optional.of(given));
+        when(orderRepository.deactivateById(given.getId())).thenReturn(1).thenReturn(0);
+
+        orderService.deleteOrder(given.getId());
+        orderService.deleteOrder(given.getId());
+        verify(orderSummaryService, times(1)).removeOrder(given);
+        verify(orderOwnershipService, times(1)).evictOwner(given.getId());
     }
 
     @Test
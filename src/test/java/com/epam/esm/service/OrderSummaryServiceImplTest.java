@@ -0,0 +1,138 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.Order;
+import com.epam.esm.model.OrderLine;
+import com.epam.esm.model.Tag;
+import com.epam.esm.model.User;
+import com.epam.esm.model.UserSpending;
+import com.epam.esm.model.UserTagPurchase;
+import com.epam.esm.repository.OrderRepository;
+import com.epam.esm.repository.UserSpendingRepository;
+import com.epam.esm.repository.UserTagPurchaseRepository;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.impl.OrderSummaryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class OrderSummaryServiceImplTest {
+
+    private OrderSummaryServiceImpl orderSummaryService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private UserSpendingRepository spendingRepository;
+
+    @Mock
+    private UserTagPurchaseRepository purchaseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        orderSummaryService = new OrderSummaryServiceImpl(
+                orderRepository, spendingRepository, purchaseRepository, transactionManager
+        );
+        ReflectionTestUtils.setField(orderSummaryService, "chunkSize", 10);
+        ReflectionTestUtils.setField(orderSummaryService, "entityManager", entityManager);
+    }
+
+    private Order initOrder(int id, double cost, String... tagNames) {
+        var order = new Order();
+        order.setId(id);
+        order.setTotalCost(cost);
+        order.setActive(true);
+        order.setUser(new User(1, "login", "password"));
+
+        var orderLine = new OrderLine();
+        orderLine.setOrder(order);
+        orderLine.setTagNames(List.of(tagNames));
+        order.getOrderLines().add(orderLine);
+
+        return order;
+    }
+
+    @Test
+    void whenGetMostFrequentTag_thenLookUpTopSpenderOnly() throws ServiceException {
+        var given = new Tag(1, "spa");
+
+        when(spendingRepository.findFirstByOrderByTotalCostDescUserIdAsc())
+                .thenReturn(Optional.of(new UserSpending(7, 100)));
+        when(purchaseRepository.findMostPurchasedTags(Mockito.eq(7), Mockito.isA(Pageable.class)))
+                .thenReturn(List.of(given));
+
+        var actual = orderSummaryService.getMostFrequentTagFromHighestCostUser();
+        assertEquals(given, actual);
+    }
+
+    @Test
+    void whenRemoveOrder_thenSubtractItCostAndTags() {
+        orderSummaryService.removeOrder(initOrder(1, 10, "spa", "sport"));
+
+        verify(spendingRepository).addCost(1, -10);
+        verify(purchaseRepository).addPurchases(1, "spa", -1);
+        verify(purchaseRepository).addPurchases(1, "sport", -1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenRebuildSummaries_thenCountMismatchesAndReplaceThem() throws ServiceException {
+        var orders = List.of(initOrder(1, 10, "spa"), initOrder(2, 5, "spa", "sport"));
+
+        when(orderRepository.findSlice(Mockito.any(), Mockito.isA(Pageable.class)))
+                .thenReturn(new SliceImpl<>(orders))
+                .thenReturn(new SliceImpl<>(List.of()));
+        when(spendingRepository.findAll()).thenReturn(List.of(new UserSpending(1, 15)));
+        when(purchaseRepository.findAll()).thenReturn(List.of(
+                new UserTagPurchase(1, "spa", 1), new UserTagPurchase(1, "sport", 1)
+        ));
+
+        var actual = orderSummaryService.rebuildSummaries();
+        assertEquals(1, actual);
+        verify(spendingRepository).saveAll(List.of(new UserSpending(1, 15)));
+        verify(purchaseRepository).deleteAllInBatch();
+    }
+
+    @Test
+    void givenNoSummaries_thenBuildThemOnStartup() {
+        when(spendingRepository.count()).thenReturn(0L);
+        when(orderRepository.findSlice(Mockito.any(), Mockito.isA(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(initOrder(1, 10, "spa"))))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        orderSummaryService.rebuildOnStartup();
+        verify(spendingRepository).saveAll(List.of(new UserSpending(1, 10)));
+    }
+
+    @Test
+    void givenStoredSummaries_thenKeepThemOnStartup() {
+        when(spendingRepository.count()).thenReturn(1L);
+
+        orderSummaryService.rebuildOnStartup();
+        verify(orderRepository, never()).findSlice(Mockito.any(), Mockito.any());
+    }
+}
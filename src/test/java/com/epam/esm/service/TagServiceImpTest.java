@@ -1,20 +1,37 @@
 package com.epam.esm.service;
 
 import com.epam.esm.model.Tag;
+import com.epam.esm.repository.CollectionVersion;
+import com.epam.esm.repository.GiftCertificateRepository;
 import com.epam.esm.repository.TagRepository;
 import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.impl.PaginationServiceImpl;
 import com.epam.esm.service.impl.TagServiceImp;
+import com.epam.esm.service.search.criteria.TagSearchCriteria;
+import com.epam.esm.service.search.cursor.KeysetCursor;
+import com.epam.esm.service.search.pagination.PaginationMode;
 import com.epam.esm.service.util.impl.PaginationValidatorImpl;
 import com.epam.esm.service.util.impl.TagValidatorImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,12 +43,20 @@ class TagServiceImpTest {
     @Mock
     private TagRepository tagDao;
 
+    @Mock
+    private GiftCertificateRepository certificateRepository;
+
+    @Mock
+    private CertificateTagIndex tagIndex;
+
     @BeforeEach
     public void init() {
         var tagValidator = new TagValidatorImpl();
         var paginationValidator = new PaginationValidatorImpl();
 
-        tagService = new TagServiceImp(tagDao, tagValidator, paginationValidator);
+        tagService = new TagServiceImp(
+                tagDao, certificateRepository, tagValidator, paginationValidator, new PaginationServiceImpl(), tagIndex
+        );
     }
 
     @Test
@@ -67,4 +92,86 @@ class TagServiceImpTest {
         }
         verify(tagDao).deleteById(tag.getId());
     }
+
+    @Test
+    void whenDeleteTag_thenMoveUpdateDateOfItsCertificates() throws ServiceException {
+        tagService.deleteTag(1);
+
+        verify(tagDao).deleteById(1);
+        verify(certificateRepository).touchByTagId(Mockito.eq(1), Mockito.isA(ZonedDateTime.class));
+    }
+
+    @Test
+    void whenCheckDeletedTag_thenThrowException() {
+        when(tagDao.existsById(1)).thenReturn(false);
+
+        var actual = assertThrows(ServiceException.class, () -> tagService.checkTagExists(1));
+        assertEquals("Failed to get tag by it id: 1", actual.getMessage());
+        verify(tagDao).existsById(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenGetTagsVersionTwice_thenQueryItOnceAndReuseItsCount() throws ServiceException {
+        var searchCriteria = TagSearchCriteria.getDefaultTagRequestBody();
+        when(tagDao.findCollectionVersion(null, "id")).thenReturn(new CollectionVersion(2, 4));
+        when(tagDao.findSlice(Mockito.isNull(), Mockito.isA(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(new Tag(3, "spa"), new Tag(4, "sport"))));
+
+        assertEquals("2:4", tagService.getTagsVersion());
+        assertEquals("2:4", tagService.getTagsVersion());
+        var actual = tagService.getAllTagsByPage(
+                searchCriteria, 1, 2, searchCriteria.getSortType(), searchCriteria.getSortBy()
+        );
+        assertEquals(2, ((Page<Tag>) actual).getTotalElements());
+        verify(tagDao).findCollectionVersion(null, "id");
+        verify(tagDao, never()).count(Mockito.any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenGetTagsAfterCursor_thenSeekWithoutOffset() throws ServiceException {
+        var given = List.of(new Tag(3, "spa"), new Tag(4, "sport"));
+        var searchCriteria = TagSearchCriteria.getDefaultTagRequestBody();
+        searchCriteria.setAfter(KeysetCursor.of(2, "rest").encode());
+
+        when(tagDao.findSlice(Mockito.isA(Specification.class), Mockito.isA(Pageable.class)))
+                .thenReturn(new SliceImpl<>(given));
+
+        var actual = tagService.getAllTagsByPage(
+                searchCriteria, 5, 2, searchCriteria.getSortType(), searchCriteria.getSortBy()
+        );
+        assertEquals(given, actual.getContent());
+        verify(tagDao).findSlice(Mockito.isA(Specification.class), Mockito.argThat(p -> p.getOffset() == 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenGetTagsInCheapMode_thenNeverCount() throws ServiceException {
+        var given = List.of(new Tag(1, "rest"), new Tag(2, "spa"));
+        var searchCriteria = TagSearchCriteria.getDefaultTagRequestBody();
+        searchCriteria.setPaginationMode(PaginationMode.CHEAP);
+
+        when(tagDao.findSlice(Mockito.any(), Mockito.isA(Pageable.class)))
+                .thenReturn(new SliceImpl<>(given, PageRequest.of(0, 2), true));
+
+        var actual = tagService.getAllTagsByPage(
+                searchCriteria, 1, 2, searchCriteria.getSortType(), searchCriteria.getSortBy()
+        );
+        assertEquals(given, actual.getContent());
+        assertTrue(actual.hasNext());
+        verify(tagDao, never()).count(Mockito.any(Specification.class));
+    }
+
+    @Test
+    void whenGetTagsAfterMalformedCursor_thenThrowException() {
+        var searchCriteria = TagSearchCriteria.getDefaultTagRequestBody();
+        searchCriteria.setAfter("not a cursor");
+
+        var actual = assertThrows(ServiceException.class, () -> tagService.getAllTagsByPage(
+                searchCriteria, 1, 2, searchCriteria.getSortType(), searchCriteria.getSortBy()
+        ));
+        assertEquals("Failed to validate: malformed cursor not a cursor", actual.getMessage());
+        verify(tagRepository, never()).findSlice(Mockito.any(), Mockito.any());
+    }
 }
@@ -0,0 +1,63 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.RevokedToken;
+import com.epam.esm.repository.RevokedTokenRepository;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.impl.TokenRevocationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class TokenRevocationServiceImplTest {
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationServiceImpl(
+                revokedTokenRepository, transactionManager, 100, 0.01
+        );
+    }
+
+    @Test
+    void whenRevokeToken_thenItIsRevokedUntilItExpires() throws ServiceException {
+        tokenRevocationService.revoke("revoked", ZonedDateTime.now().plusHours(1));
+        tokenRevocationService.revoke("expired", ZonedDateTime.now().minusSeconds(1));
+
+        assertTrue(tokenRevocationService.isRevoked("revoked"));
+        assertFalse(tokenRevocationService.isRevoked("expired"));
+        assertFalse(tokenRevocationService.isRevoked("other"));
+        verify(revokedTokenRepository, times(2)).save(Mockito.any(RevokedToken.class));
+    }
+
+    @Test
+    void whenRefresh_thenPruneExpiredAndLoadTheRest() throws ServiceException {
+        when(revokedTokenRepository.findAllByExpiresAtAfter(Mockito.any()))
+                .thenReturn(List.of(new RevokedToken("revoked", ZonedDateTime.now().plusHours(1))));
+
+        assertEquals(1, tokenRevocationService.refresh());
+        assertTrue(tokenRevocationService.isRevoked("revoked"));
+        verify(revokedTokenRepository).deleteExpired(Mockito.any());
+    }
+}
@@ -0,0 +1,74 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.Role;
+import com.epam.esm.repository.UserPrincipal;
+import com.epam.esm.repository.UserRepository;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.service.impl.UserPrincipalServiceImpl;
+import com.epam.esm.service.util.impl.UserValidatorImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class UserPrincipalServiceImplTest {
+
+    private UserPrincipalServiceImpl userPrincipalService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userPrincipalService = new UserPrincipalServiceImpl(
+                userRepository, new UserValidatorImpl(), meterRegistry, 10, 60
+        );
+    }
+
+    @Test
+    void whenGetPrincipalTwice_thenQueryItOnce() throws ServiceException {
+        var given = new UserPrincipal(1, "login", "password", Role.RoleType.USER);
+
+        when(userRepository.findPrincipalByLogin("login")).thenReturn(Optional.of(given));
+
+        assertEquals(given, userPrincipalService.getPrincipalByLogin("login"));
+        assertEquals(given, userPrincipalService.getPrincipalByLogin("login"));
+        verify(userRepository).findPrincipalByLogin("login");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void whenEvictPrincipal_thenQueryItAgain() throws ServiceException {
+        var given = new UserPrincipal(1, "login", "password", Role.RoleType.USER);
+
+        when(userRepository.findPrincipalByLogin("login")).thenReturn(Optional.of(given));
+
+        userPrincipalService.getPrincipalByLogin("login");
+        userPrincipalService.evictPrincipal("login");
+        userPrincipalService.getPrincipalByLogin("login");
+        verify(userRepository, times(2)).findPrincipalByLogin("login");
+    }
+
+    @Test
+    void whenGetPrincipalOfMissingUser_thenThrowException() {
+        when(userRepository.findPrincipalByLogin("missing")).thenReturn(Optional.empty());
+
+        var exception = assertThrows(ServiceException.class,
+                () -> userPrincipalService.getPrincipalByLogin("missing"));
+        assertEquals("Failed to get user by it login: missing", exception.getMessage());
+    }
+}
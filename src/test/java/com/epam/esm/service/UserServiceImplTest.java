@@ -1,11 +1,12 @@
 package com.epam.esm.service;
 
 import com.epam.esm.model.User;
-import com.epam.esm.repository.GiftCertificateRepository;
 import com.epam.esm.repository.OrderRepository;
 import com.epam.esm.repository.UserRepository;
+import com.epam.esm.service.exception.ErrorCodeEnum;
 import com.epam.esm.service.exception.ServiceException;
 import com.epam.esm.service.impl.AuditedOrderServiceImpl;
+import com.epam.esm.service.impl.PaginationServiceImpl;
 import com.epam.esm.service.impl.UserServiceImpl;
 import com.epam.esm.service.search.criteria.UserSearchCriteria;
 import com.epam.esm.service.util.impl.OrderValidatorImpl;
@@ -16,8 +17,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -27,6 +30,7 @@ import java.util.Optional;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,7 +44,7 @@ public class UserServiceImplTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private GiftCertificateRepository certificateRepository;
+    private UserPrincipalService userPrincipalService;
 
     private UserServiceImpl userService;
 
@@ -71,24 +75,25 @@ public class UserServiceImplTest {
         var orderValidator =  new OrderValidatorImpl();
         var paginationValidator = new PaginationValidatorImpl();
         var bcryptEncoder = new BCryptPasswordEncoder(12);
+        var paginationService = new PaginationServiceImpl();
         var auditOrderService = new AuditedOrderServiceImpl(
-                orderRepository, certificateRepository, orderValidator, paginationValidator
+                orderRepository, orderValidator, paginationValidator, paginationService
         );
 
         userService = new UserServiceImpl(
-                userRepository, userValidation, paginationValidator, bcryptEncoder, auditOrderService
+                userRepository, userValidation, paginationValidator, bcryptEncoder, auditOrderService,
+                paginationService, userPrincipalService
         );
     }
 
     @Test
-    @SuppressWarnings("unchecked")
     void whenGetUser_thenCorrectlyReturnsItById() throws ServiceException {
         var given = initUser();
 
         when(userRepository.findById(given.getId())).thenReturn(Optional.of(given));
         when(
-                orderRepository.findAll(Mockito.isA(Specification.class), Mockito.isA(Pageable.class))
-        ).thenReturn(new PageImpl<>(new ArrayList<>()));
+                orderRepository.findFirstOrdersByUserIds(Mockito.anyCollection(), Mockito.anyInt())
+        ).thenReturn(new ArrayList<>());
 
         var actual = userService.getUserById(given.getId());
         assertEquals(given, actual);
@@ -111,7 +116,6 @@ public class UserServiceImplTest {
     }
 
     @Test
-    @SuppressWarnings("unchecked")
     void whenAddUser_thenCorrectlyReturnThem() throws ServiceException {
         var given = new ArrayList<User>();
         IntStream.rangeClosed(1, 10).forEach(i -> given.add(initUser(i)));
@@ -119,14 +123,40 @@ public class UserServiceImplTest {
         var givenSearchCriteria = UserSearchCriteria.getDefaultUserRequestBody();
 
         when(
-                orderRepository.findAll(Mockito.isA(Specification.class), Mockito.isA(Pageable.class))
-        ).thenReturn(new PageImpl<>(new ArrayList<>()));
-        when(userRepository.findAll(Mockito.isA(Pageable.class))).thenReturn(new PageImpl<>(given));
+                orderRepository.findFirstOrdersByUserIds(Mockito.anyCollection(), Mockito.anyInt())
+        ).thenReturn(new ArrayList<>());
+        when(userRepository.findSlice(Mockito.any(), Mockito.isA(Pageable.class))).thenReturn(new SliceImpl<>(given));
 
         var actual = userService.getAllUsersByPage(
                 givenSearchCriteria, SIZE, PAGE, givenSearchCriteria.getSortType(), givenSearchCriteria.getSortBy()
         );
-        assertEquals(given, actual);
-        verify(userRepository).findAll(Mockito.isA(Pageable.class));
+        assertEquals(given, actual.getContent());
+        verify(userRepository).findSlice(Mockito.any(), Mockito.isA(Pageable.class));
+        verify(orderRepository).findFirstOrdersByUserIds(Mockito.anyCollection(), Mockito.anyInt());
+    }
+
+    @Test
+    void whenUpdatePassword_thenSaveNewHashAndEvictPrincipal() throws ServiceException {
+        var given = initUser();
+
+        when(userRepository.getUserByLogin(given.getLogin())).thenReturn(given);
+        when(userRepository.save(given)).thenReturn(given);
+
+        var actual = userService.updatePassword(given.getLogin(), "new hash");
+        assertEquals("new hash", actual.getPassword());
+        verify(userRepository).save(given);
+        verify(userPrincipalService).evictPrincipal(given.getLogin());
+    }
+
+    @Test
+    void whenUpdatePasswordFails_thenThrowUpdateError() {
+        var given = initUser();
+
+        when(userRepository.getUserByLogin(given.getLogin())).thenReturn(given);
+        when(userRepository.save(given)).thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        var exception = assertThrows(ServiceException.class,
+                () -> userService.updatePassword(given.getLogin(), "new hash"));
+        assertEquals(ErrorCodeEnum.FAILED_TO_UPDATE_USER, exception.getErrorCode());
     }
 }
@@ -0,0 +1,64 @@
+package com.epam.esm.web.api;
+
+import com.epam.esm.service.GiftCertificateService;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.web.cache.EntityTags;
+import com.epam.esm.web.dto.GiftCertificateDto;
+import com.epam.esm.web.export.NdjsonWriterFactory;
+import com.epam.esm.web.hateoas.ModelAssembler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class CertificateControllerTest {
+
+    private CertificateController certificateController;
+
+    @Mock
+    private GiftCertificateService giftCertificateService;
+
+    @Mock
+    private ModelAssembler<GiftCertificateDto> modelAssembler;
+
+    @Mock
+    private NdjsonWriterFactory ndjsonWriterFactory;
+
+    @BeforeEach
+    public void setUp() {
+        certificateController = new CertificateController(giftCertificateService, modelAssembler, ndjsonWriterFactory);
+    }
+
+    @Test
+    void whenGetCertificateWithMatchingEntityTag_thenAnswerNotModifiedWithoutBuildingIt() throws ServiceException {
+        var lastUpdateDate = ZonedDateTime.now();
+        var lastModified = lastUpdateDate.toInstant().toEpochMilli();
+        var request = new MockHttpServletRequest("GET", "/certificates/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, EntityTags.of(1, lastModified));
+        var response = new MockHttpServletResponse();
+
+        when(giftCertificateService.getGiftCertificateLastUpdateDate(1)).thenReturn(lastUpdateDate);
+
+        var actual = certificateController.getGiftCertificate(1, new ServletWebRequest(request, response));
+        assertNull(actual);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        verify(giftCertificateService, never()).getGiftCertificateById(Mockito.anyInt());
+        verify(modelAssembler, never()).toModel(Mockito.any());
+    }
+}
@@ -0,0 +1,96 @@
+package com.epam.esm.web.dto;
+
+import com.epam.esm.model.GiftCertificate;
+import com.epam.esm.model.Tag;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GiftCertificateDtoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().setFilterProvider(FieldsetPropertyFilter.PROVIDER);
+
+    private static GiftCertificate initCertificate() {
+        var certificate = new GiftCertificate();
+        certificate.setId(1);
+        certificate.setName("Tourism");
+        certificate.setDescription("Description");
+        certificate.setPrice(10);
+        certificate.setDuration(10);
+        certificate.getTags().add(new Tag(1, "spa"));
+
+        return certificate;
+    }
+
+    @Test
+    void givenNoParameters_thenIncludeEverything() {
+        var fieldset = Fieldset.of(null, null, null);
+
+        assertSame(Fieldset.ALL, fieldset);
+        assertEquals(GiftCertificateDto.of(initCertificate()), GiftCertificateDto.of(initCertificate(), fieldset));
+    }
+
+    @Test
+    void givenFields_thenMapOnlyThemAndId() {
+        var fieldset = Fieldset.of("name, price", null, "none");
+
+        var actual = GiftCertificateDto.of(initCertificate(), fieldset);
+        assertEquals(1, actual.getId());
+        assertEquals("Tourism", actual.getName());
+        assertEquals(10.0, actual.getPrice());
+        assertNull(actual.getDescription());
+        assertNull(actual.getDuration());
+        assertNull(actual.getTags());
+        assertFalse(fieldset.hasLinks());
+    }
+
+    @Test
+    void givenEmptyEmbed_thenDontTouchTags() {
+        var fieldset = Fieldset.of(null, "", null);
+        var certificate = initCertificate();
+        certificate.setTags(null);
+
+        var actual = GiftCertificateDto.of(certificate, fieldset);
+        assertNull(actual.getTags());
+        assertEquals("Tourism", actual.getName());
+        assertEquals(Set.of(), fieldset.getEmbedded(GiftCertificateDto.TAGS));
+        assertNull(Fieldset.ALL.getEmbedded(GiftCertificateDto.TAGS));
+    }
+
+    @Test
+    void givenNoParameters_thenWriteNullFields() throws JsonProcessingException {
+        var certificate = initCertificate();
+        certificate.setDescription(null);
+
+        var actual = objectMapper.readTree(objectMapper.writeValueAsString(GiftCertificateDto.of(certificate)));
+        assertTrue(actual.has("description"));
+        assertTrue(actual.get("description").isNull());
+        assertTrue(actual.has("createDate"));
+        assertTrue(actual.has("tags"));
+    }
+
+    @Test
+    void givenFields_thenWriteOnlyThemAndId() throws JsonProcessingException {
+        var certificate = initCertificate();
+        certificate.setDescription(null);
+        var fieldset = Fieldset.of("name,description", "", null);
+
+        var json = objectMapper.writeValueAsString(GiftCertificateDto.of(certificate, fieldset));
+        var actual = objectMapper.readTree(json);
+        assertEquals(1, actual.get("id").asInt());
+        assertEquals("Tourism", actual.get("name").asText());
+        assertTrue(actual.get("description").isNull());
+        assertFalse(actual.has("price"));
+        assertFalse(actual.has("duration"));
+        assertFalse(actual.has("tags"));
+        assertTrue(actual.has("links"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.epam.esm.web.export;
+
+import com.epam.esm.service.exception.ErrorCodeEnum;
+import com.epam.esm.service.exception.ServiceException;
+import com.epam.esm.web.dto.FieldsetPropertyFilter;
+import com.epam.esm.web.dto.TagDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NdjsonWriterTest {
+
+    private static final String EXPECTED = "{\"id\":1,\"name\":\"spa\"}\n{\"id\":2,\"name\":\"rest\"}\n";
+
+    private final NdjsonWriterFactory ndjsonWriterFactory = new NdjsonWriterFactory(
+            new ObjectMapper().setFilterProvider(FieldsetPropertyFilter.PROVIDER)
+    );
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void givenValues_thenWriteOneLineEachWithoutLinks() throws IOException {
+        var writer = ndjsonWriterFactory.create(request, response);
+        writer.write(tag(1, "spa"));
+        writer.write(tag(2, "rest"));
+        writer.close();
+
+        assertEquals(EXPECTED, response.getContentAsString());
+        assertTrue(response.getContentType().startsWith(NdjsonWriter.MEDIA_TYPE));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void givenClientAcceptingGzip_thenCompressResponse() throws IOException {
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+
+        var writer = ndjsonWriterFactory.create(request, response);
+        writer.write(tag(1, "spa"));
+        writer.write(tag(2, "rest"));
+        writer.close();
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(EXPECTED, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void givenNothingWritten_thenLeaveResponseUntouched() {
+        ndjsonWriterFactory.create(request, response);
+
+        assertNull(response.getContentType());
+        assertFalse(response.isCommitted());
+    }
+
+    @Test
+    void givenNothingExported_thenAnswerWithEmptyResponse() throws ServiceException, IOException {
+        ndjsonWriterFactory.export(request, response, writer -> {
+        });
+
+        assertEquals("", response.getContentAsString());
+        assertTrue(response.getContentType().startsWith(NdjsonWriter.MEDIA_TYPE));
+    }
+
+    @Test
+    void givenFailureBeforeFirstValue_thenThrowItAndLeaveResponseUntouched() {
+        assertThrows(ServiceException.class, () -> ndjsonWriterFactory.export(request, response, writer -> {
+            throw new ServiceException(ErrorCodeEnum.FAILED_TO_RETRIEVE_TAG);
+        }));
+
+        assertNull(response.getContentType());
+        assertFalse(response.isCommitted());
+    }
+
+    @Test
+    void givenClientGoneAfterResponseCommitted_thenStopQuietly() throws ServiceException, IOException {
+        ndjsonWriterFactory.export(request, response, writer -> {
+            writer.write(tag(1, "spa"));
+            response.setCommitted(true);
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        });
+
+        assertTrue(response.getContentAsString().startsWith("{\"id\":1"));
+    }
+
+    @Test
+    void givenWriteFailureBeforeResponseCommitted_thenThrowIt() {
+        assertThrows(UncheckedIOException.class, () -> ndjsonWriterFactory.export(request, response, writer -> {
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        }));
+    }
+
+    @Test
+    void givenAcceptEncoding_thenAcceptGzipOnlyWithNonZeroQuality() {
+        assertTrue(NdjsonWriter.acceptsGzip("gzip"));
+        assertTrue(NdjsonWriter.acceptsGzip("br, GZIP;q=0.5"));
+        assertFalse(NdjsonWriter.acceptsGzip("gzip;q=0"));
+        assertFalse(NdjsonWriter.acceptsGzip("identity"));
+        assertFalse(NdjsonWriter.acceptsGzip(null));
+    }
+
+    private static TagDto tag(int id, String name) {
+        var tag = new TagDto();
+        tag.setId(id);
+        tag.setName(name);
+        tag.add(Link.of("/tags/" + id));
+        return tag;
+    }
+}
@@ -0,0 +1,94 @@
+package com.epam.esm.web.hateoas;
+
+import com.epam.esm.service.search.sort.SortBy;
+import com.epam.esm.service.search.sort.SortType;
+import com.epam.esm.web.api.CertificateController;
+import com.epam.esm.web.api.UserController;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LinkTemplateRegistryTest {
+
+    private static final String BASE_URI = "http://localhost:8080";
+
+    @Test
+    void givenPathVariable_thenExpandIt() {
+        var template = LinkTemplateRegistry.get(CertificateController.class, "getGiftCertificate", "id");
+
+        assertEquals(BASE_URI + "/certificates/7", template.expandHref(BASE_URI, 7));
+        assertSame(template, LinkTemplateRegistry.get(CertificateController.class, "getGiftCertificate", "id"));
+    }
+
+    @Test
+    void givenRequestParams_thenKeepUnsetOptionalOnesAsTemplateVariables() {
+        var template = LinkTemplateRegistry.get(
+                CertificateController.class, "getGiftCertificates",
+                "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+        );
+
+        assertEquals(
+                BASE_URI + "/certificates?page=2&size=10&sortType=ASC&sortBy=NAME"
+                        + "{&after,paginationMode,fields,embed,links}",
+                template.expandHref(BASE_URI, 2, 10, SortType.ASC, SortBy.NAME, null, null, null, null, null)
+        );
+        assertEquals(
+                BASE_URI + "/certificates?page=2&size=10&sortType=ASC&sortBy=NAME&after=MTpzcGE"
+                        + "{&paginationMode,fields,embed,links}",
+                template.expandHref(BASE_URI, 2, 10, SortType.ASC, SortBy.NAME, "MTpzcGE", null, null, null, null)
+        );
+    }
+
+    @Test
+    void givenFieldsetParameters_thenCarryThemAsQueryParameters() {
+        var template = LinkTemplateRegistry.get(
+                CertificateController.class, "getGiftCertificates",
+                "page", "size", "sortType", "sortBy", "after", "paginationMode", "fields", "embed", "links"
+        );
+
+        assertEquals(
+                BASE_URI + "/certificates?page=2&size=10&sortType=ASC&sortBy=NAME&fields=name,price&links=none"
+                        + "{&after,paginationMode,embed}",
+                template.expandHref(BASE_URI, 2, 10, SortType.ASC, SortBy.NAME, null, null, "name,price", null, "none")
+        );
+    }
+
+    @Test
+    void givenSeveralPathVariables_thenExpandThemInPathOrder() {
+        var template = LinkTemplateRegistry.get(UserController.class, "deleteOrder", "id", "orderId");
+
+        assertEquals(BASE_URI + "/users/1/orders/5", template.expandHref(BASE_URI, 1, 5));
+    }
+
+    @Test
+    void givenVariablesInOtherOrder_thenExpandThemByName() {
+        var template = LinkTemplateRegistry.get(UserController.class, "deleteOrder", "orderId", "id");
+
+        assertEquals(BASE_URI + "/users/1/orders/5", template.expandHref(BASE_URI, 5, 1));
+    }
+
+    @Test
+    void givenVariablesNotMatchingMethod_thenThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LinkTemplateRegistry.get(UserController.class, "deleteOrder", "id"));
+        assertThrows(IllegalArgumentException.class,
+                () -> LinkTemplateRegistry.get(UserController.class, "deleteOrder", "id", "orderId", "page"));
+        assertThrows(IllegalArgumentException.class,
+                () -> LinkTemplateRegistry.get(UserController.class, "deleteOrder", "id", "id"));
+    }
+
+    @Test
+    void givenWrongAmountOfArguments_thenThrowException() {
+        var template = LinkTemplateRegistry.get(UserController.class, "deleteOrder", "id", "orderId");
+
+        assertThrows(IllegalArgumentException.class, () -> template.expandHref(BASE_URI, 1));
+    }
+
+    @Test
+    void givenOverloadedOrMissingMethod_thenThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LinkTemplateRegistry.get(CertificateController.class, "getCertificate", "id"));
+    }
+}
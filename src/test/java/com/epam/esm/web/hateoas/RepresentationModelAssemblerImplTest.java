@@ -0,0 +1,121 @@
+package com.epam.esm.web.hateoas;
+
+import com.epam.esm.service.search.cursor.KeysetCursor;
+import com.epam.esm.service.search.sort.SortBy;
+import com.epam.esm.service.search.sort.SortType;
+import com.epam.esm.web.dto.Fieldset;
+import com.epam.esm.web.dto.TagDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class RepresentationModelAssemblerImplTest {
+
+    private static final int THREADS = 8;
+    private static final int PAGES = 400;
+    private static final int SIZE = 5;
+
+    private final RepresentationModelAssemblerImpl<TagDto> modelAssembler = new RepresentationModelAssemblerImpl<>();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        modelAssembler.setModelLinkBuilder(new TagLinkBuilder());
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenFirstPage_thenNoPrevLink() {
+        var tags = modelAssembler.toCollectionModel(tagsOfPage(1),
+                new RepresentationModel(1, SIZE, 3, true, SortType.ASC, SortBy.NAME));
+
+        assertFalse(tags.getLink(IanaLinkRelations.PREV).isPresent());
+        assertEquals("/tags?page=3&size=5&sortType=ASC&sortBy=NAME{&after,paginationMode,fields,embed,links}",
+                tags.getRequiredLink(IanaLinkRelations.LAST).getHref());
+    }
+
+    @Test
+    void givenNoLinks_thenKeepPageLinksWithFieldsetAndLeaveOutLinksOfEntities() {
+        var fieldset = Fieldset.of("name", null, "none");
+        var tags = modelAssembler.toCollectionModel(tagsOfPage(1),
+                new RepresentationModel(1, SIZE, null, true, SortType.ASC, SortBy.NAME, fieldset));
+
+        var after = KeysetCursor.of(SIZE, "tag" + SIZE).encode();
+        assertEquals("/tags?page=2&size=5&sortType=ASC&sortBy=NAME&after=" + after + "&fields=name&links=none"
+                        + "{&paginationMode,embed}",
+                tags.getRequiredLink(IanaLinkRelations.NEXT).getHref());
+        tags.getContent().forEach(tag -> assertFalse(tag.hasLinks()));
+    }
+
+    @Test
+    void givenParallelRequests_thenEveryPageGetsItsOwnLinks() throws Exception {
+        var start = new CountDownLatch(1);
+        var tasks = new ArrayList<Callable<CollectionModel<EntityModel<TagDto>>>>();
+        for (int page = 1; page <= PAGES; page++) {
+            var pagination = new RepresentationModel(page, SIZE, null, page < PAGES, SortType.ASC, SortBy.NAME);
+            var tags = tagsOfPage(page);
+            tasks.add(() -> {
+                start.await();
+                return modelAssembler.toCollectionModel(tags, pagination);
+            });
+        }
+
+        var futures = new ArrayList<Future<CollectionModel<EntityModel<TagDto>>>>();
+        tasks.forEach(task -> futures.add(executor.submit(task)));
+        start.countDown();
+
+        for (int page = 1; page <= PAGES; page++) {
+            var tags = futures.get(page - 1).get();
+            assertEquals(SIZE, tags.getContent().size());
+            assertEquals(href(page), tags.getRequiredLink(LinkRelation.of("tags")).getHref());
+            assertEquals(page > 1, tags.getLink(IanaLinkRelations.PREV).isPresent());
+            if (page > 1) {
+                assertEquals(href(page - 1), tags.getRequiredLink(IanaLinkRelations.PREV).getHref());
+            }
+            assertEquals(page < PAGES, tags.getLink(IanaLinkRelations.NEXT).isPresent());
+            if (page < PAGES) {
+                var after = KeysetCursor.of(page * SIZE, "tag" + page * SIZE).encode();
+                assertEquals(
+                        "/tags?page=" + (page + 1) + "&size=5&sortType=ASC&sortBy=NAME&after=" + after
+                                + "{&paginationMode,fields,embed,links}",
+                        tags.getRequiredLink(IanaLinkRelations.NEXT).getHref()
+                );
+            }
+        }
+    }
+
+    private static String href(int page) {
+        return "/tags?page=" + page + "&size=5&sortType=ASC&sortBy=NAME{&after,paginationMode,fields,embed,links}";
+    }
+
+    private static List<TagDto> tagsOfPage(int page) {
+        var tags = new ArrayList<TagDto>();
+        for (int id = (page - 1) * SIZE + 1; id <= page * SIZE; id++) {
+            var tag = new TagDto();
+            tag.setId(id);
+            tag.setName("tag" + id);
+            tags.add(tag);
+        }
+        return tags;
+    }
+}